@@ -2,6 +2,8 @@ package com.jotav.hideseek;
 
 import net.neoforged.neoforge.common.ModConfigSpec;
 
+import java.util.List;
+
 // An example config class. This is not required, but it's a good idea to have one to keep your config organized.
 // Demonstrates how to use Neo's config APIs
 public class Config {
@@ -60,5 +62,106 @@ public class Config {
             .comment("Nível do efeito de cegueira aplicado aos Seekers")
             .defineInRange("seekerBlindnessLevel", 1, 1, 255);
     
+    // Configurações de estatísticas
+    public static final ModConfigSpec.IntValue STATS_CACHE_SIZE = BUILDER
+            .comment("Número máximo de estatísticas de jogadores mantidas em memória (jogadores online nunca são descartados)")
+            .defineInRange("statsCacheSize", 256, 16, 100000);
+    
+    public static final ModConfigSpec.ConfigValue<String> STATS_BACKEND = BUILDER
+            .comment("Armazenamento das estatísticas: \"json\" (um arquivo por jogador) ou \"h2\" (banco embutido em hideseek_stats/stats.mv.db, rankings ordenados pelo banco). Ao trocar para h2, os arquivos JSON são importados")
+            .defineInList("statsBackend", "json", List.of("json", "h2"));
+    
+    public static final ModConfigSpec.IntValue STATS_SHARDS = BUILDER
+            .comment("Número de subdiretórios (shards) de hideseek_stats/, lidos em paralelo nas varreduras completas. Arquivos são redistribuídos ao iniciar se o valor mudar")
+            .defineInRange("statsShards", 16, 1, 256);
+    
+    public static final ModConfigSpec.IntValue STATS_SEASON_DAYS = BUILDER
+            .comment("Duração de uma temporada de estatísticas em dias. Ao terminar, os totais da temporada são arquivados em hideseek_stats/seasons/")
+            .defineInRange("statsSeasonDays", 90, 1, 3650);
+    
+    public static final ModConfigSpec.BooleanValue ASYNC_COMMANDS = BUILDER
+            .comment("Monta as respostas de /hns stats, /hns leaderboard e /hns globalstats em threads separadas, fora do tick do servidor")
+            .define("asyncCommands", true);
+    
+    public static final ModConfigSpec.IntValue COMMAND_COOLDOWN_MS = BUILDER
+            .comment("Intervalo mínimo (ms) entre consultas de estatísticas de um mesmo jogador. 0 = sem limite")
+            .defineInRange("commandCooldownMs", 1000, 0, 60000);
+    
+    // Configurações de diagnóstico
+    public static final ModConfigSpec.BooleanValue METRICS_ENABLED = BUILDER
+            .comment("Ativa a medição de tempo dos pontos quentes do mod (/hns metrics)")
+            .define("metricsEnabled", false);
+    
+    public static final ModConfigSpec.IntValue METRICS_HTTP_PORT = BUILDER
+            .comment("Porta do endpoint Prometheus em 127.0.0.1 (/metrics). 0 = desativado")
+            .defineInRange("metricsHttpPort", 0, 0, 65535);
+    
+    public static final ModConfigSpec.BooleanValue ROUND_EVENT_LOG = BUILDER
+            .comment("Grava eventos estruturados de cada rodada em hideseek_events/ (JSON por linha) para análise offline")
+            .define("roundEventLog", true);
+    
+    public static final ModConfigSpec.BooleanValue REPLAY_ENABLED = BUILDER
+            .comment("Grava posições dos participantes a cada tick durante HIDING/SEEKING para /hns replay")
+            .define("replayEnabled", true);
+    
+    public static final ModConfigSpec.IntValue REPLAY_BUFFER_KB = BUILDER
+            .comment("Memória máxima (KB) do buffer de replay por rodada; os trechos mais antigos são descartados ao exceder")
+            .defineInRange("replayBufferKb", 4096, 256, 65536);
+    
+    public static final ModConfigSpec.IntValue REPLAY_MAX_FILES = BUILDER
+            .comment("Número máximo de replays mantidos em hideseek_replays/ (os mais antigos são apagados)")
+            .defineInRange("replayMaxFiles", 50, 1, 10000);
+    
+    // Configurações de proximidade
+    public static final ModConfigSpec.BooleanValue PROXIMITY_HINTS = BUILDER
+            .comment("Mostra aos Seekers uma dica quente/frio na action bar durante SEEKING")
+            .define("proximityHints", true);
+    
+    public static final ModConfigSpec.IntValue PROXIMITY_HINT_RADIUS = BUILDER
+            .comment("Raio (blocos) considerado pela dica de proximidade; além dele a dica é \"frio\"")
+            .defineInRange("proximityHintRadius", 48, 8, 256);
+    
+    public static final ModConfigSpec.IntValue AUTO_REVEAL_SECONDS = BUILDER
+            .comment("Segundos parado (menos de 1 bloco) até o Hider brilhar durante SEEKING. 0 = desativado")
+            .defineInRange("autoRevealSeconds", 60, 0, 600);
+    
+    public static final ModConfigSpec.IntValue AUTO_REVEAL_DURATION = BUILDER
+            .comment("Duração (segundos) do brilho aplicado pela revelação automática")
+            .defineInRange("autoRevealDuration", 5, 1, 60);
+    
+    // Configurações de visibilidade
+    public static final ModConfigSpec.BooleanValue FAR_CULLING = BUILDER
+            .comment("Não envia os participantes da rodada a jogadores de fora do jogo que estejam longe da arena")
+            .define("farCulling", false);
+    
+    public static final ModConfigSpec.IntValue FAR_CULLING_MARGIN = BUILDER
+            .comment("Distância (blocos) além dos limites do mapa a partir da qual o farCulling se aplica")
+            .defineInRange("farCullingMargin", 64, 0, 1024);
+    
+    // Configurações da arena
+    public static final ModConfigSpec.BooleanValue ARENA_AUTO_RESTORE = BUILDER
+            .comment("Restaura a arena a partir da captura (/hns arena snapshot) ao voltar ao lobby")
+            .define("arenaAutoRestore", true);
+    
+    public static final ModConfigSpec.IntValue ARENA_RESTORE_BLOCKS_PER_TICK = BUILDER
+            .comment("Máximo de blocos alterados por tick durante a restauração da arena")
+            .defineInRange("arenaRestoreBlocksPerTick", 4096, 64, 65536);
+    
+    public static final ModConfigSpec.IntValue ARENA_DIFF_THREADS = BUILDER
+            .comment("Threads usadas para comparar as seções da arena com a captura. 0 = automático (núcleos - 1)")
+            .defineInRange("arenaDiffThreads", 0, 0, 64);
+    
+    public static final ModConfigSpec.BooleanValue ARENA_CHUNK_TICKETS = BUILDER
+            .comment("Carrega os chunks da arena durante a contagem regressiva e os mantém carregados até o fim da rodada")
+            .define("arenaChunkTickets", true);
+    
+    public static final ModConfigSpec.BooleanValue ARENA_PREGEN_ON_START = BUILDER
+            .comment("Gera/carrega os chunks da arena ao iniciar o servidor, para que as rodadas nunca gerem mundo")
+            .define("arenaPregenOnStart", true);
+    
+    public static final ModConfigSpec.IntValue ARENA_PREGEN_IN_FLIGHT = BUILDER
+            .comment("Máximo de chunks sendo gerados/carregados ao mesmo tempo durante a pré-geração")
+            .defineInRange("arenaPregenInFlight", 16, 1, 256);
+    
     static final ModConfigSpec SPEC = BUILDER.build();
 }
@@ -2,8 +2,20 @@ package com.jotav.hideseek;
 
 import org.slf4j.Logger;
 
+import com.jotav.hideseek.analytics.RoundEventLog;
+import com.jotav.hideseek.arena.ArenaChunkManager;
+import com.jotav.hideseek.arena.ArenaManager;
+import com.jotav.hideseek.arena.ArenaPregenerator;
+import com.jotav.hideseek.commands.AsyncCommandExecutor;
 import com.jotav.hideseek.commands.HideSeekCommands;
 import com.jotav.hideseek.game.GameManager;
+import com.jotav.hideseek.game.ProximityTracker;
+import com.jotav.hideseek.game.VisibilityManager;
+import com.jotav.hideseek.metrics.Metrics;
+import com.jotav.hideseek.metrics.MetricsHttpServer;
+import com.jotav.hideseek.replay.ReplayRecorder;
+import com.jotav.hideseek.stats.StatsManager;
+import com.jotav.hideseek.util.DataPreloader;
 import com.mojang.logging.LogUtils;
 
 import net.neoforged.bus.api.IEventBus;
@@ -15,6 +27,7 @@ import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
 
 // The value here should match an entry in the META-INF/neoforge.mods.toml file
 @Mod(HideSeek.MODID)
@@ -39,17 +52,47 @@ public class HideSeek {
 
     private void commonSetup(FMLCommonSetupEvent event) {
         // Hide and Seek mod setup
+        // Carregar configuração e estatísticas em fundo (Config.java já está carregado aqui)
+        DataPreloader.start();
         LOGGER.info("Hide and Seek mod common setup completed");
     }
 
     // You can use SubscribeEvent and let the Event Bus discover methods to call
     @SubscribeEvent
     public void onServerStarting(ServerStartingEvent event) {
+        // Esperar o carregamento em fundo antes de aceitar jogadores
+        DataPreloader.awaitReady(30);
+        
         // Inicializar GameManager com o servidor
         GameManager.getInstance().setServer(event.getServer());
+        StatsManager.getInstance().setServerThread(event.getServer());
+        Metrics.setEnabled(Config.METRICS_ENABLED.get());
+        MetricsHttpServer.getInstance().start(Config.METRICS_HTTP_PORT.get());
+        RoundEventLog.getInstance().start(Config.ROUND_EVENT_LOG.get());
+        ReplayRecorder.getInstance().configure(Config.REPLAY_ENABLED.get(),
+            Config.REPLAY_BUFFER_KB.get(), Config.REPLAY_MAX_FILES.get());
+        ProximityTracker.getInstance().configure(Config.PROXIMITY_HINTS.get(), Config.PROXIMITY_HINT_RADIUS.get(),
+            Config.AUTO_REVEAL_SECONDS.get(), Config.AUTO_REVEAL_DURATION.get());
+        VisibilityManager.getInstance().configure(Config.FAR_CULLING.get(), Config.FAR_CULLING_MARGIN.get());
+        ArenaManager.getInstance().configure(Config.ARENA_AUTO_RESTORE.get(), Config.ARENA_RESTORE_BLOCKS_PER_TICK.get(),
+            Config.ARENA_DIFF_THREADS.get());
+        ArenaChunkManager.getInstance().configure(Config.ARENA_CHUNK_TICKETS.get());
+        ArenaPregenerator.getInstance().configure(Config.ARENA_PREGEN_ON_START.get(), Config.ARENA_PREGEN_IN_FLIGHT.get());
+        AsyncCommandExecutor.getInstance().configure(Config.ASYNC_COMMANDS.get(), Config.COMMAND_COOLDOWN_MS.get());
         LOGGER.info("Hide and Seek mod initialized with server");
     }
     
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        // Gravar estatísticas pendentes e fechar o armazenamento antes de desligar
+        StatsManager.getInstance().close();
+        MetricsHttpServer.getInstance().stop();
+        RoundEventLog.getInstance().stop();
+        ReplayRecorder.getInstance().flush();
+        ArenaChunkManager.getInstance().release();
+        ArenaPregenerator.getInstance().cancel();
+    }
+    
     @SubscribeEvent
     public void onRegisterCommands(RegisterCommandsEvent event) {
         // Registrar comandos do Hide and Seek
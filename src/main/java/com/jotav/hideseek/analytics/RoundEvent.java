@@ -0,0 +1,81 @@
+package com.jotav.hideseek.analytics;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+
+/**
+ * Evento estruturado de uma rodada (uma linha JSON no log de eventos).
+ * Montado na thread do servidor apenas com valores simples; a serialização
+ * acontece na thread de escrita.
+ */
+public class RoundEvent {
+    /**
+     * Tipos de evento registrados
+     */
+    public enum Type {
+        ROUND_START("round_start"),
+        TEAMS_ASSIGNED("teams_assigned"),
+        PHASE("phase"),
+        CAPTURE("capture"),
+        ROUND_END("round_end"),
+        ROUND_ABORT("round_abort");
+
+        private final String id;
+
+        Type(String id) {
+            this.id = id;
+        }
+
+        public String getId() { return id; }
+    }
+
+    private final Type type;
+    private final long roundId;
+    private final long timestamp;
+    private final Map<String, Object> data = new LinkedHashMap<>();
+
+    public RoundEvent(Type type, long roundId) {
+        this.type = type;
+        this.roundId = roundId;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Adiciona um campo ao evento
+     */
+    public RoundEvent with(String key, Object value) {
+        data.put(key, value);
+        return this;
+    }
+
+    /**
+     * Adiciona a posição atual de um jogador como [x, y, z]
+     */
+    public RoundEvent withPosition(String key, ServerPlayer player) {
+        return with(key, new double[] {
+            Math.round(player.getX() * 100) / 100.0,
+            Math.round(player.getY() * 100) / 100.0,
+            Math.round(player.getZ() * 100) / 100.0
+        });
+    }
+
+    /**
+     * Adiciona lista de jogadores como objetos {uuid, name}
+     */
+    public RoundEvent withPlayers(String key, Collection<ServerPlayer> players) {
+        List<Map<String, String>> list = new ArrayList<>(players.size());
+        for (ServerPlayer player : players) {
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put("uuid", player.getUUID().toString());
+            entry.put("name", player.getName().getString());
+            list.add(entry);
+        }
+        return with(key, list);
+    }
+
+    public Type getType() { return type; }
+    public long getRoundId() { return roundId; }
+    public long getTimestamp() { return timestamp; }
+    public Map<String, Object> getData() { return data; }
+}
@@ -0,0 +1,213 @@
+package com.jotav.hideseek.analytics;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import com.jotav.hideseek.HideSeek;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Log estruturado de eventos das rodadas em arquivos JSON por linha (rolantes).
+ * A thread do servidor apenas enfileira eventos; toda a E/S acontece em uma
+ * thread de escrita dedicada. Se a fila encher, eventos são descartados em vez
+ * de bloquear o tick.
+ */
+public class RoundEventLog {
+    private static RoundEventLog instance;
+
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final long MAX_FILE_BYTES = 16L * 1024 * 1024;
+
+    private final Path directory = Paths.get("hideseek_events");
+    private final BlockingQueue<RoundEvent> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Gson gson = new Gson();
+    private volatile boolean enabled = false;
+    private volatile boolean running = false;
+    private Thread writerThread;
+
+    // Estado do arquivo atual (apenas na thread de escrita)
+    private Writer currentWriter;
+    private LocalDate currentDate;
+    private long currentBytes;
+    private int currentSequence;
+
+    private RoundEventLog() {}
+
+    public static RoundEventLog getInstance() {
+        if (instance == null) {
+            instance = new RoundEventLog();
+        }
+        return instance;
+    }
+
+    /**
+     * Inicia a thread de escrita
+     */
+    public synchronized void start(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled || running) {
+            return;
+        }
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "HideSeek-RoundEventLog");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Para a thread de escrita, gravando os eventos pendentes
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        // A thread de escrita drena a fila e sai (sem interrupt, que fecharia o canal do arquivo)
+        running = false;
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    /**
+     * Enfileira um evento (não bloqueia)
+     */
+    public void record(RoundEvent event) {
+        if (!enabled || !running) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    public boolean isEnabled() { return enabled && running; }
+    public long getDroppedEvents() { return droppedEvents.get(); }
+
+    // ================== THREAD DE ESCRITA ==================
+
+    private void runWriter() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to create round event log directory {}", directory, e);
+        }
+
+        while (running || !queue.isEmpty()) {
+            try {
+                RoundEvent event = queue.poll(1, TimeUnit.SECONDS);
+                if (event == null) {
+                    flush();
+                    continue;
+                }
+                write(event);
+                // Agrupar os eventos já disponíveis antes de dar flush
+                RoundEvent next;
+                while ((next = queue.poll()) != null) {
+                    write(next);
+                }
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                HideSeek.LOGGER.error("Failed to write round event", e);
+            }
+        }
+
+        closeWriter();
+    }
+
+    private void write(RoundEvent event) throws IOException {
+        Writer writer = writerFor(LocalDate.now());
+        StringWriter line = new StringWriter(256);
+        JsonWriter json = new JsonWriter(line);
+
+        json.beginObject();
+        json.name("type").value(event.getType().getId());
+        json.name("round").value(event.getRoundId());
+        json.name("ts").value(event.getTimestamp());
+        for (Map.Entry<String, Object> entry : event.getData().entrySet()) {
+            json.name(entry.getKey());
+            gson.toJson(entry.getValue(), entry.getValue() == null ? Object.class : entry.getValue().getClass(), json);
+        }
+        json.endObject();
+        json.flush();
+        line.write('\n');
+
+        String text = line.toString();
+        writer.write(text);
+        currentBytes += text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Arquivo atual, trocando de arquivo ao mudar o dia ou exceder o tamanho máximo
+     */
+    private Writer writerFor(LocalDate date) throws IOException {
+        if (currentWriter != null && date.equals(currentDate) && currentBytes < MAX_FILE_BYTES) {
+            return currentWriter;
+        }
+
+        if (!date.equals(currentDate)) {
+            currentSequence = 0;
+        } else {
+            currentSequence++;
+        }
+        closeWriter();
+
+        Path file;
+        do {
+            file = directory.resolve(String.format("rounds-%s-%03d.jsonl", date, currentSequence));
+            if (Files.exists(file) && Files.size(file) >= MAX_FILE_BYTES) {
+                currentSequence++;
+                continue;
+            }
+            break;
+        } while (true);
+
+        currentDate = date;
+        currentBytes = Files.exists(file) ? Files.size(file) : 0;
+        currentWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return currentWriter;
+    }
+
+    private void flush() {
+        if (currentWriter != null) {
+            try {
+                currentWriter.flush();
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to flush round event log", e);
+            }
+        }
+    }
+
+    private void closeWriter() {
+        if (currentWriter != null) {
+            try {
+                currentWriter.close();
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to close round event log", e);
+            }
+            currentWriter = null;
+        }
+    }
+}
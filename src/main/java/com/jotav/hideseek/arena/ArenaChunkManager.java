@@ -0,0 +1,178 @@
+package com.jotav.hideseek.arena;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.config.GameConfig;
+import com.jotav.hideseek.game.GameManager;
+import com.jotav.hideseek.game.GameState;
+import com.jotav.hideseek.util.ConfigHelper;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantém os chunks da arena carregados durante a rodada.
+ * Ao entrar em STARTING registra tickets sobre a arena, o spawn dos Seekers e a área onde os
+ * Hiders nascem, para que o carregamento aconteça durante a contagem regressiva e não nos
+ * teleportes do início de HIDING. Os tickets são liberados de volta no lobby, depois da
+ * restauração da arena.
+ */
+public class ArenaChunkManager {
+    private static ArenaChunkManager instance;
+
+    private static final TicketType<ChunkPos> ARENA_TICKET =
+        TicketType.create("hideseek_arena", Comparator.comparingLong(ChunkPos::toLong));
+    private static final int TICKET_DISTANCE = 1; // Nível 32: blocos da arena continuam recebendo ticks
+    private static final int HIDER_SPREAD = 50;   // Hiders nascem a até 50 blocos do lobby
+    private static final int SPAWN_RADIUS_CHUNKS = 1;
+
+    private ServerLevel level;
+    private final List<ChunkPos> ticketed = new ArrayList<>();
+    private final List<ChunkPos> pending = new ArrayList<>();
+    private volatile int totalChunks;
+    private volatile int loadedChunks;
+    private long acquireStartNanos;
+
+    private boolean enabled = true;
+
+    private ArenaChunkManager() {}
+
+    public static ArenaChunkManager getInstance() {
+        if (instance == null) {
+            instance = new ArenaChunkManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Registra ou libera os tickets conforme o estado do jogo (chamado ao fim de cada tick do servidor)
+     */
+    public void tick(MinecraftServer server) {
+        GameState state = GameManager.getInstance().getCurrentState();
+        if (level == null) {
+            if (enabled && state == GameState.STARTING) {
+                acquire(server);
+            }
+        } else if (state == GameState.LOBBY && !ArenaManager.getInstance().isRestoring()) {
+            release();
+        }
+
+        if (level != null && !pending.isEmpty()) {
+            pending.removeIf(pos -> level.getChunkSource().getChunkNow(pos.x, pos.z) != null);
+            loadedChunks = totalChunks - pending.size();
+            if (pending.isEmpty()) {
+                HideSeek.LOGGER.info("Arena chunks ready: {} chunks in {} ms",
+                    totalChunks, (System.nanoTime() - acquireStartNanos) / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Progresso do carregamento (0 a 1), ou -1 se não houver carregamento em andamento
+     */
+    public double getLoadProgress() {
+        int total = totalChunks;
+        int loaded = loadedChunks;
+        return total == 0 || loaded >= total ? -1 : (double) loaded / total;
+    }
+
+    /**
+     * Libera os tickets (também chamado ao desligar o servidor)
+     */
+    public void release() {
+        if (level == null) {
+            return;
+        }
+        for (ChunkPos pos : ticketed) {
+            level.getChunkSource().removeRegionTicket(ARENA_TICKET, pos, TICKET_DISTANCE, pos);
+        }
+        HideSeek.LOGGER.debug("Released {} arena chunk tickets", ticketed.size());
+        ticketed.clear();
+        pending.clear();
+        totalChunks = 0;
+        loadedChunks = 0;
+        level = null;
+    }
+
+    private void acquire(MinecraftServer server) {
+        ServerLevel arenaLevel = resolveLevel(server);
+        Set<ChunkPos> chunks = collectChunks();
+        if (arenaLevel == null || chunks.isEmpty()) {
+            return;
+        }
+
+        level = arenaLevel;
+        acquireStartNanos = System.nanoTime();
+        for (ChunkPos pos : chunks) {
+            level.getChunkSource().addRegionTicket(ARENA_TICKET, pos, TICKET_DISTANCE, pos);
+            ticketed.add(pos);
+            pending.add(pos);
+        }
+        totalChunks = chunks.size();
+        loadedChunks = 0;
+        HideSeek.LOGGER.info("Registered {} arena chunk tickets", totalChunks);
+    }
+
+    /**
+     * Chunks da arena (só as colunas usadas pelos volumes), do spawn dos Seekers e da área de spawn dos Hiders
+     */
+    static Set<ChunkPos> collectChunks() {
+        GameConfig config = GameConfig.getInstance();
+        Set<ChunkPos> chunks = new LinkedHashSet<>();
+
+        ArenaRegion region = config.getArenaRegion();
+        if (region != null) {
+            for (int chunkX = region.getMinX() >> 4; chunkX <= region.getMaxX() >> 4; chunkX++) {
+                for (int chunkZ = region.getMinZ() >> 4; chunkZ <= region.getMaxZ() >> 4; chunkZ++) {
+                    if (region.usesChunk(chunkX, chunkZ)) {
+                        chunks.add(new ChunkPos(chunkX, chunkZ));
+                    }
+                }
+            }
+        }
+
+        BlockPos seekerSpawn = config.getSeekerSpawn();
+        if (seekerSpawn != null) {
+            addArea(chunks, seekerSpawn, SPAWN_RADIUS_CHUNKS << 4);
+        }
+        BlockPos lobbySpawn = config.getLobbySpawn();
+        if (lobbySpawn != null) {
+            addArea(chunks, lobbySpawn, HIDER_SPREAD);
+        }
+        return chunks;
+    }
+
+    private static void addArea(Set<ChunkPos> chunks, BlockPos center, int radius) {
+        for (int chunkX = (center.getX() - radius) >> 4; chunkX <= (center.getX() + radius) >> 4; chunkX++) {
+            for (int chunkZ = (center.getZ() - radius) >> 4; chunkZ <= (center.getZ() + radius) >> 4; chunkZ++) {
+                chunks.add(new ChunkPos(chunkX, chunkZ));
+            }
+        }
+    }
+
+    /**
+     * A arena fica na dimensão do spawn dos Seekers (padrão: overworld)
+     */
+    static ServerLevel resolveLevel(MinecraftServer server) {
+        ResourceKey<Level> dimension = ConfigHelper.stringToDimension(
+            GameConfig.getInstance().getSeekerSpawnString(), server);
+        ServerLevel resolved = dimension != null ? server.getLevel(dimension) : null;
+        return resolved != null ? resolved : server.overworld();
+    }
+}
@@ -0,0 +1,106 @@
+package com.jotav.hideseek.arena;
+
+import com.jotav.hideseek.HideSeek;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+/**
+ * Descobre quais seções da arena mudaram desde a captura.
+ * A thread do servidor apenas copia os containers de estados das seções (cópia barata
+ * e imutável a partir daí); o hash das cópias é calculado em paralelo em um ForkJoinPool
+ * e só as seções com hash diferente seguem para a restauração. Chunks ainda não carregados
+ * não são carregados aqui: suas seções seguem inteiras para a restauração, que as compara
+ * bloco a bloco quando o chunk estiver pronto.
+ */
+public class ArenaDiffer {
+    private final ForkJoinPool pool;
+
+    /**
+     * Cópia de uma seção do mundo pareada com a seção capturada
+     */
+    private static class SectionCopy {
+        private final ArenaSection expected;
+        private final PalettedContainer<BlockState> states;
+
+        private SectionCopy(ArenaSection expected, PalettedContainer<BlockState> states) {
+            this.expected = expected;
+            this.states = states;
+        }
+    }
+
+    public ArenaDiffer(int threads) {
+        int parallelism = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("HideSeek-ArenaDiff-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Seções que precisam ser restauradas (ou que não puderam ser comparadas). Deve ser chamado
+     * na thread do servidor; o resultado é completado em uma thread do pool.
+     */
+    public CompletableFuture<List<ArenaSection>> findChangedSections(ServerLevel level, ArenaSnapshot snapshot) {
+        long startNanos = System.nanoTime();
+
+        // Seções com block entities sempre são restauradas (conteúdo não aparece no hash de estados)
+        Set<Long> sectionsWithBlockEntities = new HashSet<>();
+        for (Long pos : snapshot.getBlockEntities().keySet()) {
+            sectionsWithBlockEntities.add(SectionPos.of(BlockPos.of(pos)).asLong());
+        }
+
+        List<ArenaSection> changed = new ArrayList<>();
+        List<SectionCopy> copies = new ArrayList<>();
+        int unloaded = 0;
+        for (ArenaSection section : snapshot.getSections()) {
+            if (sectionsWithBlockEntities.contains(SectionPos.asLong(section.getSectionX(), section.getSectionY(), section.getSectionZ()))) {
+                changed.add(section);
+                continue;
+            }
+            LevelChunk chunk = level.getChunkSource().getChunkNow(section.getSectionX(), section.getSectionZ());
+            if (chunk == null) {
+                changed.add(section); // Ainda carregando: comparado bloco a bloco na restauração
+                unloaded++;
+                continue;
+            }
+            PalettedContainer<BlockState> states = chunk.getSection(chunk.getSectionIndexFromSectionY(section.getSectionY()))
+                .getStates().copy();
+            copies.add(new SectionCopy(section, states));
+        }
+        long copyNanos = System.nanoTime() - startNanos;
+        int notLoaded = unloaded;
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<ArenaSection> mismatched = copies.parallelStream()
+                .filter(copy -> hashOf(copy, snapshot) != copy.expected.getHash())
+                .map(copy -> copy.expected)
+                .collect(Collectors.toList());
+
+            List<ArenaSection> result = new ArrayList<>(changed.size() + mismatched.size());
+            result.addAll(changed);
+            result.addAll(mismatched);
+            HideSeek.LOGGER.info("Arena diff: {}/{} sections changed ({} with block entities, {} not loaded), copy {} ms, total {} ms",
+                result.size(), snapshot.getSections().size(), changed.size() - notLoaded, notLoaded,
+                copyNanos / 1_000_000, (System.nanoTime() - startNanos) / 1_000_000);
+            return result;
+        }, pool);
+    }
+
+    private static long hashOf(SectionCopy copy, ArenaSnapshot snapshot) {
+        PalettedContainer<BlockState> states = copy.states;
+        return SectionHasher.hash(index -> states.get(index & 15, index >> 8, (index >> 4) & 15),
+            copy.expected.getSectionX(), copy.expected.getSectionY(), copy.expected.getSectionZ(), snapshot);
+    }
+}
@@ -0,0 +1,483 @@
+package com.jotav.hideseek.arena;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.config.GameConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.AABB;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Captura e restauração da arena entre rodadas.
+ * A restauração compara o mundo com a captura e só altera blocos diferentes,
+ * distribuindo o trabalho entre ticks sob um orçamento de blocos por tick.
+ * Nenhuma das duas carrega chunks na thread do servidor: os chunks recebem tickets e são
+ * carregados pelo pipeline assíncrono, e o trabalho de um chunk ainda não carregado é adiado.
+ */
+public class ArenaManager {
+    private static ArenaManager instance;
+
+    private static final int SET_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE | Block.UPDATE_SUPPRESS_DROPS;
+    private static final int COMPARES_PER_BLOCK = 8; // Comparar é bem mais barato que alterar
+    private static final int BLOCKS_PER_BLOCK_ENTITY = 16; // Recarregar uma block entity custa bem mais que alterar um bloco
+    private static final int BLOCKS_PER_ENTITY = 16;       // Remover ou recriar uma decoração, idem
+    private static final double ENTITY_MARGIN = 3;         // Folga da busca por entidades de um chunk (caixas que passam da borda)
+    private static final TicketType<ChunkPos> CAPTURE_TICKET =
+        TicketType.create("hideseek_capture", Comparator.comparingLong(ChunkPos::toLong));
+    private static final int CAPTURE_TICKET_DISTANCE = 0; // Nível 33: chunk carregado até FULL, sem ticks
+    private static final TicketType<ChunkPos> RESTORE_TICKET =
+        TicketType.create("hideseek_restore", Comparator.comparingLong(ChunkPos::toLong));
+
+    private final Path snapshotFile = Paths.get("hideseek_arena", "snapshot.dat");
+
+    private ArenaSnapshot snapshot;
+    private PendingCapture pendingCapture;
+    private RestoreTask restoreTask;
+    private volatile boolean restoreRequested = false;
+    private boolean loading = false;
+    private boolean diffing = false;
+    private ArenaDiffer differ;
+    private ServerLevel restoreLevel; // Chunks com ticket de restauração (do diff até o fim da restauração)
+    private final List<ChunkPos> restoreChunks = new ArrayList<>();
+
+    private boolean autoRestore = true;
+    private int blocksPerTick = 4096;
+
+    private ArenaManager() {}
+
+    public static ArenaManager getInstance() {
+        if (instance == null) {
+            instance = new ArenaManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean autoRestore, int blocksPerTick, int diffThreads) {
+        this.autoRestore = autoRestore;
+        this.blocksPerTick = blocksPerTick;
+        if (differ == null) {
+            differ = new ArenaDiffer(diffThreads);
+        }
+    }
+
+    // ================== CAPTURA ==================
+
+    /**
+     * Pede a captura da arena dentro dos limites do mapa. Os chunks ainda não carregados
+     * recebem um ticket e são carregados pelo pipeline assíncrono do servidor; a captura
+     * acontece no primeiro tick em que todos estiverem prontos, e é gravada em disco em
+     * segundo plano.
+     * @param onCaptured recebe a captura (thread do servidor)
+     * @return número de chunks da arena, 0 se os limites não estiverem configurados
+     *         ou -1 se já houver uma captura pendente
+     */
+    public int requestCapture(ServerLevel level, Consumer<ArenaSnapshot> onCaptured) {
+        if (pendingCapture != null) {
+            return -1;
+        }
+        ArenaRegion region = GameConfig.getInstance().getArenaRegion();
+        if (region == null) {
+            return 0;
+        }
+
+        List<ChunkPos> chunks = ArenaSnapshot.chunksOf(region);
+        for (ChunkPos pos : chunks) {
+            level.getChunkSource().addRegionTicket(CAPTURE_TICKET, pos, CAPTURE_TICKET_DISTANCE, pos);
+        }
+        pendingCapture = new PendingCapture(level, region, chunks, onCaptured);
+        return chunks.size();
+    }
+
+    /**
+     * Captura assim que blocos e entidades de todos os chunks estiverem carregados
+     */
+    private void tickCapture() {
+        PendingCapture pending = pendingCapture;
+        for (ChunkPos pos : pending.chunks) {
+            if (pending.level.getChunkSource().getChunkNow(pos.x, pos.z) == null
+                    || !pending.level.areEntitiesLoaded(pos.toLong())) {
+                return;
+            }
+        }
+
+        pendingCapture = null;
+        long startNanos = System.nanoTime();
+        ArenaSnapshot captured = ArenaSnapshot.capture(pending.level, pending.region);
+        for (ChunkPos pos : pending.chunks) {
+            pending.level.getChunkSource().removeRegionTicket(CAPTURE_TICKET, pos, CAPTURE_TICKET_DISTANCE, pos);
+        }
+        snapshot = captured;
+        HideSeek.LOGGER.info("Captured arena snapshot: {} sections, {} block entities, {} decorations in {} ms",
+            captured.getSections().size(), captured.getBlockEntities().size(), captured.getDecorations().size(),
+            (System.nanoTime() - startNanos) / 1_000_000);
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                captured.write(snapshotFile);
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to save arena snapshot", e);
+            }
+        });
+        pending.onCaptured.accept(captured);
+    }
+
+    private static class PendingCapture {
+        private final ServerLevel level;
+        private final ArenaRegion region;
+        private final List<ChunkPos> chunks;
+        private final Consumer<ArenaSnapshot> onCaptured;
+
+        private PendingCapture(ServerLevel level, ArenaRegion region, List<ChunkPos> chunks, Consumer<ArenaSnapshot> onCaptured) {
+            this.level = level;
+            this.region = region;
+            this.chunks = chunks;
+            this.onCaptured = onCaptured;
+        }
+    }
+
+    public boolean hasSnapshot() {
+        return snapshot != null || Files.exists(snapshotFile);
+    }
+
+    // ================== RESTAURAÇÃO ==================
+
+    /**
+     * Agenda a restauração automática de fim de rodada (pode ser chamado de qualquer thread)
+     */
+    public void requestAutoRestore() {
+        if (autoRestore) {
+            restoreRequested = true;
+        }
+    }
+
+    /**
+     * Agenda a restauração da arena (pode ser chamado de qualquer thread)
+     */
+    public void requestRestore() {
+        restoreRequested = true;
+    }
+
+    public boolean isRestoring() {
+        return restoreTask != null || loading || diffing || restoreRequested;
+    }
+
+    /**
+     * Progresso da restauração atual (0 a 1), ou -1 se nenhuma estiver em andamento
+     */
+    public double getRestoreProgress() {
+        return restoreTask != null ? restoreTask.progress() : -1;
+    }
+
+    /**
+     * Avança a restauração (chamado ao fim de cada tick do servidor)
+     */
+    public void tick(MinecraftServer server) {
+        if (pendingCapture != null) {
+            tickCapture();
+        }
+
+        if (restoreRequested && restoreTask == null && !loading && !diffing) {
+            restoreRequested = false;
+            beginRestore(server);
+        }
+
+        if (restoreTask != null && restoreTask.step(blocksPerTick)) {
+            HideSeek.LOGGER.info("Arena restored: {} blocks changed, {} block entities reloaded, {} entities replaced in {} ticks",
+                restoreTask.changedBlocks, restoreTask.snapshot.getBlockEntities().size(), restoreTask.changedEntities,
+                restoreTask.ticks);
+            restoreTask = null;
+            releaseRestoreTickets();
+        }
+    }
+
+    /**
+     * Registra tickets sobre os chunks da captura; os que não estiverem carregados
+     * são carregados em segundo plano enquanto a comparação e a restauração avançam
+     */
+    private void addRestoreTickets(ServerLevel level, ArenaSnapshot source) {
+        releaseRestoreTickets();
+        restoreLevel = level;
+        for (ChunkPos pos : source.restoreChunks()) {
+            level.getChunkSource().addRegionTicket(RESTORE_TICKET, pos, CAPTURE_TICKET_DISTANCE, pos);
+            restoreChunks.add(pos);
+        }
+    }
+
+    private void releaseRestoreTickets() {
+        if (restoreLevel == null) {
+            return;
+        }
+        for (ChunkPos pos : restoreChunks) {
+            restoreLevel.getChunkSource().removeRegionTicket(RESTORE_TICKET, pos, CAPTURE_TICKET_DISTANCE, pos);
+        }
+        restoreChunks.clear();
+        restoreLevel = null;
+    }
+
+    private void beginRestore(MinecraftServer server) {
+        if (snapshot != null) {
+            startTask(server, snapshot);
+            return;
+        }
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+
+        // Ler o arquivo fora da thread do servidor
+        loading = true;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return ArenaSnapshot.read(snapshotFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((loaded, error) -> server.execute(() -> {
+            loading = false;
+            if (error != null) {
+                HideSeek.LOGGER.error("Failed to load arena snapshot", error);
+                return;
+            }
+            snapshot = loaded;
+            startTask(server, loaded);
+        }));
+    }
+
+    private void startTask(MinecraftServer server, ArenaSnapshot source) {
+        ResourceKey<Level> dimension = ResourceKey.create(Registries.DIMENSION, ResourceLocation.parse(source.getDimension()));
+        ServerLevel level = server.getLevel(dimension);
+        if (level == null) {
+            HideSeek.LOGGER.error("Arena snapshot dimension {} is not loaded", source.getDimension());
+            return;
+        }
+        if (differ == null) {
+            differ = new ArenaDiffer(0);
+        }
+
+        addRestoreTickets(level, source);
+
+        // Só as seções com hash diferente (ou com block entities, ou ainda não carregadas) vão para a restauração
+        diffing = true;
+        differ.findChangedSections(level, source).whenComplete((changed, error) -> server.execute(() -> {
+            diffing = false;
+            if (error != null) {
+                HideSeek.LOGGER.error("Arena diff failed, restoring every section", error);
+                restoreTask = new RestoreTask(level, source, source.getSections());
+                return;
+            }
+            restoreTask = new RestoreTask(level, source, changed);
+        }));
+    }
+
+    /**
+     * Restauração incremental: blocos, depois block entities, depois decorações (um chunk por vez).
+     * Seções, block entities e chunks de decorações ainda não carregados vão para o fim da fila;
+     * se só restarem itens esperando o carregamento, o tick termina sem trabalho.
+     */
+    private static class RestoreTask {
+        private final ServerLevel level;
+        private final ArenaSnapshot snapshot;
+        private final int totalSections;
+        private final ArrayDeque<ArenaSection> sections; // Apenas as seções alteradas, ainda por restaurar
+        private final BlockPos.MutableBlockPos cursorPos = new BlockPos.MutableBlockPos();
+
+        private final ArrayDeque<Map.Entry<Long, CompoundTag>> blockEntities;
+        private final ArrayDeque<ChunkPos> decorationChunks;
+        private final Map<ChunkPos, List<CompoundTag>> decorationsByChunk = new HashMap<>();
+
+        private ArenaSection current;
+        private int blockIndex;
+        private boolean blockEntitiesDone;
+        private int changedBlocks;
+        private int changedEntities;
+        private int ticks;
+
+        private RestoreTask(ServerLevel level, ArenaSnapshot snapshot, List<ArenaSection> sections) {
+            this.level = level;
+            this.snapshot = snapshot;
+            this.totalSections = sections.size();
+            this.sections = new ArrayDeque<>(sections);
+            this.blockEntities = new ArrayDeque<>(snapshot.getBlockEntities().entrySet());
+            this.decorationChunks = new ArrayDeque<>(snapshot.restoreChunks());
+            for (CompoundTag decoration : snapshot.getDecorations()) {
+                decorationsByChunk.computeIfAbsent(ArenaSnapshot.chunkOf(decoration), pos -> new ArrayList<>()).add(decoration);
+            }
+        }
+
+        private double progress() {
+            int done = totalSections - sections.size() - (current != null ? 1 : 0);
+            return totalSections == 0 ? 1.0 : (double) done / totalSections;
+        }
+
+        private boolean isLoaded(int chunkX, int chunkZ) {
+            return level.getChunkSource().getChunkNow(chunkX, chunkZ) != null;
+        }
+
+        /**
+         * Processa até o orçamento de blocos alterados
+         * @return true quando a restauração terminou
+         */
+        private boolean step(int blockBudget) {
+            ticks++;
+            int changeBudget = blockBudget;
+            int compareBudget = blockBudget * COMPARES_PER_BLOCK;
+
+            int deferred = 0;
+            while (current != null || !sections.isEmpty()) {
+                if (current == null) {
+                    ArenaSection next = sections.pollFirst();
+                    if (!isLoaded(next.getSectionX(), next.getSectionZ())) {
+                        sections.addLast(next);
+                        if (++deferred >= sections.size()) {
+                            return false; // Todas as seções restantes esperam o carregamento
+                        }
+                        continue;
+                    }
+                    deferred = 0;
+                    current = next;
+                    blockIndex = 0;
+                }
+
+                int baseX = current.getSectionX() << 4;
+                int baseY = current.getSectionY() << 4;
+                int baseZ = current.getSectionZ() << 4;
+
+                while (blockIndex < ArenaSection.SIZE) {
+                    int index = blockIndex++;
+                    int x = baseX + (index & 15);
+                    int y = baseY + (index >> 8);
+                    int z = baseZ + ((index >> 4) & 15);
+                    if (!snapshot.contains(x, y, z)) {
+                        continue;
+                    }
+
+                    cursorPos.set(x, y, z);
+                    BlockState expected = current.get(index);
+                    if (level.getBlockState(cursorPos) != expected) {
+                        level.setBlock(cursorPos, expected, SET_FLAGS);
+                        changedBlocks++;
+                        changeBudget--;
+                    }
+                    if (--compareBudget <= 0 || changeBudget <= 0) {
+                        return false;
+                    }
+                }
+
+                current = null;
+            }
+
+            if (!blockEntitiesDone) {
+                // Block entities também entram no orçamento do tick
+                int blockEntityBudget = Math.max(1, changeBudget / BLOCKS_PER_BLOCK_ENTITY);
+                deferred = 0;
+                while (!blockEntities.isEmpty() && blockEntityBudget > 0) {
+                    Map.Entry<Long, CompoundTag> entry = blockEntities.pollFirst();
+                    BlockPos pos = BlockPos.of(entry.getKey());
+                    if (!isLoaded(pos.getX() >> 4, pos.getZ() >> 4)) {
+                        blockEntities.addLast(entry);
+                        if (++deferred >= blockEntities.size()) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    deferred = 0;
+                    restoreBlockEntity(entry);
+                    blockEntityBudget--;
+                }
+                if (!blockEntities.isEmpty()) {
+                    return false;
+                }
+                blockEntitiesDone = true;
+                return false;
+            }
+
+            // Decorações: cada chunk é trocado de uma vez, quando as entidades dele estiverem carregadas
+            int entityBudget = Math.max(1, changeBudget / BLOCKS_PER_ENTITY);
+            deferred = 0;
+            while (!decorationChunks.isEmpty() && entityBudget > 0) {
+                ChunkPos pos = decorationChunks.pollFirst();
+                if (!isLoaded(pos.x, pos.z) || !level.areEntitiesLoaded(pos.toLong())) {
+                    decorationChunks.addLast(pos);
+                    if (++deferred >= decorationChunks.size()) {
+                        return false;
+                    }
+                    continue;
+                }
+                deferred = 0;
+                entityBudget -= Math.max(1, restoreDecorations(pos));
+            }
+            return decorationChunks.isEmpty();
+        }
+
+        private void restoreBlockEntity(Map.Entry<Long, CompoundTag> entry) {
+            BlockPos pos = BlockPos.of(entry.getKey());
+            BlockEntity blockEntity = level.getBlockEntity(pos);
+            if (blockEntity == null) {
+                return;
+            }
+            blockEntity.loadWithComponents(entry.getValue(), level.registryAccess());
+            blockEntity.setChanged();
+            BlockState state = level.getBlockState(pos);
+            level.sendBlockUpdated(pos, state, state, Block.UPDATE_CLIENTS);
+        }
+
+        /**
+         * Recria as molduras, pinturas e suportes de um chunk e remove os itens soltos dele
+         * (só entidades cuja posição está no chunk, para que cada uma seja tratada uma única vez)
+         * @return entidades removidas e recriadas
+         */
+        private int restoreDecorations(ChunkPos pos) {
+            AABB bounds = snapshot.getBounds();
+            AABB area = new AABB(pos.getMinBlockX(), bounds.minY, pos.getMinBlockZ(),
+                pos.getMaxBlockX() + 1, bounds.maxY, pos.getMaxBlockZ() + 1).inflate(ENTITY_MARGIN);
+            int changed = 0;
+            for (Entity entity : level.getEntities((Entity) null, area,
+                    entity -> (ArenaSnapshot.isDecoration(entity) || entity instanceof ItemEntity)
+                        && entity.chunkPosition().equals(pos) && entity.getBoundingBox().intersects(bounds))) {
+                entity.discard();
+                changed++;
+            }
+
+            for (CompoundTag tag : decorationsByChunk.getOrDefault(pos, List.of())) {
+                Entity entity = EntityType.loadEntityRecursive(tag, level, loaded -> loaded);
+                if (entity != null) {
+                    entity.setUUID(UUID.randomUUID());
+                    level.addFreshEntity(entity);
+                    changed++;
+                }
+            }
+            changedEntities += changed;
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.jotav.hideseek.arena;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.game.GameManager;
+import com.jotav.hideseek.game.GameState;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pré-geração dos chunks da arena, para que nenhuma rodada dispare geração de mundo.
+ * Cada chunk recebe um ticket temporário; a geração e o carregamento acontecem no pipeline
+ * assíncrono de chunks do servidor, e a thread do servidor só agenda novos chunks e
+ * verifica os que terminaram, mantendo no máximo um número fixo em andamento.
+ * Só avança no lobby, para não competir com uma rodada em andamento.
+ */
+public class ArenaPregenerator {
+    private static ArenaPregenerator instance;
+
+    private static final TicketType<ChunkPos> PREGEN_TICKET =
+        TicketType.create("hideseek_pregen", Comparator.comparingLong(ChunkPos::toLong));
+    private static final int TICKET_DISTANCE = 0; // Nível 33: o chunk é gerado até FULL, sem ticks
+    private static final int REPORT_STEP_PERCENT = 10;
+
+    private int maxInFlight = 16;
+    private boolean startRequested = false;
+
+    private ServerLevel level;
+    private List<ChunkPos> queue;
+    private final List<ChunkPos> inFlight = new ArrayList<>();
+    private CommandSourceStack reportTo;
+    private int cursor;
+    private int completed;
+    private int lastReportedPercent;
+    private long startNanos;
+
+    private ArenaPregenerator() {}
+
+    public static ArenaPregenerator getInstance() {
+        if (instance == null) {
+            instance = new ArenaPregenerator();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração e agenda a pré-geração de início (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean runOnStart, int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        this.startRequested = runOnStart;
+    }
+
+    /**
+     * Inicia a pré-geração pedida por comando
+     * @return false se já houver uma em andamento ou se não houver arena configurada
+     */
+    public boolean start(CommandSourceStack source) {
+        if (isRunning()) {
+            return false;
+        }
+        begin(source.getServer(), source);
+        return isRunning();
+    }
+
+    /**
+     * Cancela a pré-geração, liberando os tickets dos chunks em andamento
+     */
+    public boolean cancel() {
+        if (!isRunning()) {
+            return false;
+        }
+        HideSeek.LOGGER.info("Arena pre-generation cancelled at {}/{} chunks", completed, queue.size());
+        finish();
+        return true;
+    }
+
+    public boolean isRunning() {
+        return level != null;
+    }
+
+    /**
+     * Progresso atual (0 a 1), ou -1 se nenhuma pré-geração estiver em andamento
+     */
+    public double getProgress() {
+        return isRunning() && !queue.isEmpty() ? (double) completed / queue.size() : -1;
+    }
+
+    /**
+     * Agenda novos chunks e recolhe os que terminaram (chamado ao fim de cada tick do servidor)
+     */
+    public void tick(MinecraftServer server) {
+        if (startRequested && GameManager.getInstance().getCurrentState() == GameState.LOBBY) {
+            startRequested = false;
+            if (!isRunning()) {
+                begin(server, null);
+            }
+        }
+        if (!isRunning() || GameManager.getInstance().getCurrentState() != GameState.LOBBY) {
+            return;
+        }
+
+        // Recolher os chunks que já chegaram a FULL
+        Iterator<ChunkPos> iterator = inFlight.iterator();
+        while (iterator.hasNext()) {
+            ChunkPos pos = iterator.next();
+            if (level.getChunkSource().getChunkNow(pos.x, pos.z) != null) {
+                level.getChunkSource().removeRegionTicket(PREGEN_TICKET, pos, TICKET_DISTANCE, pos);
+                iterator.remove();
+                completed++;
+            }
+        }
+
+        // Manter o orçamento de chunks em andamento cheio
+        while (inFlight.size() < maxInFlight && cursor < queue.size()) {
+            ChunkPos pos = queue.get(cursor++);
+            level.getChunkSource().addRegionTicket(PREGEN_TICKET, pos, TICKET_DISTANCE, pos);
+            inFlight.add(pos);
+        }
+
+        reportProgress();
+        if (completed >= queue.size()) {
+            HideSeek.LOGGER.info("Arena pre-generation finished: {} chunks in {} ms",
+                queue.size(), (System.nanoTime() - startNanos) / 1_000_000);
+            if (reportTo != null) {
+                reportTo.sendSuccess(() -> Component.literal(
+                    String.format("✅ Pré-geração da arena concluída: %d chunks", queue.size())), true);
+            }
+            finish();
+        }
+    }
+
+    private void begin(MinecraftServer server, CommandSourceStack source) {
+        List<ChunkPos> chunks = new ArrayList<>(ArenaChunkManager.collectChunks());
+        if (chunks.isEmpty()) {
+            HideSeek.LOGGER.info("Arena pre-generation skipped: no arena configured");
+            return;
+        }
+
+        level = ArenaChunkManager.resolveLevel(server);
+        queue = chunks;
+        reportTo = source;
+        cursor = 0;
+        completed = 0;
+        lastReportedPercent = 0;
+        startNanos = System.nanoTime();
+        HideSeek.LOGGER.info("Arena pre-generation started: {} chunks, {} in flight", chunks.size(), maxInFlight);
+    }
+
+    private void reportProgress() {
+        int percent = (int) (completed * 100L / queue.size());
+        if (percent < lastReportedPercent + REPORT_STEP_PERCENT || percent >= 100) {
+            return;
+        }
+        lastReportedPercent = percent - percent % REPORT_STEP_PERCENT;
+        HideSeek.LOGGER.info("Arena pre-generation: {}% ({}/{} chunks)", percent, completed, queue.size());
+        if (reportTo != null) {
+            reportTo.sendSuccess(() -> Component.literal(
+                String.format("Pré-geração da arena: %d%% (%d/%d chunks)", percent, completed, queue.size())), false);
+        }
+    }
+
+    private void finish() {
+        for (ChunkPos pos : inFlight) {
+            level.getChunkSource().removeRegionTicket(PREGEN_TICKET, pos, TICKET_DISTANCE, pos);
+        }
+        inFlight.clear();
+        queue = null;
+        reportTo = null;
+        level = null;
+    }
+}
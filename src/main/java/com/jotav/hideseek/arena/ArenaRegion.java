@@ -0,0 +1,245 @@
+package com.jotav.hideseek.arena;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Forma da arena compilada a partir dos volumes, para consultas de pertencimento em O(1).
+ *
+ * A altura é dividida em faixas nos pontos onde algum volume começa ou termina; dentro de uma
+ * faixa, a área no plano XZ é constante. Cada faixa guarda, por coluna de chunk, uma máscara
+ * de 256 bits (uma por bloco da coluna 16x16). Colunas vazias não ocupam memória e colunas
+ * cheias compartilham a mesma máscara.
+ */
+public class ArenaRegion {
+    private static final long[] FULL = {-1L, -1L, -1L, -1L};
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final boolean simpleBox;
+
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    private final int chunksZ;
+    private final int[] bandOfY;      // Faixa de cada altura (índice = y - minY)
+    private final long[][][] masks;   // [faixa][coluna de chunk] -> máscara, null se vazia
+    private final boolean[] usedChunks;
+
+    private ArenaRegion(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, boolean simpleBox,
+                        int[] bandOfY, long[][][] masks) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.simpleBox = simpleBox;
+        this.minChunkX = minX >> 4;
+        this.minChunkZ = minZ >> 4;
+        this.chunksX = (maxX >> 4) - minChunkX + 1;
+        this.chunksZ = (maxZ >> 4) - minChunkZ + 1;
+        this.bandOfY = bandOfY;
+        this.masks = masks;
+
+        this.usedChunks = new boolean[chunksX * chunksZ];
+        for (long[][] band : masks) {
+            for (int i = 0; i < band.length; i++) {
+                usedChunks[i] |= band[i] != null;
+            }
+        }
+    }
+
+    /**
+     * Região formada por uma única caixa (limite do mapa tradicional)
+     */
+    public static ArenaRegion box(BlockPos pos1, BlockPos pos2) {
+        return compile(List.of(ArenaVolume.box("map", false, pos1, pos2)));
+    }
+
+    /**
+     * Compila os volumes, aplicados em ordem
+     * @return a região, ou null se nenhum volume adicionar área
+     */
+    public static ArenaRegion compile(List<ArenaVolume> volumes) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        int additive = 0;
+        for (ArenaVolume volume : volumes) {
+            if (volume.isSubtract()) {
+                continue;
+            }
+            additive++;
+            minX = Math.min(minX, volume.getMinX());
+            minY = Math.min(minY, volume.getMinY());
+            minZ = Math.min(minZ, volume.getMinZ());
+            maxX = Math.max(maxX, volume.getMaxX());
+            maxY = Math.max(maxY, volume.getMaxY());
+            maxZ = Math.max(maxZ, volume.getMaxZ());
+        }
+        if (additive == 0) {
+            return null;
+        }
+        boolean simpleBox = volumes.size() == 1 && !volumes.get(0).isPolygon();
+
+        // Faixas de altura: cortes onde algum volume começa ou termina
+        TreeSet<Integer> cuts = new TreeSet<>();
+        cuts.add(minY);
+        for (ArenaVolume volume : volumes) {
+            if (volume.getMinY() > minY && volume.getMinY() <= maxY) {
+                cuts.add(volume.getMinY());
+            }
+            if (volume.getMaxY() + 1 > minY && volume.getMaxY() + 1 <= maxY) {
+                cuts.add(volume.getMaxY() + 1);
+            }
+        }
+        int[] bandStarts = cuts.stream().mapToInt(Integer::intValue).toArray();
+        int[] bandOfY = new int[maxY - minY + 1];
+        for (int band = 0; band < bandStarts.length; band++) {
+            int end = band + 1 < bandStarts.length ? bandStarts[band + 1] : maxY + 1;
+            Arrays.fill(bandOfY, bandStarts[band] - minY, end - minY, band);
+        }
+
+        int minChunkX = minX >> 4;
+        int minChunkZ = minZ >> 4;
+        int chunksX = (maxX >> 4) - minChunkX + 1;
+        int chunksZ = (maxZ >> 4) - minChunkZ + 1;
+        long[][][] masks = new long[bandStarts.length][][];
+
+        for (int band = 0; band < bandStarts.length; band++) {
+            int y = bandStarts[band];
+            long[][] chunks = new long[chunksX * chunksZ][];
+            for (ArenaVolume volume : volumes) {
+                if (y >= volume.getMinY() && y <= volume.getMaxY()) {
+                    apply(volume, chunks, minX, minZ, maxX, maxZ, chunksZ);
+                }
+            }
+            compact(chunks);
+            masks[band] = chunks;
+        }
+
+        return new ArenaRegion(minX, minY, minZ, maxX, maxY, maxZ, simpleBox, bandOfY, masks);
+    }
+
+    /**
+     * Marca (ou desmarca, para subtração) as colunas do volume nas máscaras de uma faixa
+     */
+    private static void apply(ArenaVolume volume, long[][] chunks, int minX, int minZ, int maxX, int maxZ, int chunksZ) {
+        int minChunkX = minX >> 4;
+        int minChunkZ = minZ >> 4;
+        int toX = Math.min(volume.getMaxX(), maxX);
+        int toZ = Math.min(volume.getMaxZ(), maxZ);
+        for (int x = Math.max(volume.getMinX(), minX); x <= toX; x++) {
+            for (int z = Math.max(volume.getMinZ(), minZ); z <= toZ; z++) {
+                if (!volume.containsColumn(x, z)) {
+                    continue;
+                }
+                int chunkIndex = ((x >> 4) - minChunkX) * chunksZ + ((z >> 4) - minChunkZ);
+                long[] mask = chunks[chunkIndex];
+                if (mask == null) {
+                    if (volume.isSubtract()) {
+                        continue;
+                    }
+                    mask = chunks[chunkIndex] = new long[4];
+                }
+                int bit = (z & 15) << 4 | (x & 15);
+                if (volume.isSubtract()) {
+                    mask[bit >>> 6] &= ~(1L << (bit & 63));
+                } else {
+                    mask[bit >>> 6] |= 1L << (bit & 63);
+                }
+            }
+        }
+    }
+
+    /**
+     * Troca máscaras vazias por null e cheias pela máscara compartilhada
+     */
+    private static void compact(long[][] chunks) {
+        for (int i = 0; i < chunks.length; i++) {
+            long[] mask = chunks[i];
+            if (mask == null) {
+                continue;
+            }
+            if ((mask[0] | mask[1] | mask[2] | mask[3]) == 0) {
+                chunks[i] = null;
+            } else if ((mask[0] & mask[1] & mask[2] & mask[3]) == -1L) {
+                chunks[i] = FULL;
+            }
+        }
+    }
+
+    // ================== CONSULTAS ==================
+
+    /**
+     * Verifica se o bloco está dentro da arena
+     */
+    public boolean contains(int x, int y, int z) {
+        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+            return false;
+        }
+        if (simpleBox) {
+            return true;
+        }
+        long[] mask = masks[bandOfY[y - minY]][((x >> 4) - minChunkX) * chunksZ + ((z >> 4) - minChunkZ)];
+        if (mask == null) {
+            return false;
+        }
+        if (mask == FULL) {
+            return true;
+        }
+        int bit = (z & 15) << 4 | (x & 15);
+        return (mask[bit >>> 6] >>> (bit & 63) & 1L) != 0;
+    }
+
+    public boolean contains(double x, double y, double z) {
+        return contains((int) Math.floor(x), (int) Math.floor(y), (int) Math.floor(z));
+    }
+
+    /**
+     * Verifica se alguma parte da arena está na coluna de chunk (em qualquer altura)
+     */
+    public boolean usesChunk(int chunkX, int chunkZ) {
+        int offsetX = chunkX - minChunkX;
+        int offsetZ = chunkZ - minChunkZ;
+        if (offsetX < 0 || offsetX >= chunksX || offsetZ < 0 || offsetZ >= chunksZ) {
+            return false;
+        }
+        return usedChunks[offsetX * chunksZ + offsetZ];
+    }
+
+    /**
+     * Número de colunas de chunk que a arena realmente ocupa
+     */
+    public int getUsedChunkCount() {
+        int count = 0;
+        for (boolean used : usedChunks) {
+            if (used) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Região é uma única caixa (a checagem por distância à borda é exata)
+     */
+    public boolean isSimpleBox() { return simpleBox; }
+
+    public BlockPos getMin() { return new BlockPos(minX, minY, minZ); }
+    public BlockPos getMax() { return new BlockPos(maxX, maxY, maxZ); }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+    public int getBandCount() { return masks.length; }
+}
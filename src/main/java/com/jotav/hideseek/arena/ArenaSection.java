@@ -0,0 +1,158 @@
+package com.jotav.hideseek.arena;
+
+import net.minecraft.core.HolderGetter;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seção 16x16x16 de uma captura da arena, comprimida com paleta:
+ * cada bloco guarda apenas o índice do seu estado na paleta da seção,
+ * empacotado com o mínimo de bits necessário.
+ */
+public class ArenaSection {
+    public static final int SIZE = 16 * 16 * 16;
+
+    private final int sectionX;
+    private final int sectionY;
+    private final int sectionZ;
+    private final BlockState[] palette;
+    private final int bits;
+    private final long[] packed;
+    private long hash;
+    private boolean hashed;
+
+    private ArenaSection(int sectionX, int sectionY, int sectionZ, BlockState[] palette, int bits, long[] packed) {
+        this.sectionX = sectionX;
+        this.sectionY = sectionY;
+        this.sectionZ = sectionZ;
+        this.palette = palette;
+        this.bits = bits;
+        this.packed = packed;
+    }
+
+    /**
+     * Comprime os estados de uma seção (índice = y << 8 | z << 4 | x)
+     */
+    public static ArenaSection of(int sectionX, int sectionY, int sectionZ, BlockState[] states) {
+        Map<BlockState, Integer> ids = new HashMap<>();
+        List<BlockState> palette = new ArrayList<>();
+        int[] indices = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            BlockState state = states[i];
+            Integer id = ids.get(state);
+            if (id == null) {
+                id = palette.size();
+                ids.put(state, id);
+                palette.add(state);
+            }
+            indices[i] = id;
+        }
+
+        int bits = bitsFor(palette.size());
+        long[] packed = new long[bits == 0 ? 0 : (SIZE * bits + 63) / 64];
+        for (int i = 0; i < SIZE && bits > 0; i++) {
+            setBits(packed, i * bits, bits, indices[i]);
+        }
+        return new ArenaSection(sectionX, sectionY, sectionZ, palette.toArray(new BlockState[0]), bits, packed);
+    }
+
+    public int getSectionX() { return sectionX; }
+    public int getSectionY() { return sectionY; }
+    public int getSectionZ() { return sectionZ; }
+
+    /**
+     * Estado salvo para a posição local (x, y, z entre 0 e 15)
+     */
+    public BlockState get(int x, int y, int z) {
+        return palette[indexAt(y << 8 | z << 4 | x)];
+    }
+
+    public BlockState get(int index) {
+        return palette[indexAt(index)];
+    }
+
+    public int getPaletteSize() { return palette.length; }
+
+    /**
+     * Hash dos estados dentro dos limites da captura (ver SectionHasher)
+     */
+    public long getHash() { return hash; }
+    public boolean isHashed() { return hashed; }
+
+    void setHash(long hash) {
+        this.hash = hash;
+        this.hashed = true;
+    }
+
+    // ================== NBT ==================
+
+    public CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("x", sectionX);
+        tag.putInt("y", sectionY);
+        tag.putInt("z", sectionZ);
+
+        ListTag paletteTag = new ListTag();
+        for (BlockState state : palette) {
+            paletteTag.add(NbtUtils.writeBlockState(state));
+        }
+        tag.put("palette", paletteTag);
+        tag.putLongArray("data", packed);
+        if (hashed) {
+            tag.putLong("hash", hash);
+        }
+        return tag;
+    }
+
+    public static ArenaSection load(CompoundTag tag, HolderGetter<Block> blocks) {
+        ListTag paletteTag = tag.getList("palette", Tag.TAG_COMPOUND);
+        BlockState[] palette = new BlockState[paletteTag.size()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = NbtUtils.readBlockState(blocks, paletteTag.getCompound(i));
+        }
+        ArenaSection section = new ArenaSection(tag.getInt("x"), tag.getInt("y"), tag.getInt("z"),
+            palette, bitsFor(palette.length), tag.getLongArray("data"));
+        if (tag.contains("hash", Tag.TAG_LONG)) {
+            section.setHash(tag.getLong("hash"));
+        }
+        return section;
+    }
+
+    // ================== EMPACOTAMENTO ==================
+
+    private int indexAt(int index) {
+        return bits == 0 ? 0 : getBits(packed, index * bits, bits);
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return paletteSize <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+    }
+
+    private static void setBits(long[] data, int bitIndex, int bits, int value) {
+        int word = bitIndex >>> 6;
+        int offset = bitIndex & 63;
+        data[word] |= (long) value << offset;
+        if (offset + bits > 64) {
+            data[word + 1] |= (long) value >>> (64 - offset);
+        }
+    }
+
+    private static int getBits(long[] data, int bitIndex, int bits) {
+        int word = bitIndex >>> 6;
+        int offset = bitIndex & 63;
+        long value = data[word] >>> offset;
+        if (offset + bits > 64) {
+            value |= data[word + 1] << (64 - offset);
+        }
+        return (int) (value & ((1L << bits) - 1));
+    }
+}
@@ -0,0 +1,263 @@
+package com.jotav.hideseek.arena;
+
+import com.jotav.hideseek.HideSeek;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+import net.minecraft.world.entity.decoration.HangingEntity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.AABB;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Captura dos blocos, block entities e decorações (molduras, pinturas, suportes)
+ * dentro dos limites do mapa, usada para restaurar a arena entre rodadas.
+ */
+public class ArenaSnapshot {
+    private static final int VERSION = 1;
+
+    private final String dimension;
+    private final BlockPos min;
+    private final BlockPos max;
+    private final List<ArenaSection> sections;
+    private final Map<Long, CompoundTag> blockEntities;
+    private final List<CompoundTag> decorations;
+
+    private ArenaSnapshot(String dimension, BlockPos min, BlockPos max, List<ArenaSection> sections,
+                          Map<Long, CompoundTag> blockEntities, List<CompoundTag> decorations) {
+        this.dimension = dimension;
+        this.min = min;
+        this.max = max;
+        this.sections = sections;
+        this.blockEntities = blockEntities;
+        this.decorations = decorations;
+    }
+
+    public String getDimension() { return dimension; }
+    public BlockPos getMin() { return min; }
+    public BlockPos getMax() { return max; }
+    public List<ArenaSection> getSections() { return Collections.unmodifiableList(sections); }
+    public Map<Long, CompoundTag> getBlockEntities() { return Collections.unmodifiableMap(blockEntities); }
+    public List<CompoundTag> getDecorations() { return Collections.unmodifiableList(decorations); }
+
+    public AABB getBounds() {
+        return new AABB(min.getX(), min.getY(), min.getZ(), max.getX() + 1, max.getY() + 1, max.getZ() + 1);
+    }
+
+    /**
+     * Verifica se uma posição está dentro dos limites capturados
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= min.getX() && x <= max.getX()
+            && y >= min.getY() && y <= max.getY()
+            && z >= min.getZ() && z <= max.getZ();
+    }
+
+    /**
+     * Colunas de chunk que a restauração lê ou altera: todas dentro dos limites capturados
+     * e as das decorações (uma decoração na borda pode estar em uma coluna vizinha)
+     */
+    public Set<ChunkPos> restoreChunks() {
+        Set<ChunkPos> chunks = new LinkedHashSet<>();
+        for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+            for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                chunks.add(new ChunkPos(chunkX, chunkZ));
+            }
+        }
+        for (CompoundTag decoration : decorations) {
+            chunks.add(chunkOf(decoration));
+        }
+        return chunks;
+    }
+
+    /**
+     * Coluna de chunk de uma entidade salva (pela posição gravada, como Entity.chunkPosition)
+     */
+    public static ChunkPos chunkOf(CompoundTag entityTag) {
+        ListTag pos = entityTag.getList("Pos", Tag.TAG_DOUBLE);
+        return new ChunkPos(Mth.floor(pos.getDouble(0)) >> 4, Mth.floor(pos.getDouble(2)) >> 4);
+    }
+
+    /**
+     * Entidades consideradas parte do cenário (restauradas junto com os blocos)
+     */
+    public static boolean isDecoration(Entity entity) {
+        return entity instanceof HangingEntity || entity instanceof ArmorStand;
+    }
+
+    // ================== CAPTURA ==================
+
+    /**
+     * Colunas de chunk que a captura da região lê
+     */
+    public static List<ChunkPos> chunksOf(ArenaRegion region) {
+        BlockPos min = region.getMin();
+        BlockPos max = region.getMax();
+        List<ChunkPos> chunks = new ArrayList<>();
+        for (int chunkX = min.getX() >> 4; chunkX <= max.getX() >> 4; chunkX++) {
+            for (int chunkZ = min.getZ() >> 4; chunkZ <= max.getZ() >> 4; chunkZ++) {
+                if (region.usesChunk(chunkX, chunkZ)) {
+                    chunks.add(new ChunkPos(chunkX, chunkZ));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Lê a região diretamente das seções dos chunks (thread do servidor).
+     * Colunas de chunk fora dos volumes da arena não são capturadas.
+     * Só lê chunks já carregados (o ArenaManager carrega todos antes de chamar);
+     * um chunk ausente é ignorado em vez de carregado ou gerado aqui.
+     */
+    public static ArenaSnapshot capture(ServerLevel level, ArenaRegion region) {
+        BlockPos min = region.getMin();
+        BlockPos max = region.getMax();
+        List<ArenaSection> sections = new ArrayList<>();
+        Map<Long, CompoundTag> blockEntities = new HashMap<>();
+        BlockState[] states = new BlockState[ArenaSection.SIZE];
+
+        int minSectionY = Math.max(min.getY() >> 4, level.getMinSection());
+        int maxSectionY = Math.min(max.getY() >> 4, level.getMaxSection() - 1);
+
+        for (ChunkPos chunkPos : chunksOf(region)) {
+            int chunkX = chunkPos.x;
+            int chunkZ = chunkPos.z;
+            LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+            if (chunk == null) {
+                HideSeek.LOGGER.warn("Arena chunk [{}, {}] not loaded, skipped from snapshot", chunkX, chunkZ);
+                continue;
+            }
+
+            for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                for (int index = 0; index < ArenaSection.SIZE; index++) {
+                    states[index] = section.getBlockState(index & 15, index >> 8, (index >> 4) & 15);
+                }
+                sections.add(ArenaSection.of(chunkX, sectionY, chunkZ, states));
+            }
+
+            for (Map.Entry<BlockPos, BlockEntity> entry : chunk.getBlockEntities().entrySet()) {
+                BlockPos pos = entry.getKey();
+                if (isInside(pos, min, max)) {
+                    blockEntities.put(pos.asLong(), entry.getValue().saveWithFullMetadata(level.registryAccess()));
+                }
+            }
+        }
+
+        List<CompoundTag> decorations = new ArrayList<>();
+        AABB bounds = new AABB(min.getX(), min.getY(), min.getZ(), max.getX() + 1, max.getY() + 1, max.getZ() + 1);
+        for (Entity entity : level.getEntities((Entity) null, bounds, ArenaSnapshot::isDecoration)) {
+            CompoundTag tag = new CompoundTag();
+            if (entity.save(tag)) {
+                decorations.add(tag);
+            }
+        }
+
+        ArenaSnapshot snapshot = new ArenaSnapshot(level.dimension().location().toString(), min, max,
+            sections, blockEntities, decorations);
+        snapshot.computeMissingHashes();
+        return snapshot;
+    }
+
+    /**
+     * Calcula o hash de cada seção (capturas antigas podem não tê-lo salvo)
+     */
+    private void computeMissingHashes() {
+        for (ArenaSection section : sections) {
+            if (!section.isHashed()) {
+                section.setHash(SectionHasher.hash(section::get,
+                    section.getSectionX(), section.getSectionY(), section.getSectionZ(), this));
+            }
+        }
+    }
+
+    private static boolean isInside(BlockPos pos, BlockPos min, BlockPos max) {
+        return pos.getX() >= min.getX() && pos.getX() <= max.getX()
+            && pos.getY() >= min.getY() && pos.getY() <= max.getY()
+            && pos.getZ() >= min.getZ() && pos.getZ() <= max.getZ();
+    }
+
+    // ================== PERSISTÊNCIA ==================
+
+    public void write(Path file) throws IOException {
+        CompoundTag root = new CompoundTag();
+        root.putInt("version", VERSION);
+        root.putString("dimension", dimension);
+        root.putLong("min", min.asLong());
+        root.putLong("max", max.asLong());
+
+        ListTag sectionList = new ListTag();
+        for (ArenaSection section : sections) {
+            sectionList.add(section.save());
+        }
+        root.put("sections", sectionList);
+
+        ListTag blockEntityList = new ListTag();
+        for (Map.Entry<Long, CompoundTag> entry : blockEntities.entrySet()) {
+            CompoundTag tag = new CompoundTag();
+            tag.putLong("pos", entry.getKey());
+            tag.put("data", entry.getValue());
+            blockEntityList.add(tag);
+        }
+        root.put("blockEntities", blockEntityList);
+
+        ListTag decorationList = new ListTag();
+        decorationList.addAll(decorations);
+        root.put("decorations", decorationList);
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        NbtIo.writeCompressed(root, temp);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static ArenaSnapshot read(Path file) throws IOException {
+        CompoundTag root = NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
+        int version = root.getInt("version");
+        if (version != VERSION) {
+            throw new IOException("Unsupported arena snapshot version " + version);
+        }
+
+        ListTag sectionList = root.getList("sections", Tag.TAG_COMPOUND);
+        List<ArenaSection> sections = new ArrayList<>(sectionList.size());
+        for (int i = 0; i < sectionList.size(); i++) {
+            sections.add(ArenaSection.load(sectionList.getCompound(i), BuiltInRegistries.BLOCK.asLookup()));
+        }
+
+        ListTag blockEntityList = root.getList("blockEntities", Tag.TAG_COMPOUND);
+        Map<Long, CompoundTag> blockEntities = new HashMap<>();
+        for (int i = 0; i < blockEntityList.size(); i++) {
+            CompoundTag tag = blockEntityList.getCompound(i);
+            blockEntities.put(tag.getLong("pos"), tag.getCompound("data"));
+        }
+
+        ListTag decorationList = root.getList("decorations", Tag.TAG_COMPOUND);
+        List<CompoundTag> decorations = new ArrayList<>(decorationList.size());
+        for (int i = 0; i < decorationList.size(); i++) {
+            decorations.add(decorationList.getCompound(i));
+        }
+
+        ArenaSnapshot snapshot = new ArenaSnapshot(root.getString("dimension"), BlockPos.of(root.getLong("min")),
+            BlockPos.of(root.getLong("max")), sections, blockEntities, decorations);
+        snapshot.computeMissingHashes();
+        return snapshot;
+    }
+}
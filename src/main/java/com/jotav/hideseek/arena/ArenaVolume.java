@@ -0,0 +1,128 @@
+package com.jotav.hideseek.arena;
+
+import net.minecraft.core.BlockPos;
+
+import java.util.List;
+
+/**
+ * Volume que compõe a arena: uma caixa ou um polígono no plano XZ extrudado entre duas alturas.
+ * Volumes são aplicados em ordem; os de subtração removem área dos anteriores.
+ * Salvo no hideseek_config.json via Gson.
+ */
+public class ArenaVolume {
+    public static final String BOX = "box";
+    public static final String POLYGON = "polygon";
+
+    private String name;
+    private String shape;
+    private boolean subtract;
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+    private int[] pointsX; // Vértices do polígono (apenas POLYGON)
+    private int[] pointsZ;
+
+    private ArenaVolume() {}
+
+    public static ArenaVolume box(String name, boolean subtract, BlockPos pos1, BlockPos pos2) {
+        ArenaVolume volume = new ArenaVolume();
+        volume.name = name;
+        volume.shape = BOX;
+        volume.subtract = subtract;
+        volume.minX = Math.min(pos1.getX(), pos2.getX());
+        volume.minY = Math.min(pos1.getY(), pos2.getY());
+        volume.minZ = Math.min(pos1.getZ(), pos2.getZ());
+        volume.maxX = Math.max(pos1.getX(), pos2.getX());
+        volume.maxY = Math.max(pos1.getY(), pos2.getY());
+        volume.maxZ = Math.max(pos1.getZ(), pos2.getZ());
+        return volume;
+    }
+
+    /**
+     * Polígono com vértices em coordenadas de bloco (x, z), extrudado de minY a maxY
+     */
+    public static ArenaVolume polygon(String name, boolean subtract, int minY, int maxY, List<int[]> points) {
+        ArenaVolume volume = new ArenaVolume();
+        volume.name = name;
+        volume.shape = POLYGON;
+        volume.subtract = subtract;
+        volume.minY = Math.min(minY, maxY);
+        volume.maxY = Math.max(minY, maxY);
+        volume.pointsX = new int[points.size()];
+        volume.pointsZ = new int[points.size()];
+        volume.minX = Integer.MAX_VALUE;
+        volume.minZ = Integer.MAX_VALUE;
+        volume.maxX = Integer.MIN_VALUE;
+        volume.maxZ = Integer.MIN_VALUE;
+        for (int i = 0; i < points.size(); i++) {
+            int[] point = points.get(i);
+            volume.pointsX[i] = point[0];
+            volume.pointsZ[i] = point[1];
+            volume.minX = Math.min(volume.minX, point[0]);
+            volume.minZ = Math.min(volume.minZ, point[1]);
+            volume.maxX = Math.max(volume.maxX, point[0]);
+            volume.maxZ = Math.max(volume.maxZ, point[1]);
+        }
+        return volume;
+    }
+
+    public String getName() { return name; }
+    public String getShape() { return shape; }
+    public boolean isSubtract() { return subtract; }
+    public boolean isPolygon() { return POLYGON.equals(shape); }
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+
+    /**
+     * Verifica se a coluna (x, z) está dentro da área do volume no plano XZ.
+     * Polígonos usam a regra par-ímpar entre os centros dos blocos; blocos sobre uma aresta contam como dentro.
+     */
+    public boolean containsColumn(int x, int z) {
+        if (x < minX || x > maxX || z < minZ || z > maxZ) {
+            return false;
+        }
+        if (!isPolygon()) {
+            return true;
+        }
+
+        boolean inside = false;
+        for (int i = 0, j = pointsX.length - 1; i < pointsX.length; j = i++) {
+            int xi = pointsX[i];
+            int zi = pointsZ[i];
+            int xj = pointsX[j];
+            int zj = pointsZ[j];
+            if (isOnSegment(x, z, xi, zi, xj, zj)) {
+                return true;
+            }
+            if ((zi > z) != (zj > z) && x < (double) (xj - xi) * (z - zi) / (zj - zi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static boolean isOnSegment(int x, int z, int x1, int z1, int x2, int z2) {
+        long cross = (long) (x2 - x1) * (z - z1) - (long) (z2 - z1) * (x - x1);
+        return cross == 0
+            && x >= Math.min(x1, x2) && x <= Math.max(x1, x2)
+            && z >= Math.min(z1, z2) && z <= Math.max(z1, z2);
+    }
+
+    /**
+     * Descrição curta para /hns arena volume list
+     */
+    public String describe() {
+        String mode = subtract ? "-" : "+";
+        if (isPolygon()) {
+            return String.format("%s %s polygon (%d vértices) y %d..%d", mode, name, pointsX.length, minY, maxY);
+        }
+        return String.format("%s %s box %d,%d,%d .. %d,%d,%d", mode, name, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jotav.hideseek.arena;
+
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Hash de 64 bits dos estados de uma seção, considerando apenas as posições
+ * dentro dos limites da captura. Usado tanto sobre a captura quanto sobre cópias
+ * das seções do mundo, então precisa ser puro e seguro entre threads.
+ */
+public final class SectionHasher {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Fonte de estados indexada por y << 8 | z << 4 | x
+     */
+    @FunctionalInterface
+    public interface StateSource {
+        BlockState get(int index);
+    }
+
+    private SectionHasher() {}
+
+    public static long hash(StateSource source, int sectionX, int sectionY, int sectionZ, ArenaSnapshot bounds) {
+        int baseX = sectionX << 4;
+        int baseY = sectionY << 4;
+        int baseZ = sectionZ << 4;
+
+        // Recorte local da seção que fica dentro dos limites
+        int fromX = Math.max(0, bounds.getMin().getX() - baseX);
+        int toX = Math.min(15, bounds.getMax().getX() - baseX);
+        int fromY = Math.max(0, bounds.getMin().getY() - baseY);
+        int toY = Math.min(15, bounds.getMax().getY() - baseY);
+        int fromZ = Math.max(0, bounds.getMin().getZ() - baseZ);
+        int toZ = Math.min(15, bounds.getMax().getZ() - baseZ);
+
+        long hash = SEED;
+        for (int y = fromY; y <= toY; y++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                for (int x = fromX; x <= toX; x++) {
+                    hash = mix(hash + Block.getId(source.get(y << 8 | z << 4 | x)));
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -266,8 +266,43 @@ public class ChatManager {
         broadcastToAll(server, message);
     }
     
+    // =================== MENSAGENS DE PROXIMIDADE ===================
+    
+    /**
+     * Dica "quente/frio" na action bar do Seeker
+     * @param distance distância até o Hider mais próximo, ou -1 se nenhum estiver no raio
+     */
+    public void proximityHint(ServerPlayer seeker, double distance, double radius) {
+        Component hint;
+        if (distance < 0) {
+            hint = Component.literal("❄ Frio").withStyle(ChatFormatting.AQUA);
+        } else if (distance < radius / 6) {
+            hint = Component.literal("🔥 Muito quente!").withStyle(ChatFormatting.RED, ChatFormatting.BOLD);
+        } else if (distance < radius / 3) {
+            hint = Component.literal("♨ Quente").withStyle(ChatFormatting.GOLD);
+        } else {
+            hint = Component.literal("☁ Morno").withStyle(ChatFormatting.YELLOW);
+        }
+        seeker.displayClientMessage(hint, true);
+    }
+    
+    public void hiderRevealed(MinecraftServer server, ServerPlayer hider) {
+        Component message = PREFIX_WARNING
+            .copy()
+            .append(Component.literal("✨ ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(hider.getName().getString()).withStyle(ChatFormatting.WHITE, ChatFormatting.BOLD))
+            .append(Component.literal(" ficou parado demais e está brilhando!").withStyle(ChatFormatting.YELLOW));
+        
+        broadcastToAll(server, message);
+    }
+    
     // =================== MENSAGENS DE ERRO/INFO ===================
     
+    public void outOfBounds(ServerPlayer player) {
+        Component message = Component.literal("⛔ Você atingiu o limite do mapa!").withStyle(ChatFormatting.RED, ChatFormatting.BOLD);
+        player.displayClientMessage(message, true);
+    }
+    
     public void configurationMissing(MinecraftServer server, String missingConfig) {
         Component message = PREFIX_ERROR
             .copy()
@@ -0,0 +1,147 @@
+package com.jotav.hideseek.commands;
+
+import com.jotav.hideseek.HideSeek;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Execução dos comandos de consulta pesados (estatísticas e leaderboards) fora da thread do servidor.
+ * A preparação roda na thread do servidor e tira uma cópia dos dados; a tarefa devolvida monta a
+ * resposta em uma thread de comandos, e a resposta é enviada de volta pela thread do servidor.
+ * Cada jogador tem um intervalo mínimo entre consultas, e uma consulta igual a uma ainda em
+ * andamento é recusada em vez de enfileirada.
+ */
+public class AsyncCommandExecutor {
+    private static AsyncCommandExecutor instance;
+
+    private static final int WORKER_THREADS = 2;
+    private static final int MAX_TRACKED_PLAYERS = 512;
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "HideSeek-Command");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Acessados apenas na thread do servidor
+    private final Map<UUID, Long> lastRequest = new HashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private boolean async = true;
+    private long cooldownMs = 1000;
+
+    private AsyncCommandExecutor() {}
+
+    public static AsyncCommandExecutor getInstance() {
+        if (instance == null) {
+            instance = new AsyncCommandExecutor();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean async, long cooldownMs) {
+        this.async = async;
+        this.cooldownMs = cooldownMs;
+        lastRequest.clear();
+    }
+
+    /**
+     * Executa uma consulta (chamado na thread do servidor, dentro do comando)
+     * @param key identifica a consulta para descartar repetições em andamento
+     * @param prepare roda na thread do servidor e devolve a tarefa que monta a resposta
+     *                (null se a preparação já respondeu, por exemplo com uma mensagem de erro)
+     */
+    public int submit(CommandSourceStack source, String key, Supplier<Supplier<Component>> prepare) {
+        if (!checkCooldown(source.getPlayer())) {
+            source.sendFailure(Component.literal("Aguarde um momento antes de fazer outra consulta."));
+            return 0;
+        }
+
+        String requestKey = source.getTextName() + "|" + key;
+        if (!inFlight.add(requestKey)) {
+            source.sendFailure(Component.literal("Essa consulta ainda está em andamento."));
+            return 0;
+        }
+
+        Supplier<Component> task;
+        try {
+            task = prepare.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(requestKey);
+            throw e;
+        }
+        if (task == null) {
+            inFlight.remove(requestKey);
+            return 0;
+        }
+
+        if (!async) {
+            inFlight.remove(requestKey);
+            send(source, render(key, task));
+            return 1;
+        }
+
+        MinecraftServer server = source.getServer();
+        workers.execute(() -> {
+            Component component = render(key, task);
+            server.execute(() -> {
+                inFlight.remove(requestKey);
+                send(source, component);
+            });
+        });
+        return 1;
+    }
+
+    /**
+     * Registra a consulta do jogador (false se ainda dentro do intervalo mínimo; console não tem limite)
+     */
+    private boolean checkCooldown(ServerPlayer player) {
+        if (player == null || cooldownMs <= 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Long last = lastRequest.get(player.getUUID());
+        if (last != null && now - last < cooldownMs) {
+            return false;
+        }
+        if (lastRequest.size() >= MAX_TRACKED_PLAYERS) {
+            lastRequest.values().removeIf(time -> now - time >= cooldownMs);
+        }
+        lastRequest.put(player.getUUID(), now);
+        return true;
+    }
+
+    /**
+     * Monta a resposta (null se a tarefa falhou)
+     */
+    private static Component render(String key, Supplier<Component> task) {
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            HideSeek.LOGGER.error("Failed to run command query {}", key, e);
+            return null;
+        }
+    }
+
+    private static void send(CommandSourceStack source, Component component) {
+        if (component != null) {
+            source.sendSuccess(() -> component, false);
+        } else {
+            source.sendFailure(Component.literal("Erro ao executar a consulta. Veja o log do servidor.").withStyle(ChatFormatting.RED));
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.jotav.hideseek.commands;
 
 import com.jotav.hideseek.Config;
+import com.jotav.hideseek.arena.ArenaManager;
+import com.jotav.hideseek.arena.ArenaPregenerator;
+import com.jotav.hideseek.arena.ArenaVolume;
 import com.jotav.hideseek.chat.ChatManager;
 import com.jotav.hideseek.config.GameConfig;
+import com.jotav.hideseek.effects.BoundaryEngine;
 import com.jotav.hideseek.game.GameManager;
+import com.jotav.hideseek.metrics.Metrics;
+import com.jotav.hideseek.replay.ReplayRecorder;
+import com.jotav.hideseek.replay.ReplayViewer;
 import com.jotav.hideseek.stats.StatsManager;
+import com.jotav.hideseek.stats.StatsWindow;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.minecraft.ChatFormatting;
@@ -18,10 +29,21 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
 /**
  * Comandos principais do Hide and Seek
  */
 public class HideSeekCommands {
+    private static final int MAX_LEADERBOARD_PAGE = 1000;
+    private static final int MAX_HISTORY_PAGE = 10000;
     
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("hns")
@@ -85,6 +107,12 @@ public class HideSeekCommands {
             .then(Commands.literal("stats")
                 .executes(HideSeekCommands::showOwnStats) // Suas próprias stats
                 .then(Commands.argument("player", StringArgumentType.string())
+                    .suggests((context, builder) -> {
+                        // Sugestões de jogadores conhecidos pelo prefixo digitado
+                        StatsManager.getInstance().suggestPlayerNames(builder.getRemaining(), 20)
+                            .forEach(builder::suggest);
+                        return builder.buildFuture();
+                    })
                     .executes(HideSeekCommands::showPlayerStats))) // Stats de outro jogador
             .then(Commands.literal("leaderboard")
                 .executes(HideSeekCommands::showDefaultLeaderboard) // Leaderboard padrão (vitórias)
@@ -101,9 +129,109 @@ public class HideSeekCommands {
                         builder.suggest("games");
                         return builder.buildFuture();
                     })
-                    .executes(HideSeekCommands::showCategoryLeaderboard)))
+                    .executes(context -> showLeaderboardPage(context, null, 1))
+                    // Temporada atual (com página), ou uma temporada encerrada (arquivo compactado)
+                    .then(Commands.literal("season")
+                        .executes(context -> showLeaderboardPage(context, StatsWindow.SEASON, 1))
+                        .then(Commands.literal("archive")
+                            .then(Commands.argument("number", IntegerArgumentType.integer(1))
+                                .executes(HideSeekCommands::showArchivedSeasonLeaderboard)))
+                        .then(Commands.argument("page", IntegerArgumentType.integer(1, MAX_LEADERBOARD_PAGE))
+                            .executes(context -> showLeaderboardPage(context, StatsWindow.SEASON,
+                                IntegerArgumentType.getInteger(context, "page")))))
+                    // Página do total (número) ou janela de tempo: today, week, month
+                    .then(Commands.argument("window", StringArgumentType.word())
+                        .suggests((context, builder) -> {
+                            for (StatsWindow window : StatsWindow.values()) {
+                                builder.suggest(window.getCommandName());
+                            }
+                            builder.suggest("2");
+                            return builder.buildFuture();
+                        })
+                        .executes(HideSeekCommands::showWindowOrPage)
+                        .then(Commands.argument("page", IntegerArgumentType.integer(1, MAX_LEADERBOARD_PAGE))
+                            .executes(HideSeekCommands::showWindowPage)))))
             .then(Commands.literal("globalstats")
                 .executes(HideSeekCommands::showGlobalStats))
+            .then(Commands.literal("history")
+                .executes(context -> showOwnHistory(context, 1)) // Seu próprio histórico
+                .then(Commands.literal("rebuild")
+                    .requires(source -> source.hasPermission(2))
+                    .executes(HideSeekCommands::rebuildFromHistory))
+                // Registrado antes de <jogador>: um número é lido como página (nomes só com dígitos vão entre aspas)
+                .then(Commands.argument("page", IntegerArgumentType.integer(1, MAX_HISTORY_PAGE))
+                    .executes(context -> showOwnHistory(context, IntegerArgumentType.getInteger(context, "page"))))
+                .then(Commands.argument("player", StringArgumentType.string())
+                    .suggests((context, builder) -> {
+                        StatsManager.getInstance().suggestPlayerNames(builder.getRemaining(), 20)
+                            .forEach(builder::suggest);
+                        return builder.buildFuture();
+                    })
+                    .executes(context -> showPlayerHistory(context, 1))
+                    .then(Commands.argument("page", IntegerArgumentType.integer(1, MAX_HISTORY_PAGE))
+                        .executes(context -> showPlayerHistory(context, IntegerArgumentType.getInteger(context, "page"))))))
+            .then(Commands.literal("season")
+                .executes(HideSeekCommands::showSeason)
+                .then(Commands.literal("rollover")
+                    .requires(source -> source.hasPermission(2))
+                    .executes(HideSeekCommands::rolloverSeason)))
+            
+            // Diagnóstico de desempenho
+            .then(Commands.literal("metrics")
+                .requires(source -> source.hasPermission(2))
+                .executes(HideSeekCommands::showMetrics)
+                .then(Commands.literal("enable")
+                    .executes(context -> setMetricsEnabled(context, true)))
+                .then(Commands.literal("disable")
+                    .executes(context -> setMetricsEnabled(context, false)))
+                .then(Commands.literal("reset")
+                    .executes(HideSeekCommands::resetMetrics)))
+            
+            // Captura e restauração da arena
+            .then(Commands.literal("arena")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("snapshot")
+                    .executes(HideSeekCommands::snapshotArena))
+                .then(Commands.literal("restore")
+                    .executes(HideSeekCommands::restoreArena))
+                .then(Commands.literal("status")
+                    .executes(HideSeekCommands::arenaStatus))
+                .then(Commands.literal("pregen")
+                    .executes(HideSeekCommands::pregenArena)
+                    .then(Commands.literal("cancel")
+                        .executes(HideSeekCommands::cancelPregenArena)))
+                .then(Commands.literal("volume")
+                    .then(Commands.literal("add")
+                        .then(volumeArguments(false)))
+                    .then(Commands.literal("subtract")
+                        .then(volumeArguments(true)))
+                    .then(Commands.literal("remove")
+                        .then(Commands.argument("name", StringArgumentType.word())
+                            .executes(HideSeekCommands::removeArenaVolume)))
+                    .then(Commands.literal("list")
+                        .executes(HideSeekCommands::listArenaVolumes))))
+            
+            // Replays de rodadas
+            .then(Commands.literal("replay")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("list")
+                    .executes(HideSeekCommands::listReplays))
+                .then(Commands.literal("play")
+                    .then(Commands.argument("round", LongArgumentType.longArg(0))
+                        .suggests((context, builder) -> {
+                            ReplayRecorder.getInstance().listRecordings().stream()
+                                .limit(20)
+                                .forEach(round -> builder.suggest(String.valueOf(round)));
+                            return builder.buildFuture();
+                        })
+                        .executes(context -> playReplay(context, 1.0))
+                        .then(Commands.argument("speed", DoubleArgumentType.doubleArg(ReplayViewer.MIN_SPEED, ReplayViewer.MAX_SPEED))
+                            .executes(context -> playReplay(context, DoubleArgumentType.getDouble(context, "speed"))))))
+                .then(Commands.literal("speed")
+                    .then(Commands.argument("speed", DoubleArgumentType.doubleArg(ReplayViewer.MIN_SPEED, ReplayViewer.MAX_SPEED))
+                        .executes(HideSeekCommands::setReplaySpeed)))
+                .then(Commands.literal("stop")
+                    .executes(HideSeekCommands::stopReplay)))
         );
     }
     
@@ -144,6 +272,8 @@ public class HideSeekCommands {
             // Verificar e enviar mensagem específica de erro
             if (gameManager.getCurrentState() != com.jotav.hideseek.game.GameState.LOBBY) {
                 context.getSource().sendFailure(Component.literal("Não é possível iniciar: jogo já em andamento."));
+            } else if (ArenaManager.getInstance().isRestoring()) {
+                context.getSource().sendFailure(Component.literal("Não é possível iniciar: a arena ainda está sendo restaurada."));
             } else {
                 int current = gameManager.getPlayerManager().getLobbyCount();
                 int required = Config.MIN_PLAYERS.get();
@@ -342,7 +472,11 @@ public class HideSeekCommands {
         ServerPlayer player = context.getSource().getPlayerOrException();
         StatsManager statsManager = StatsManager.getInstance();
         
-        com.jotav.hideseek.stats.PlayerStats stats = statsManager.getPlayerStats(player);
+        com.jotav.hideseek.stats.PlayerStats stats = statsManager.getPlayerStatsIfPresent(player.getUUID());
+        if (stats == null) {
+            context.getSource().sendFailure(Component.literal("Você ainda não jogou nenhuma partida."));
+            return 0;
+        }
         context.getSource().sendSuccess(() -> stats.getDetailedComponent(), false);
         
         return 1;
@@ -353,38 +487,98 @@ public class HideSeekCommands {
      */
     private static int showPlayerStats(CommandContext<CommandSourceStack> context) {
         String playerName = StringArgumentType.getString(context, "player");
-        StatsManager statsManager = StatsManager.getInstance();
-        
-        com.jotav.hideseek.stats.PlayerStats stats = statsManager.findPlayerByName(playerName);
-        if (stats == null) {
-            context.getSource().sendFailure(Component.literal("Jogador '" + playerName + "' não encontrado nas estatísticas."));
-            return 0;
-        }
+        CommandSourceStack source = context.getSource();
         
-        context.getSource().sendSuccess(() -> stats.getDetailedComponent(), false);
-        return 1;
+        return AsyncCommandExecutor.getInstance().submit(source, "stats/" + playerName.toLowerCase(), () -> {
+            Supplier<Component> task = StatsManager.getInstance().preparePlayerStats(playerName);
+            if (task == null) {
+                source.sendFailure(Component.literal("Jogador '" + playerName + "' não encontrado nas estatísticas."));
+            }
+            return task;
+        });
     }
     
     /**
      * Mostra leaderboard padrão (vitórias totais)
      */
     private static int showDefaultLeaderboard(CommandContext<CommandSourceStack> context) {
-        StatsManager statsManager = StatsManager.getInstance();
+        return AsyncCommandExecutor.getInstance().submit(context.getSource(), "leaderboard/" + StatsManager.RankingType.GAMES_WON + "/1",
+            () -> StatsManager.getInstance().prepareLeaderboardPage(StatsManager.RankingType.GAMES_WON, null, 1));
+    }
+    
+    /**
+     * Segundo argumento do leaderboard: número da página do total ou nome da janela de tempo
+     */
+    private static int showWindowOrPage(CommandContext<CommandSourceStack> context) {
+        String argument = StringArgumentType.getString(context, "window");
+        if (argument.matches("\\d{1,5}")) {
+            int page = Math.max(1, Math.min(MAX_LEADERBOARD_PAGE, Integer.parseInt(argument)));
+            return showLeaderboardPage(context, null, page);
+        }
+        StatsWindow window = StatsWindow.fromCommandName(argument);
+        if (window == null) {
+            context.getSource().sendFailure(Component.literal("Período inválido. Use: today, week, month, season ou um número de página"));
+            return 0;
+        }
+        return showLeaderboardPage(context, window, 1);
+    }
+    
+    /**
+     * Página de um leaderboard por janela de tempo
+     */
+    private static int showWindowPage(CommandContext<CommandSourceStack> context) {
+        StatsWindow window = StatsWindow.fromCommandName(StringArgumentType.getString(context, "window"));
+        if (window == null) {
+            context.getSource().sendFailure(Component.literal("Período inválido. Use: today, week, month, season"));
+            return 0;
+        }
+        return showLeaderboardPage(context, window, IntegerArgumentType.getInteger(context, "page"));
+    }
+    
+    /**
+     * Mostra uma página do leaderboard de uma categoria (window null = total)
+     */
+    private static int showLeaderboardPage(CommandContext<CommandSourceStack> context, StatsWindow window, int page) {
+        StatsManager.RankingType rankingType = parseRankingType(context);
+        if (rankingType == null) {
+            return 0;
+        }
         
-        Component leaderboard = statsManager.getLeaderboardComponent(StatsManager.RankingType.GAMES_WON, 10);
-        context.getSource().sendSuccess(() -> leaderboard, false);
+        CommandSourceStack source = context.getSource();
+        return AsyncCommandExecutor.getInstance().submit(source, "leaderboard/" + rankingType + "/" + window + "/" + page, () -> {
+            Supplier<Component> task = StatsManager.getInstance().prepareLeaderboardPage(rankingType, window, page);
+            if (task == null) {
+                source.sendFailure(Component.literal("Essa categoria só existe no total. Por período use: wins, hider, seeker, captures, games"));
+            }
+            return task;
+        });
+    }
+    
+    /**
+     * Mostra leaderboard de uma temporada encerrada
+     */
+    private static int showArchivedSeasonLeaderboard(CommandContext<CommandSourceStack> context) {
+        StatsManager.RankingType rankingType = parseRankingType(context);
+        if (rankingType == null) {
+            return 0;
+        }
+        if (StatsManager.windowMetricOf(rankingType) == null) {
+            context.getSource().sendFailure(Component.literal("Essa categoria só existe no total. Por temporada use: wins, hider, seeker, captures, games"));
+            return 0;
+        }
         
-        return 1;
+        int seasonNumber = IntegerArgumentType.getInteger(context, "number");
+        return AsyncCommandExecutor.getInstance().submit(context.getSource(), "season/" + rankingType + "/" + seasonNumber,
+            () -> StatsManager.getInstance().prepareSeasonArchiveLeaderboard(rankingType, seasonNumber, 10));
     }
     
     /**
-     * Mostra leaderboard por categoria específica
+     * Categoria do leaderboard pelo argumento do comando (null e mensagem de erro se inválida)
      */
-    private static int showCategoryLeaderboard(CommandContext<CommandSourceStack> context) {
+    private static StatsManager.RankingType parseRankingType(CommandContext<CommandSourceStack> context) {
         String category = StringArgumentType.getString(context, "category").toLowerCase();
-        StatsManager statsManager = StatsManager.getInstance();
         
-        StatsManager.RankingType rankingType = switch (category) {
+        return switch (category) {
             case "wins" -> StatsManager.RankingType.GAMES_WON;
             case "winrate" -> StatsManager.RankingType.WIN_RATE;
             case "hider" -> StatsManager.RankingType.HIDER_WINS;
@@ -398,26 +592,389 @@ public class HideSeekCommands {
                 yield null;
             }
         };
+    }
+    
+    /**
+     * Mostra a temporada atual de estatísticas
+     */
+    private static int showSeason(CommandContext<CommandSourceStack> context) {
+        Component season = StatsManager.getInstance().getSeasonComponent();
+        context.getSource().sendSuccess(() -> season, false);
+        return 1;
+    }
+    
+    /**
+     * Encerra a temporada atual e arquiva seus totais
+     */
+    private static int rolloverSeason(CommandContext<CommandSourceStack> context) {
+        Component result = StatsManager.getInstance().forceSeasonRollover();
+        context.getSource().sendSuccess(() -> result, true);
+        return 1;
+    }
+    
+    /**
+     * Mostra estatísticas globais do servidor
+     */
+    private static int showGlobalStats(CommandContext<CommandSourceStack> context) {
+        // Agregados em memória: montado na preparação, passa pelo executor só pelo limite de consultas
+        return AsyncCommandExecutor.getInstance().submit(context.getSource(), "globalstats", () -> {
+            Component globalStats = StatsManager.getInstance().getGlobalStatsComponent();
+            return () -> globalStats;
+        });
+    }
+    
+    /**
+     * Mostra as últimas rodadas do próprio jogador
+     */
+    private static int showOwnHistory(CommandContext<CommandSourceStack> context, int page) throws CommandSyntaxException {
+        ServerPlayer player = context.getSource().getPlayerOrException();
+        return AsyncCommandExecutor.getInstance().submit(context.getSource(), "history/" + player.getUUID() + "/" + page,
+            () -> StatsManager.getInstance().prepareHistory(player.getUUID(), player.getName().getString(), page));
+    }
+    
+    /**
+     * Mostra uma página das rodadas de um jogador
+     */
+    private static int showPlayerHistory(CommandContext<CommandSourceStack> context, int page) {
+        String playerName = StringArgumentType.getString(context, "player");
+        CommandSourceStack source = context.getSource();
         
-        if (rankingType == null) {
+        return AsyncCommandExecutor.getInstance().submit(source, "history/" + playerName.toLowerCase(Locale.ROOT) + "/" + page, () -> {
+            Supplier<Component> task = StatsManager.getInstance().prepareHistory(playerName, page);
+            if (task == null) {
+                source.sendFailure(Component.literal("Jogador '" + playerName + "' não encontrado nas estatísticas."));
+            }
+            return task;
+        });
+    }
+    
+    /**
+     * Recalcula as estatísticas globais a partir do histórico de rodadas
+     */
+    private static int rebuildFromHistory(CommandContext<CommandSourceStack> context) {
+        BooleanSupplier idle = () -> GameManager.getInstance().getCurrentState() == com.jotav.hideseek.game.GameState.LOBBY;
+        if (!idle.getAsBoolean()) {
+            context.getSource().sendFailure(Component.literal("Não é possível recalcular as estatísticas durante uma rodada."));
+            return 0;
+        }
+        CommandSourceStack source = context.getSource();
+        return AsyncCommandExecutor.getInstance().submit(source, "history/rebuild",
+            () -> StatsManager.getInstance().prepareAggregatesRebuild(source.getServer(), idle));
+    }
+    
+    // ================== COMANDOS DE DIAGNÓSTICO ==================
+    
+    /**
+     * Mostra p50/p99/máximo de cada seção instrumentada
+     */
+    private static int showMetrics(CommandContext<CommandSourceStack> context) {
+        Component summary = Metrics.getSummaryComponent();
+        context.getSource().sendSuccess(() -> summary, false);
+        return 1;
+    }
+    
+    /**
+     * Ativa ou desativa a coleta de métricas
+     */
+    private static int setMetricsEnabled(CommandContext<CommandSourceStack> context, boolean enabled) {
+        Metrics.setEnabled(enabled);
+        context.getSource().sendSuccess(() -> Component.literal(
+            enabled ? "Métricas ativadas." : "Métricas desativadas."), true);
+        return 1;
+    }
+    
+    /**
+     * Zera os histogramas de métricas
+     */
+    private static int resetMetrics(CommandContext<CommandSourceStack> context) {
+        Metrics.reset();
+        context.getSource().sendSuccess(() -> Component.literal("Métricas zeradas."), true);
+        return 1;
+    }
+    
+    // ================== COMANDOS DA ARENA ==================
+    
+    /**
+     * Captura o estado atual da arena (dimensão de quem executa o comando)
+     */
+    private static int snapshotArena(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        int chunks = ArenaManager.getInstance().requestCapture(source.getLevel(), snapshot ->
+            source.sendSuccess(() -> Component.literal(String.format(
+                "✅ Arena capturada: %d seções, %d block entities, %d decorações",
+                snapshot.getSections().size(), snapshot.getBlockEntities().size(), snapshot.getDecorations().size())), true));
+        if (chunks == 0) {
+            source.sendFailure(Component.literal("Limites do mapa não configurados! Use /hns set mapboundary"));
+            return 0;
+        }
+        if (chunks < 0) {
+            source.sendFailure(Component.literal("Já existe uma captura da arena em andamento."));
             return 0;
         }
         
-        Component leaderboard = statsManager.getLeaderboardComponent(rankingType, 10);
-        context.getSource().sendSuccess(() -> leaderboard, false);
+        source.sendSuccess(() -> Component.literal(String.format(
+            "Carregando %d chunks da arena para a captura...", chunks)), false);
+        return 1;
+    }
+    
+    /**
+     * Restaura a arena manualmente
+     */
+    private static int restoreArena(CommandContext<CommandSourceStack> context) {
+        ArenaManager arenaManager = ArenaManager.getInstance();
+        if (!arenaManager.hasSnapshot()) {
+            context.getSource().sendFailure(Component.literal("Nenhuma captura da arena. Use /hns arena snapshot"));
+            return 0;
+        }
+        if (GameManager.getInstance().getCurrentState() != com.jotav.hideseek.game.GameState.LOBBY) {
+            context.getSource().sendFailure(Component.literal("Não é possível restaurar a arena durante uma rodada."));
+            return 0;
+        }
         
+        arenaManager.requestRestore();
+        context.getSource().sendSuccess(() -> Component.literal("Restauração da arena iniciada."), true);
         return 1;
     }
     
     /**
-     * Mostra estatísticas globais do servidor
+     * Mostra se há captura e o progresso da restauração
      */
-    private static int showGlobalStats(CommandContext<CommandSourceStack> context) {
-        StatsManager statsManager = StatsManager.getInstance();
+    private static int arenaStatus(CommandContext<CommandSourceStack> context) {
+        ArenaManager arenaManager = ArenaManager.getInstance();
+        double progress = arenaManager.getRestoreProgress();
+        
+        String status;
+        if (!arenaManager.hasSnapshot()) {
+            status = "Nenhuma captura da arena.";
+        } else if (progress >= 0) {
+            status = String.format("Restaurando arena: %.0f%%", progress * 100);
+        } else if (arenaManager.isRestoring()) {
+            status = "Restauração da arena agendada.";
+        } else {
+            status = "Arena capturada, nenhuma restauração em andamento.";
+        }
+        double pregenProgress = ArenaPregenerator.getInstance().getProgress();
+        String fullStatus = pregenProgress >= 0
+            ? status + String.format("\nPré-gerando chunks da arena: %.0f%%", pregenProgress * 100)
+            : status;
+        context.getSource().sendSuccess(() -> Component.literal(fullStatus), false);
+        return 1;
+    }
+    
+    /**
+     * Gera/carrega os chunks da arena em segundo plano
+     */
+    private static int pregenArena(CommandContext<CommandSourceStack> context) {
+        ArenaPregenerator pregenerator = ArenaPregenerator.getInstance();
+        if (pregenerator.isRunning()) {
+            context.getSource().sendFailure(Component.literal("A pré-geração da arena já está em andamento."));
+            return 0;
+        }
+        if (!pregenerator.start(context.getSource())) {
+            context.getSource().sendFailure(Component.literal("Nenhuma arena configurada! Use /hns set mapboundary"));
+            return 0;
+        }
         
-        Component globalStats = statsManager.getGlobalStatsComponent();
-        context.getSource().sendSuccess(() -> globalStats, false);
+        context.getSource().sendSuccess(() -> Component.literal(
+            "Pré-geração da arena iniciada (pausa durante as rodadas)."), true);
+        return 1;
+    }
+    
+    private static int cancelPregenArena(CommandContext<CommandSourceStack> context) {
+        if (!ArenaPregenerator.getInstance().cancel()) {
+            context.getSource().sendFailure(Component.literal("Nenhuma pré-geração em andamento."));
+            return 0;
+        }
+        context.getSource().sendSuccess(() -> Component.literal("Pré-geração da arena cancelada."), true);
+        return 1;
+    }
+    
+    /**
+     * Argumentos de /hns arena volume add|subtract <nome> box|polygon ...
+     */
+    private static RequiredArgumentBuilder<CommandSourceStack, String> volumeArguments(boolean subtract) {
+        return Commands.argument("name", StringArgumentType.word())
+            .then(Commands.literal("box")
+                .then(Commands.argument("pos1", BlockPosArgument.blockPos())
+                    .then(Commands.argument("pos2", BlockPosArgument.blockPos())
+                        .executes(context -> addBoxVolume(context, subtract)))))
+            .then(Commands.literal("polygon")
+                .then(Commands.argument("min_y", IntegerArgumentType.integer())
+                    .then(Commands.argument("max_y", IntegerArgumentType.integer())
+                        .then(Commands.argument("points", StringArgumentType.greedyString())
+                            .executes(context -> addPolygonVolume(context, subtract))))));
+    }
+    
+    private static int addBoxVolume(CommandContext<CommandSourceStack> context, boolean subtract) throws CommandSyntaxException {
+        String name = StringArgumentType.getString(context, "name");
+        BlockPos pos1 = BlockPosArgument.getBlockPos(context, "pos1");
+        BlockPos pos2 = BlockPosArgument.getBlockPos(context, "pos2");
+        return addArenaVolume(context, ArenaVolume.box(name, subtract, pos1, pos2));
+    }
+    
+    /**
+     * Polígono no formato "x,z x,z x,z ..." (mínimo de 3 vértices)
+     */
+    private static int addPolygonVolume(CommandContext<CommandSourceStack> context, boolean subtract) {
+        String name = StringArgumentType.getString(context, "name");
+        int minY = IntegerArgumentType.getInteger(context, "min_y");
+        int maxY = IntegerArgumentType.getInteger(context, "max_y");
+        
+        List<int[]> points = new ArrayList<>();
+        for (String token : StringArgumentType.getString(context, "points").trim().split("\\s+")) {
+            String[] parts = token.split(",");
+            if (parts.length != 2) {
+                context.getSource().sendFailure(Component.literal("Vértice inválido: " + token + " (use x,z)"));
+                return 0;
+            }
+            try {
+                points.add(new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())});
+            } catch (NumberFormatException e) {
+                context.getSource().sendFailure(Component.literal("Vértice inválido: " + token + " (use x,z)"));
+                return 0;
+            }
+        }
+        if (points.size() < 3) {
+            context.getSource().sendFailure(Component.literal("Um polígono precisa de pelo menos 3 vértices."));
+            return 0;
+        }
+        return addArenaVolume(context, ArenaVolume.polygon(name, subtract, minY, maxY, points));
+    }
+    
+    private static int addArenaVolume(CommandContext<CommandSourceStack> context, ArenaVolume volume) {
+        if (GameManager.getInstance().getCurrentState() != com.jotav.hideseek.game.GameState.LOBBY) {
+            context.getSource().sendFailure(Component.literal("Não é possível alterar a arena durante uma rodada."));
+            return 0;
+        }
+        if (!GameConfig.getInstance().addArenaVolume(volume)) {
+            context.getSource().sendFailure(Component.literal("Já existe um volume chamado " + volume.getName()));
+            return 0;
+        }
+        BoundaryEngine.getInstance().invalidate();
         
+        String boundary = GameConfig.getInstance().describeArenaBoundary();
+        context.getSource().sendSuccess(() -> Component.literal("✅ Volume adicionado: " + volume.describe()
+            + "\nLimite em vigor: " + boundary), true);
+        return 1;
+    }
+    
+    private static int removeArenaVolume(CommandContext<CommandSourceStack> context) {
+        String name = StringArgumentType.getString(context, "name");
+        if (GameManager.getInstance().getCurrentState() != com.jotav.hideseek.game.GameState.LOBBY) {
+            context.getSource().sendFailure(Component.literal("Não é possível alterar a arena durante uma rodada."));
+            return 0;
+        }
+        if (!GameConfig.getInstance().removeArenaVolume(name)) {
+            context.getSource().sendFailure(Component.literal("Volume não encontrado: " + name));
+            return 0;
+        }
+        BoundaryEngine.getInstance().invalidate();
+        
+        String boundary = GameConfig.getInstance().describeArenaBoundary();
+        context.getSource().sendSuccess(() -> Component.literal("Volume removido: " + name
+            + "\nLimite em vigor: " + boundary), true);
+        return 1;
+    }
+    
+    /**
+     * Lista os volumes na ordem em que são aplicados
+     */
+    private static int listArenaVolumes(CommandContext<CommandSourceStack> context) {
+        List<ArenaVolume> volumes = GameConfig.getInstance().getArenaVolumes();
+        if (volumes.isEmpty()) {
+            context.getSource().sendSuccess(() -> Component.literal(
+                "Nenhum volume definido; a arena usa o limite simples (/hns set mapboundary)."), false);
+            return 1;
+        }
+        
+        StringBuilder message = new StringBuilder("Volumes da arena (aplicados em ordem):");
+        for (ArenaVolume volume : volumes) {
+            message.append("\n  ").append(volume.describe());
+        }
+        context.getSource().sendSuccess(() -> Component.literal(message.toString()), false);
+        return 1;
+    }
+    
+    // ================== COMANDOS DE REPLAY ==================
+    
+    /**
+     * Lista as rodadas gravadas mais recentes
+     */
+    private static int listReplays(CommandContext<CommandSourceStack> context) {
+        List<Long> rounds = ReplayRecorder.getInstance().listRecordings();
+        if (rounds.isEmpty()) {
+            context.getSource().sendFailure(Component.literal("Nenhum replay gravado."));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(() -> Component.literal("=== Replays gravados ===").withStyle(ChatFormatting.GOLD), false);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM HH:mm:ss");
+        for (Long round : rounds.subList(0, Math.min(10, rounds.size()))) {
+            String when = Instant.ofEpochMilli(round).atZone(ZoneId.systemDefault()).format(formatter);
+            context.getSource().sendSuccess(() -> Component.literal(round + " ").withStyle(ChatFormatting.YELLOW)
+                .append(Component.literal("(" + when + ")").withStyle(ChatFormatting.GRAY)), false);
+        }
+        return 1;
+    }
+    
+    /**
+     * Carrega o replay em segundo plano e inicia a reprodução para o jogador
+     */
+    private static int playReplay(CommandContext<CommandSourceStack> context, double speed) throws CommandSyntaxException {
+        ServerPlayer viewer = context.getSource().getPlayerOrException();
+        long round = LongArgumentType.getLong(context, "round");
+        GameManager gameManager = GameManager.getInstance();
+        
+        // Participantes ativos não podem assistir (as entidades falsas revelariam posições)
+        if (gameManager.getPlayerManager().getHiders().contains(viewer) || gameManager.getPlayerManager().getSeekers().contains(viewer)) {
+            context.getSource().sendFailure(Component.literal("Você não pode assistir replays enquanto participa de uma rodada."));
+            return 0;
+        }
+        
+        context.getSource().sendSuccess(() -> Component.literal("Carregando replay da rodada " + round + "..."), false);
+        ReplayRecorder.getInstance().load(round).whenComplete((data, error) -> viewer.server.execute(() -> {
+            if (error != null) {
+                viewer.sendSystemMessage(Component.literal("Replay da rodada " + round + " não encontrado ou inválido.").withStyle(ChatFormatting.RED));
+                return;
+            }
+            String dimension = viewer.level().dimension().location().toString();
+            if (!dimension.equals(data.getDimension())) {
+                viewer.sendSystemMessage(Component.literal("Este replay foi gravado em " + data.getDimension() + ".").withStyle(ChatFormatting.RED));
+                return;
+            }
+            ReplayViewer.getInstance().start(viewer, data, speed);
+            viewer.sendSystemMessage(Component.literal(String.format("▶ Reproduzindo rodada %d (%d participantes, %.2fx)",
+                round, data.getParticipants().size(), speed)).withStyle(ChatFormatting.GREEN));
+        }));
+        return 1;
+    }
+    
+    /**
+     * Altera a velocidade da reprodução atual
+     */
+    private static int setReplaySpeed(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ServerPlayer viewer = context.getSource().getPlayerOrException();
+        double speed = DoubleArgumentType.getDouble(context, "speed");
+        
+        if (!ReplayViewer.getInstance().setSpeed(viewer, speed)) {
+            context.getSource().sendFailure(Component.literal("Você não está assistindo um replay."));
+            return 0;
+        }
+        context.getSource().sendSuccess(() -> Component.literal(String.format("Velocidade do replay: %.2fx", speed)), false);
+        return 1;
+    }
+    
+    /**
+     * Encerra a reprodução atual
+     */
+    private static int stopReplay(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ServerPlayer viewer = context.getSource().getPlayerOrException();
+        
+        if (!ReplayViewer.getInstance().stop(viewer)) {
+            context.getSource().sendFailure(Component.literal("Você não está assistindo um replay."));
+            return 0;
+        }
+        context.getSource().sendSuccess(() -> Component.literal("Replay encerrado."), false);
         return 1;
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,8 @@ package com.jotav.hideseek.config;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.arena.ArenaRegion;
+import com.jotav.hideseek.arena.ArenaVolume;
 import com.jotav.hideseek.util.ConfigHelper;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
@@ -12,6 +14,9 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Configurações persistentes do jogo Hide and Seek
@@ -23,6 +28,7 @@ public class GameConfig {
     
     // Dados de configuração
     private ConfigData data = new ConfigData();
+    private ArenaRegion arenaRegion; // Compilada a partir dos volumes (ou do limite simples)
     
     private GameConfig() {
         this.configFile = Paths.get("hideseek_config.json");
@@ -30,7 +36,7 @@ public class GameConfig {
         loadConfig();
     }
     
-    public static GameConfig getInstance() {
+    public static synchronized GameConfig getInstance() { // Também chamado pelo DataPreloader
         if (instance == null) {
             instance = new GameConfig();
         }
@@ -43,8 +49,9 @@ public class GameConfig {
     private static class ConfigData {
         public String lobbySpawn = "";
         public String seekerSpawn = "";
-        public String mapBoundaryMin = "";
+        public String mapBoundaryMin = ""; // Limite simples (/hns set mapboundary); não muda com os volumes
         public String mapBoundaryMax = "";
+        public List<ArenaVolume> arenaVolumes = new ArrayList<>(); // Vazio = limite simples
         
         // Configurações de tempo (em segundos)
         public int hideTime = 60;      // Tempo da fase HIDING
@@ -66,13 +73,122 @@ public class GameConfig {
         HideSeek.LOGGER.info("Seeker spawn saved: {}", data.seekerSpawn);
     }
     
+    /**
+     * Define a arena como uma caixa simples (remove os volumes definidos)
+     */
     public void setMapBoundary(BlockPos min, BlockPos max) {
         data.mapBoundaryMin = ConfigHelper.simplePositionToString(min);
         data.mapBoundaryMax = ConfigHelper.simplePositionToString(max);
+        if (!data.arenaVolumes.isEmpty()) {
+            data.arenaVolumes.clear();
+            HideSeek.LOGGER.info("Arena volumes cleared by simple map boundary");
+        }
+        compileArenaRegion();
         saveConfig();
         HideSeek.LOGGER.info("Map boundary saved: {} to {}", data.mapBoundaryMin, data.mapBoundaryMax);
     }
     
+    // ================== VOLUMES DA ARENA ==================
+    
+    /**
+     * Adiciona um volume à arena
+     * @return false se já existir um volume com o mesmo nome
+     */
+    public boolean addArenaVolume(ArenaVolume volume) {
+        for (ArenaVolume existing : data.arenaVolumes) {
+            if (existing.getName().equalsIgnoreCase(volume.getName())) {
+                return false;
+            }
+        }
+        data.arenaVolumes.add(volume);
+        onArenaVolumesChanged();
+        HideSeek.LOGGER.info("Arena volume added: {}", volume.describe());
+        return true;
+    }
+    
+    /**
+     * Remove um volume da arena pelo nome
+     */
+    public boolean removeArenaVolume(String name) {
+        boolean removed = data.arenaVolumes.removeIf(volume -> volume.getName().equalsIgnoreCase(name));
+        if (removed) {
+            onArenaVolumesChanged();
+            HideSeek.LOGGER.info("Arena volume removed: {}", name);
+        }
+        return removed;
+    }
+    
+    public List<ArenaVolume> getArenaVolumes() {
+        return Collections.unmodifiableList(data.arenaVolumes);
+    }
+    
+    /**
+     * Forma compilada da arena, ou null se não houver limites configurados
+     */
+    public ArenaRegion getArenaRegion() {
+        return arenaRegion;
+    }
+    
+    /**
+     * Recompila a região; sem volumes, volta a valer o limite simples (se houver)
+     */
+    private void onArenaVolumesChanged() {
+        compileArenaRegion();
+        saveConfig();
+        HideSeek.LOGGER.info("Arena boundary in effect: {}", describeArenaBoundary());
+    }
+    
+    /**
+     * Descreve o limite da arena em vigor (mostrado ao administrador depois de mudar os volumes)
+     */
+    public String describeArenaBoundary() {
+        if (!data.arenaVolumes.isEmpty()) {
+            if (arenaRegion == null) {
+                return "nenhum (os volumes só removem área)";
+            }
+            return data.arenaVolumes.size() + " volume(s), dentro de "
+                + ConfigHelper.simplePositionToString(arenaRegion.getMin()) + " a "
+                + ConfigHelper.simplePositionToString(arenaRegion.getMax());
+        }
+        if (arenaRegion == null) {
+            return "nenhum (/hns set mapboundary <pos1> <pos2>)";
+        }
+        return "caixa simples de " + data.mapBoundaryMin + " a " + data.mapBoundaryMax;
+    }
+    
+    /**
+     * Versões anteriores gravavam a caixa envolvente dos volumes no limite simples; essa caixa
+     * não é um limite escolhido pelo administrador e não deve valer quando os volumes forem removidos
+     */
+    private void forgetDerivedBoundary() {
+        if (data.arenaVolumes.isEmpty() || arenaRegion == null) {
+            return;
+        }
+        if (data.mapBoundaryMin.equals(ConfigHelper.simplePositionToString(arenaRegion.getMin()))
+                && data.mapBoundaryMax.equals(ConfigHelper.simplePositionToString(arenaRegion.getMax()))) {
+            data.mapBoundaryMin = "";
+            data.mapBoundaryMax = "";
+            saveConfig();
+            HideSeek.LOGGER.info("Cleared map boundary derived from arena volumes");
+        }
+    }
+    
+    private void compileArenaRegion() {
+        if (!data.arenaVolumes.isEmpty()) {
+            long startNanos = System.nanoTime();
+            arenaRegion = ArenaRegion.compile(data.arenaVolumes);
+            if (arenaRegion != null) {
+                HideSeek.LOGGER.info("Compiled arena region: {} volumes, {} height bands, {} chunk columns in {} ms",
+                    data.arenaVolumes.size(), arenaRegion.getBandCount(), arenaRegion.getUsedChunkCount(),
+                    (System.nanoTime() - startNanos) / 1_000_000);
+            }
+            return;
+        }
+        BlockPos min = ConfigHelper.stringToSimplePosition(data.mapBoundaryMin);
+        BlockPos max = ConfigHelper.stringToSimplePosition(data.mapBoundaryMax);
+        arenaRegion = min != null && max != null ? ArenaRegion.box(min, max) : null;
+    }
+    
     // ================== MÉTODOS DE CONFIGURAÇÃO DE TEMPO ==================
     
     public boolean setHideTime(int seconds) {
@@ -123,12 +239,15 @@ public class GameConfig {
         return data.seekerSpawn;
     }
     
+    /**
+     * Canto mínimo da caixa que envolve a arena em vigor (volumes ou limite simples; null se não houver)
+     */
     public BlockPos getMapBoundaryMin() {
-        return ConfigHelper.stringToSimplePosition(data.mapBoundaryMin);
+        return arenaRegion != null ? arenaRegion.getMin() : null;
     }
     
     public BlockPos getMapBoundaryMax() {
-        return ConfigHelper.stringToSimplePosition(data.mapBoundaryMax);
+        return arenaRegion != null ? arenaRegion.getMax() : null;
     }
     
     public String getMapBoundaryMinString() {
@@ -159,8 +278,7 @@ public class GameConfig {
     public boolean isFullyConfigured() {
         return !data.lobbySpawn.isEmpty() && 
                !data.seekerSpawn.isEmpty() && 
-               !data.mapBoundaryMin.isEmpty() && 
-               !data.mapBoundaryMax.isEmpty();
+               arenaRegion != null;
     }
     
     /**
@@ -175,8 +293,10 @@ public class GameConfig {
         if (data.seekerSpawn.isEmpty()) {
             missing.append("- Seeker spawn (/hns set seekerspawn)\n");
         }
-        if (data.mapBoundaryMin.isEmpty() || data.mapBoundaryMax.isEmpty()) {
-            missing.append("- Map boundary (/hns set mapboundary <pos1> <pos2>)\n");
+        if (arenaRegion == null) {
+            missing.append(data.arenaVolumes.isEmpty()
+                ? "- Map boundary (/hns set mapboundary <pos1> <pos2>)\n"
+                : "- Arena (os volumes definidos só removem área)\n");
         }
         
         return missing.toString();
@@ -192,6 +312,10 @@ public class GameConfig {
         config.append("  • Seeker spawn: ").append(data.seekerSpawn.isEmpty() ? "Não definido" : data.seekerSpawn).append("\n");
         config.append("  • Map boundary: ").append(data.mapBoundaryMin.isEmpty() ? "Não definido" : 
             data.mapBoundaryMin + " to " + data.mapBoundaryMax).append("\n");
+        if (!data.arenaVolumes.isEmpty()) {
+            config.append("  • Volumes da arena: ").append(data.arenaVolumes.size()).append("\n");
+        }
+        config.append("  • Limite em vigor: ").append(describeArenaBoundary()).append("\n");
         
         config.append("\n⏰ Tempos de Jogo:\n");
         config.append("  • Tempo para esconder: ").append(data.hideTime).append(" segundos\n");
@@ -227,7 +351,12 @@ public class GameConfig {
             ConfigData loadedData = gson.fromJson(json, ConfigData.class);
             
             if (loadedData != null) {
+                if (loadedData.arenaVolumes == null) {
+                    loadedData.arenaVolumes = new ArrayList<>(); // Arquivos antigos
+                }
                 this.data = loadedData;
+                compileArenaRegion();
+                forgetDerivedBoundary();
                 HideSeek.LOGGER.info("Game config loaded successfully");
             }
         } catch (IOException e) {
@@ -0,0 +1,236 @@
+package com.jotav.hideseek.effects;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.arena.ArenaRegion;
+import com.jotav.hideseek.chat.ChatManager;
+import com.jotav.hideseek.config.GameConfig;
+import com.jotav.hideseek.game.GameManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Verificação dos limites do mapa a cada tick, com custo proporcional à proximidade da borda.
+ * Os limites são compilados em coordenadas primitivas; cada jogador só é verificado de novo
+ * quando poderia ter alcançado a borda (distância / velocidade máxima), e quem sai dos limites
+ * é devolvido à última posição válida em vez de ir para o lobby. Movimentos mais rápidos que a
+ * velocidade máxima em um tick (pérola, elytra, tridente, empurrão, /tp) e teleportes antecipam
+ * a verificação.
+ * Em arenas irregulares (volumes), a caixa envolvente faz o corte grosso e a máscara da
+ * região só é consultada quando o jogador muda de bloco.
+ */
+public class BoundaryEngine {
+    private static BoundaryEngine instance;
+
+    private static final double MAX_BLOCKS_PER_TICK = 1.5; // Acima de correr + pular no gelo
+    private static final double MAX_BLOCKS_PER_TICK_SQ = MAX_BLOCKS_PER_TICK * MAX_BLOCKS_PER_TICK;
+    private static final int MAX_CHECK_INTERVAL = 20;
+    private static final double SAFE_MARGIN = 0.5; // Distância mínima da borda para gravar posição segura
+
+    // Limites compilados (max exclusivo, em coordenadas de mundo)
+    private boolean hasBounds;
+    private double minX;
+    private double minY;
+    private double minZ;
+    private double maxX;
+    private double maxY;
+    private double maxZ;
+    private ArenaRegion region; // null ou caixa simples: a distância à borda já é exata
+    private volatile boolean dirty = true;
+    private long compiledRoundId = -1;
+
+    private final Map<UUID, PlayerState> states = new HashMap<>();
+
+    /**
+     * Última posição válida e próximo tick de verificação de um jogador
+     */
+    private static class PlayerState {
+        private double safeX;
+        private double safeY;
+        private double safeZ;
+        private boolean hasSafe;
+        private long nextCheckTick;
+        private double lastX;
+        private double lastY;
+        private double lastZ;
+        private boolean hasLast;
+        private int blockX;
+        private int blockY;
+        private int blockZ;
+        private boolean checkedBlock;
+    }
+
+    private BoundaryEngine() {}
+
+    public static BoundaryEngine getInstance() {
+        if (instance == null) {
+            instance = new BoundaryEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Marca os limites para recompilação (ex: após /hns set mapboundary)
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Verifica um participante ativo (chamado a cada tick do jogador durante HIDING/SEEKING)
+     */
+    public void tick(ServerPlayer player) {
+        ensureCompiled();
+        if (!hasBounds) {
+            return;
+        }
+
+        PlayerState state = states.computeIfAbsent(player.getUUID(), uuid -> new PlayerState());
+        long now = player.serverLevel().getGameTime();
+        double x = player.getX();
+        double y = player.getY();
+        double z = player.getZ();
+
+        // Deslocamento acima da velocidade máxima desde o último tick invalida o agendamento
+        boolean fastMove = false;
+        if (state.hasLast) {
+            double dx = x - state.lastX;
+            double dy = y - state.lastY;
+            double dz = z - state.lastZ;
+            fastMove = dx * dx + dy * dy + dz * dz > MAX_BLOCKS_PER_TICK_SQ;
+        }
+        state.lastX = x;
+        state.lastY = y;
+        state.lastZ = z;
+        state.hasLast = true;
+
+        if (now < state.nextCheckTick && !fastMove) {
+            return;
+        }
+
+        double distance = distanceToEdge(x, y, z);
+
+        if (distance >= 0 && region != null) {
+            tickRegion(player, state, x, y, z, now);
+            return;
+        }
+
+        if (distance >= 0) {
+            if (distance >= SAFE_MARGIN || !state.hasSafe) {
+                state.safeX = x;
+                state.safeY = y;
+                state.safeZ = z;
+                state.hasSafe = true;
+            }
+            // Próxima verificação quando o jogador poderia ter alcançado a borda
+            int ticksToEdge = (int) (distance / MAX_BLOCKS_PER_TICK);
+            state.nextCheckTick = now + Math.max(1, Math.min(MAX_CHECK_INTERVAL, ticksToEdge));
+            return;
+        }
+
+        pushBack(player, state);
+        state.nextCheckTick = now + 1;
+    }
+
+    /**
+     * Arena irregular: verifica a máscara a cada tick, mas só quando o jogador muda de bloco
+     */
+    private void tickRegion(ServerPlayer player, PlayerState state, double x, double y, double z, long now) {
+        state.nextCheckTick = now + 1;
+        int blockX = (int) Math.floor(x);
+        int blockY = (int) Math.floor(y);
+        int blockZ = (int) Math.floor(z);
+        if (state.checkedBlock && blockX == state.blockX && blockY == state.blockY && blockZ == state.blockZ) {
+            return;
+        }
+
+        if (region.contains(blockX, blockY, blockZ)) {
+            state.blockX = blockX;
+            state.blockY = blockY;
+            state.blockZ = blockZ;
+            state.checkedBlock = true;
+            state.safeX = x;
+            state.safeY = y;
+            state.safeZ = z;
+            state.hasSafe = true;
+            return;
+        }
+
+        state.checkedBlock = false;
+        pushBack(player, state);
+    }
+
+    /**
+     * Antecipa a próxima verificação do jogador (ex: teleporte por pérola ou comando)
+     */
+    public void recheck(ServerPlayer player) {
+        PlayerState state = states.get(player.getUUID());
+        if (state != null) {
+            state.nextCheckTick = 0;
+        }
+    }
+
+    /**
+     * Verifica se a posição está dentro dos limites (sempre true se não houver limites)
+     */
+    public boolean contains(double x, double y, double z) {
+        ensureCompiled();
+        if (!hasBounds) {
+            return true;
+        }
+        return region != null ? region.contains(x, y, z) : distanceToEdge(x, y, z) >= 0;
+    }
+
+    /**
+     * Distância até a face mais próxima; negativa se estiver fora
+     */
+    private double distanceToEdge(double x, double y, double z) {
+        double distance = Math.min(x - minX, maxX - x);
+        distance = Math.min(distance, Math.min(y - minY, maxY - y));
+        return Math.min(distance, Math.min(z - minZ, maxZ - z));
+    }
+
+    private void pushBack(ServerPlayer player, PlayerState state) {
+        if (state.hasSafe) {
+            player.connection.teleport(state.safeX, state.safeY, state.safeZ, player.getYRot(), player.getXRot());
+            player.setDeltaMovement(0, 0, 0);
+        } else {
+            // Sem posição válida conhecida: comportamento antigo (lobby, ou spawn do mundo se falhar)
+            EffectsManager effectsManager = EffectsManager.getInstance();
+            if (!effectsManager.teleportToLobby(player)) {
+                BlockPos worldSpawn = player.serverLevel().getSharedSpawnPos();
+                effectsManager.safeTeleport(player, worldSpawn, player.level().dimension());
+            }
+        }
+        ChatManager.getInstance().outOfBounds(player);
+        HideSeek.LOGGER.debug("Player {} left the map boundary and was pushed back", player.getName().getString());
+    }
+
+    /**
+     * Recompila os limites quando mudam ou quando uma nova rodada começa (limpando o estado dos jogadores)
+     */
+    private void ensureCompiled() {
+        long roundId = GameManager.getInstance().getCurrentRoundId();
+        if (!dirty && compiledRoundId == roundId) {
+            return;
+        }
+        dirty = false;
+        compiledRoundId = roundId;
+        states.clear();
+
+        ArenaRegion compiled = GameConfig.getInstance().getArenaRegion();
+        hasBounds = compiled != null;
+        region = compiled != null && !compiled.isSimpleBox() ? compiled : null;
+        if (hasBounds) {
+            minX = compiled.getMinX();
+            minY = compiled.getMinY();
+            minZ = compiled.getMinZ();
+            maxX = compiled.getMaxX() + 1;
+            maxY = compiled.getMaxY() + 1;
+            maxZ = compiled.getMaxZ() + 1;
+        }
+    }
+}
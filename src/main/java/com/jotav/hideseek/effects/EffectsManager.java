@@ -4,6 +4,7 @@ import com.jotav.hideseek.Config;
 import com.jotav.hideseek.HideSeek;
 import com.jotav.hideseek.config.GameConfig;
 import com.jotav.hideseek.effects.GameModeManager;
+import com.jotav.hideseek.metrics.Metrics;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
@@ -144,6 +145,21 @@ public class EffectsManager {
         }
     }
     
+    /**
+     * Revela temporariamente um Hider com brilho (visível através das paredes)
+     */
+    public void applyRevealGlow(ServerPlayer hider, int durationTicks) {
+        MobEffectInstance glowing = new MobEffectInstance(
+            MobEffects.GLOWING,
+            durationTicks,
+            0,
+            false, false, true
+        );
+        hider.addEffect(glowing);
+        playersWithEffects.add(hider);
+        HideSeek.LOGGER.debug("Revealed idle hider: {}", hider.getName().getString());
+    }
+    
     /**
      * Aplica modo Spectator adequado para Hiders capturados
      */
@@ -160,6 +176,7 @@ public class EffectsManager {
             
             // Em modo spectator, jogadores não precisam de regeneração (não tomam dano)
             // Mas vamos manter invisibilidade para garantir que não sejam vistos
+            // (cobre jogadores de fora do jogo, que o VisibilityManager não filtra)
             MobEffectInstance invisibility = new MobEffectInstance(
                 MobEffects.INVISIBILITY,
                 REGENERATION_DURATION,
@@ -251,6 +268,15 @@ public class EffectsManager {
      * Teleporta jogador de forma segura para uma posição
      */
     public boolean safeTeleport(ServerPlayer player, BlockPos targetPos, ResourceKey<Level> dimension) {
+        long start = Metrics.start();
+        try {
+            return doSafeTeleport(player, targetPos, dimension);
+        } finally {
+            Metrics.stop(Metrics.Section.TELEPORT, start);
+        }
+    }
+    
+    private boolean doSafeTeleport(ServerPlayer player, BlockPos targetPos, ResourceKey<Level> dimension) {
         if (player == null || targetPos == null) {
             return false;
         }
@@ -375,35 +401,6 @@ public class EffectsManager {
      * Verifica se um jogador está dentro dos limites do mapa
      */
     public boolean isPlayerInBounds(ServerPlayer player) {
-        BlockPos minBounds = gameConfig.getMapBoundaryMin();
-        BlockPos maxBounds = gameConfig.getMapBoundaryMax();
-        
-        if (minBounds == null || maxBounds == null) {
-            return true; // Se não há limites definidos, considerar sempre válido
-        }
-        
-        BlockPos playerPos = player.blockPosition();
-        
-        return playerPos.getX() >= minBounds.getX() && playerPos.getX() <= maxBounds.getX() &&
-               playerPos.getY() >= minBounds.getY() && playerPos.getY() <= maxBounds.getY() &&
-               playerPos.getZ() >= minBounds.getZ() && playerPos.getZ() <= maxBounds.getZ();
-    }
-    
-    /**
-     * Teleporta jogador de volta se estiver fora dos limites
-     */
-    public void enforceMapBoundaries(ServerPlayer player) {
-        if (!isPlayerInBounds(player)) {
-            // Tentar teleportar de volta ao lobby
-            if (!teleportToLobby(player)) {
-                // Se falhou, teleportar para spawn do mundo
-                BlockPos worldSpawn = player.serverLevel().getSharedSpawnPos();
-                safeTeleport(player, worldSpawn, player.level().dimension());
-            }
-            
-            // TODO: Enviar mensagem ao jogador sobre os limites
-            HideSeek.LOGGER.info("Player {} was outside map boundaries and was teleported back", 
-                                player.getName().getString());
-        }
+        return BoundaryEngine.getInstance().contains(player.getX(), player.getY(), player.getZ());
     }
-}
\ No newline at end of file
+}
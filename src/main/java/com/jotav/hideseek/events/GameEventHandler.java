@@ -1,13 +1,25 @@
 package com.jotav.hideseek.events;
 
+import com.jotav.hideseek.arena.ArenaChunkManager;
+import com.jotav.hideseek.arena.ArenaManager;
+import com.jotav.hideseek.arena.ArenaPregenerator;
 import com.jotav.hideseek.game.GameManager;
 import com.jotav.hideseek.game.GameState;
-import com.jotav.hideseek.effects.EffectsManager;
+import com.jotav.hideseek.game.ProximityTracker;
+import com.jotav.hideseek.game.VisibilityManager;
+import com.jotav.hideseek.effects.BoundaryEngine;
+import com.jotav.hideseek.stats.StatsManager;
+import com.jotav.hideseek.metrics.Metrics;
+import com.jotav.hideseek.replay.ReplayRecorder;
+import com.jotav.hideseek.replay.ReplayViewer;
 import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.EntityTeleportEvent;
 import net.neoforged.neoforge.event.entity.player.AttackEntityEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 /**
  * Event handlers para o jogo Hide and Seek
@@ -20,6 +32,10 @@ public class GameEventHandler {
      */
     @SubscribeEvent
     public static void onPlayerAttack(AttackEntityEvent event) {
+        Metrics.time(Metrics.Section.EVENT_ATTACK, () -> handlePlayerAttack(event));
+    }
+    
+    private static void handlePlayerAttack(AttackEntityEvent event) {
         if (!(event.getEntity() instanceof ServerPlayer attacker)) {
             return;
         }
@@ -60,6 +76,10 @@ public class GameEventHandler {
      */
     @SubscribeEvent
     public static void onPlayerTick(PlayerTickEvent.Post event) {
+        Metrics.time(Metrics.Section.EVENT_PLAYER_TICK, () -> handlePlayerTick(event));
+    }
+    
+    private static void handlePlayerTick(PlayerTickEvent.Post event) {
         if (!(event.getEntity() instanceof ServerPlayer player)) {
             return;
         }
@@ -77,9 +97,65 @@ public class GameEventHandler {
             return;
         }
         
-        // Verificar limites do mapa a cada 20 ticks (1 segundo)
-        if (player.tickCount % 20 == 0) {
-            EffectsManager.getInstance().enforceMapBoundaries(player);
+        // Verificar limites do mapa (só de fato calcula quando o jogador pode ter alcançado a borda)
+        BoundaryEngine.getInstance().tick(player);
+    }
+    
+    /**
+     * Teleportes (pérola, fruta do coro, /tp) antecipam a verificação dos limites do mapa
+     */
+    @SubscribeEvent
+    public static void onEntityTeleport(EntityTeleportEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) {
+            return;
+        }
+        GameState currentState = GameManager.getInstance().getCurrentState();
+        if (currentState == GameState.HIDING || currentState == GameState.SEEKING) {
+            BoundaryEngine.getInstance().recheck(player);
+        }
+    }
+    
+    /**
+     * Processa eventos da máquina de estados, atualiza visibilidade e proximidade, grava o quadro de replay e avança reproduções
+     * e restauração da arena ao fim de cada tick do servidor
+     */
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        GameManager.getInstance().tick();
+        VisibilityManager.getInstance().refresh();
+        ProximityTracker.getInstance().tick(event.getServer());
+        ReplayRecorder.getInstance().tick();
+        ReplayViewer.getInstance().tick();
+        ArenaManager.getInstance().tick(event.getServer());
+        ArenaChunkManager.getInstance().tick(event.getServer());
+        ArenaPregenerator.getInstance().tick(event.getServer());
+    }
+    
+    /**
+     * Carrega as estatísticas do jogador quando ele entra no servidor
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        Metrics.time(Metrics.Section.EVENT_LOGIN, () -> handlePlayerLoggedIn(event));
+    }
+    
+    private static void handlePlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            StatsManager.getInstance().onPlayerJoin(player);
+        }
+    }
+    
+    /**
+     * Grava e libera as estatísticas do jogador quando ele sai do servidor
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        Metrics.time(Metrics.Section.EVENT_LOGIN, () -> handlePlayerLoggedOut(event));
+    }
+    
+    private static void handlePlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            StatsManager.getInstance().onPlayerLeave(player);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.jotav.hideseek.game;
+
+/**
+ * Evento que move a máquina de estados do jogo (ver GameStateMachine)
+ */
+public class GameEvent {
+
+    /**
+     * Tipos de evento aceitos pela tabela de transições
+     */
+    public enum Type {
+        START,              // LOBBY → STARTING (comando)
+        COUNTDOWN_FINISHED, // STARTING → HIDING (timer)
+        HIDE_TIME_UP,       // HIDING → SEEKING (timer)
+        SEEK_TIME_UP,       // SEEKING → ENDING, Hiders vencem (timer)
+        ALL_CAPTURED,       // SEEKING → ENDING, Seekers vencem
+        RESULT_SHOWN,       // ENDING → LOBBY (timer)
+        ABORT,              // Rodada cancelada por erro de configuração
+        STOP                // Rodada interrompida por comando
+    }
+
+    private static final long ANY_EPOCH = -1;
+
+    private final Type type;
+    private final long epoch;
+    private final String reason;
+
+    private GameEvent(Type type, long epoch, String reason) {
+        this.type = type;
+        this.epoch = epoch;
+        this.reason = reason;
+    }
+
+    public static GameEvent of(Type type) {
+        return new GameEvent(type, ANY_EPOCH, null);
+    }
+
+    /**
+     * Evento com motivo (ABORT/STOP), registrado no log de rodadas
+     */
+    public static GameEvent of(Type type, String reason) {
+        return new GameEvent(type, ANY_EPOCH, reason);
+    }
+
+    /**
+     * Evento de timer: só vale se a máquina ainda estiver no mesmo estado em que o timer foi criado
+     */
+    public static GameEvent scheduled(Type type, long epoch) {
+        return new GameEvent(type, epoch, null);
+    }
+
+    public Type getType() { return type; }
+    public long getEpoch() { return epoch; }
+    public boolean isScheduled() { return epoch != ANY_EPOCH; }
+    public String getReason() { return reason; }
+
+    /**
+     * Vencedor de uma transição para ENDING
+     */
+    public boolean isSeekersWin() {
+        return type == Type.ALL_CAPTURED;
+    }
+
+    @Override
+    public String toString() {
+        return reason != null ? type + "(" + reason + ")" : type.toString();
+    }
+}
@@ -2,22 +2,35 @@ package com.jotav.hideseek.game;
 
 import com.jotav.hideseek.Config;
 import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.analytics.RoundEvent;
+import com.jotav.hideseek.analytics.RoundEventLog;
+import com.jotav.hideseek.arena.ArenaManager;
 import com.jotav.hideseek.chat.ChatManager;
 import com.jotav.hideseek.config.GameConfig;
 import com.jotav.hideseek.effects.EffectsManager;
+import com.jotav.hideseek.effects.BoundaryEngine;
+import com.jotav.hideseek.stats.RoundResult;
 import com.jotav.hideseek.stats.StatsManager;
 import com.jotav.hideseek.ui.BossBarManager;
 import com.jotav.hideseek.ui.ScoreboardManager;
 import com.jotav.hideseek.util.ConfigHelper;
+import com.jotav.hideseek.metrics.Metrics;
+import com.jotav.hideseek.metrics.MetricsHttpServer;
+import com.jotav.hideseek.metrics.RateCounter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.Level;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Gerenciador central do estado do jogo Hide and Seek
@@ -25,7 +38,7 @@ import java.util.TimerTask;
 public class GameManager {
     private static GameManager instance;
     
-    private GameState currentState = GameState.LOBBY;
+    private final GameStateMachine stateMachine = createStateMachine();
     private final PlayerManager playerManager = new PlayerManager();
     private final ChatManager chatManager = ChatManager.getInstance();
     private final StatsManager statsManager = StatsManager.getInstance();
@@ -34,9 +47,23 @@ public class GameManager {
     
     // Configurações do jogo vêm do Config.java
     
-    // Timer do jogo
+    // Timer do jogo (apenas enfileira eventos na máquina de estados)
     private Timer gameTimer;
     
+    // Contadores exportados (lidos por outras threads sem bloquear o servidor)
+    private final AtomicLong roundsStarted = new AtomicLong();
+    private final AtomicLong roundsFinished = new AtomicLong();
+    private final RateCounter captureCounter = new RateCounter();
+    
+    // Identificador da rodada atual (para o log de eventos)
+    private long currentRoundId;
+    private long roundStartTime;
+    
+    // Segundos de SEEKING em que cada Hider foi capturado e em que cada Seeker fez a primeira captura
+    private final Map<UUID, Long> hiderCaptureSeconds = new HashMap<>();
+    private final Map<UUID, Long> seekerFirstCaptureSeconds = new HashMap<>();
+    private final Map<UUID, Integer> seekerCaptures = new HashMap<>();
+    
     private GameManager() {}
     
     public static GameManager getInstance() {
@@ -50,12 +77,8 @@ public class GameManager {
         this.server = server;
         
         // Reset estado para evitar problemas de reinicialização
-        if (gameTimer != null) {
-            gameTimer.cancel();
-            gameTimer = null;
-        }
-        
-        currentState = GameState.LOBBY;
+        cancelTimer();
+        stateMachine.reset(GameState.LOBBY);
         playerManager.removeAllPlayers(); // Limpar jogadores fantasma
         
         // Inicializar managers de UI
@@ -69,11 +92,91 @@ public class GameManager {
         return server;
     }
     
+    // ================== MÁQUINA DE ESTADOS ==================
+    
+    /**
+     * Tabela de transições do jogo. Toda mudança de estado passa por aqui;
+     * os timers só enfileiram eventos, processados na thread do servidor.
+     */
+    private GameStateMachine createStateMachine() {
+        GameStateMachine machine = new GameStateMachine(GameState.LOBBY)
+            .transition(GameState.LOBBY, GameEvent.Type.START, GameState.STARTING)
+            .transition(GameState.STARTING, GameEvent.Type.COUNTDOWN_FINISHED, GameState.HIDING)
+            .transition(GameState.STARTING, GameEvent.Type.STOP, GameState.LOBBY)
+            .transition(GameState.HIDING, GameEvent.Type.HIDE_TIME_UP, GameState.SEEKING)
+            .transition(GameState.HIDING, GameEvent.Type.ABORT, GameState.LOBBY)
+            .transition(GameState.HIDING, GameEvent.Type.STOP, GameState.LOBBY)
+            .transition(GameState.SEEKING, GameEvent.Type.SEEK_TIME_UP, GameState.ENDING)
+            .transition(GameState.SEEKING, GameEvent.Type.ALL_CAPTURED, GameState.ENDING)
+            .transition(GameState.SEEKING, GameEvent.Type.STOP, GameState.LOBBY)
+            .transition(GameState.ENDING, GameEvent.Type.RESULT_SHOWN, GameState.LOBBY)
+            .transition(GameState.ENDING, GameEvent.Type.STOP, GameState.LOBBY)
+            .onEnter(GameState.STARTING, (from, to, event) -> Metrics.time(Metrics.Section.TRANSITION_STARTING, this::enterStarting))
+            .onEnter(GameState.HIDING, (from, to, event) -> Metrics.time(Metrics.Section.TRANSITION_HIDING, this::enterHiding))
+            .onEnter(GameState.SEEKING, (from, to, event) -> Metrics.time(Metrics.Section.TRANSITION_SEEKING, this::enterSeeking))
+            .onEnter(GameState.ENDING, (from, to, event) ->
+                Metrics.time(Metrics.Section.GAME_END, () -> enterEnding(event.isSeekersWin())))
+            .onEnter(GameState.LOBBY, this::enterLobby);
+        
+        // O timer de uma fase nunca sobrevive à saída dela
+        for (GameState state : GameState.values()) {
+            machine.onExit(state, (from, to, event) -> cancelTimer());
+        }
+        return machine;
+    }
+    
+    /**
+     * Envia um evento à máquina de estados; na thread do servidor é processado imediatamente
+     */
+    private void fire(GameEvent event) {
+        stateMachine.post(event);
+        if (server != null && server.isSameThread()) {
+            stateMachine.drain();
+        }
+    }
+    
+    /**
+     * Processa os eventos enfileirados pelos timers (chamado a cada tick do servidor)
+     */
+    public void tick() {
+        stateMachine.drain();
+        
+        // Retrato para o endpoint de métricas (lido em outra thread)
+        MetricsHttpServer metricsServer = MetricsHttpServer.getInstance();
+        if (metricsServer.isRunning()) {
+            metricsServer.publish(new MetricsHttpServer.GameSnapshot(getCurrentState(),
+                playerManager.getLobbyCount(), playerManager.getHidersCount(),
+                playerManager.getSeekersCount(), playerManager.getSpectatorsCount(),
+                roundsStarted.get(), roundsFinished.get(), captureCounter.getTotal(), captureCounter.getLastMinute()));
+        }
+    }
+    
+    /**
+     * Agenda um evento de timer, válido apenas enquanto o estado atual não mudar
+     */
+    private void schedule(GameEvent.Type type, long delayMillis) {
+        long epoch = stateMachine.getEpoch();
+        gameTimer = new Timer();
+        gameTimer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                stateMachine.post(GameEvent.scheduled(type, epoch));
+            }
+        }, delayMillis);
+    }
+    
+    private void cancelTimer() {
+        if (gameTimer != null) {
+            gameTimer.cancel();
+            gameTimer = null;
+        }
+    }
+    
     /**
      * Jogador tenta entrar no jogo
      */
     public boolean joinGame(ServerPlayer player) {
-        if (currentState != GameState.LOBBY) {
+        if (getCurrentState() != GameState.LOBBY) {
             chatManager.gameAlreadyInProgress(player);
             return false;
         }
@@ -132,15 +235,19 @@ public class GameManager {
      * Força início do jogo
      */
     public boolean startGame() {
-        if (currentState != GameState.LOBBY) {
+        if (!stateMachine.accepts(GameEvent.Type.START)) {
             return false;
         }
         
+        if (ArenaManager.getInstance().isRestoring()) {
+            return false; // Arena ainda sendo restaurada
+        }
+        
         if (playerManager.getLobbyCount() < Config.MIN_PLAYERS.get()) {
             return false; // Mensagem será enviada pelo comando
         }
         
-        transitionToStarting();
+        fire(GameEvent.of(GameEvent.Type.START));
         return true;
     }
     
@@ -148,11 +255,39 @@ public class GameManager {
      * Para o jogo completamente
      */
     public void stopGame() {
-        if (gameTimer != null) {
-            gameTimer.cancel();
-            gameTimer = null;
+        if (getCurrentState() == GameState.LOBBY) {
+            resetToLobby(); // Nenhuma rodada: apenas limpar jogadores e UI
+            return;
+        }
+        fire(GameEvent.of(GameEvent.Type.STOP, "stopped"));
+    }
+    
+    /**
+     * Entrada em LOBBY: fim normal da rodada ou interrupção (comando, erro de configuração)
+     */
+    private void enterLobby(GameState from, GameState to, GameEvent event) {
+        if (event.getType() == GameEvent.Type.RESULT_SHOWN) {
+            // Ocultar scoreboard e limpar teams quando voltar ao lobby
+            ScoreboardManager.getInstance().hideScoreboardAndClearTeams();
+        } else if (from == GameState.STARTING || from == GameState.HIDING || from == GameState.SEEKING) {
+            logRoundEvent(() -> new RoundEvent(RoundEvent.Type.ROUND_ABORT, currentRoundId).with("reason", event.getReason()));
         }
+        resetToLobby();
         
+        // Desfazer alterações feitas na arena durante a rodada (também quando ela foi parada ou interrompida)
+        if (from != GameState.LOBBY) {
+            ArenaManager.getInstance().requestAutoRestore();
+        }
+    }
+    
+    /**
+     * Reset completo: UI, efeitos, teleporte ao lobby e limpeza dos times
+     */
+    private void resetToLobby() {
+        Metrics.time(Metrics.Section.GAME_STOP, this::doResetToLobby);
+    }
+    
+    private void doResetToLobby() {
         // Parar sistemas de UI
         BossBarManager.getInstance().stopTimer();
         
@@ -183,7 +318,6 @@ public class GameManager {
         }
         
         playerManager.resetAll();
-        currentState = GameState.LOBBY;
         
         // Atualizar UI
         ScoreboardManager.getInstance().updateScoreboard();
@@ -194,64 +328,47 @@ public class GameManager {
     }
     
     /**
-     * Registra estatísticas do final do jogo
+     * Registra estatísticas do final do jogo (uma única atualização e gravação para a rodada)
      */
     private void recordGameStats(boolean seekersWin) {
-        // Calcular tempo de jogo para cada jogador
-        long hideTimeSeconds = GameConfig.getInstance().getHideTime();
-        long totalGameTimeSeconds = hideTimeSeconds + (System.currentTimeMillis() - phaseStartTime) / 1000;
+        long seekingSeconds = (System.currentTimeMillis() - phaseStartTime) / 1000;
+        RoundResult result = new RoundResult(currentRoundId, roundStartTime, System.currentTimeMillis(), seekersWin,
+            GameConfig.getInstance().getHideTime(), seekingSeconds);
         
-        // Registrar vitórias/derrotas
-        if (seekersWin) {
-            // Seekers venceram
-            for (ServerPlayer seeker : playerManager.getSeekers()) {
-                statsManager.recordWin(seeker, false);
-                statsManager.recordSeekingTime(seeker, totalGameTimeSeconds - hideTimeSeconds);
-            }
-            
-            // Hiders perderam (incluindo espectadores que foram capturados)
-            for (ServerPlayer hider : playerManager.getHiders()) {
-                statsManager.recordLoss(hider, true);
-                statsManager.recordHidingTime(hider, totalGameTimeSeconds);
-            }
-            for (ServerPlayer spectator : playerManager.getSpectators()) {
-                // Espectadores são ex-Hiders que foram capturados
-                statsManager.recordLoss(spectator, true);
-                // Tempo de sobrevivência foi menor que o total
-            }
-        } else {
-            // Hiders venceram
-            for (ServerPlayer hider : playerManager.getHiders()) {
-                statsManager.recordWin(hider, true);
-                statsManager.recordHidingTime(hider, totalGameTimeSeconds);
-            }
-            
-            // Seekers perderam
-            for (ServerPlayer seeker : playerManager.getSeekers()) {
-                statsManager.recordLoss(seeker, false);
-                statsManager.recordSeekingTime(seeker, totalGameTimeSeconds - hideTimeSeconds);
-            }
-            
-            // Espectadores (ex-Hiders capturados) também perderam
-            for (ServerPlayer spectator : playerManager.getSpectators()) {
-                statsManager.recordLoss(spectator, true);
-            }
+        for (ServerPlayer hider : playerManager.getHiders()) {
+            result.addHider(hider.getUUID(), hider.getName().getString(), -1);
+        }
+        for (ServerPlayer spectator : playerManager.getSpectators()) {
+            // Espectadores são ex-Hiders que foram capturados
+            result.addHider(spectator.getUUID(), spectator.getName().getString(),
+                hiderCaptureSeconds.getOrDefault(spectator.getUUID(), seekingSeconds));
+        }
+        for (ServerPlayer seeker : playerManager.getSeekers()) {
+            result.addSeeker(seeker.getUUID(), seeker.getName().getString(),
+                seekerFirstCaptureSeconds.getOrDefault(seeker.getUUID(), -1L), seekerCaptures.getOrDefault(seeker.getUUID(), 0));
         }
         
-        // Salvar estatísticas
-        statsManager.saveStats();
+        statsManager.applyRoundResult(result);
     }
     
     // Variável para rastrear início da fase atual
     private long phaseStartTime;
     
     /**
-     * Transição: LOBBY → STARTING
+     * Entrada em STARTING (vindo do LOBBY)
      */
-    private void transitionToStarting() {
-        currentState = GameState.STARTING;
+    private void enterStarting() {
+        roundsStarted.incrementAndGet();
+        roundStartTime = System.currentTimeMillis();
+        currentRoundId = roundStartTime;
+        hiderCaptureSeconds.clear();
+        seekerFirstCaptureSeconds.clear();
+        seekerCaptures.clear();
         HideSeek.LOGGER.info("Game starting countdown...");
-        
+        logRoundEvent(() -> new RoundEvent(RoundEvent.Type.ROUND_START, currentRoundId)
+            .withPlayers("players", playerManager.getLobbyPlayers())
+            .with("countdown", GameConfig.getInstance().getStartCountdown()));
+            
         // Mostrar scoreboard quando o jogo começar
         ScoreboardManager.getInstance().showScoreboard();
         
@@ -264,25 +381,22 @@ public class GameManager {
         // Enviar mensagem de início
         chatManager.gameStartingCountdown(server, GameConfig.getInstance().getStartCountdown());
         
-        gameTimer = new Timer();
-        gameTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                transitionToHiding();
-            }
-        }, GameConfig.getInstance().getStartCountdown() * 1000L);
+        schedule(GameEvent.Type.COUNTDOWN_FINISHED, GameConfig.getInstance().getStartCountdown() * 1000L);
     }
     
     /**
-     * Transição: STARTING → HIDING
+     * Entrada em HIDING (vindo de STARTING)
      */
-    private void transitionToHiding() {
-        currentState = GameState.HIDING;
+    private void enterHiding() {
         phaseStartTime = System.currentTimeMillis();
         
         // Distribuir jogadores em times
         playerManager.assignTeams(Config.MIN_HIDERS.get(), Config.MAX_HIDERS.get());
         
+        logRoundEvent(() -> new RoundEvent(RoundEvent.Type.TEAMS_ASSIGNED, currentRoundId)
+            .withPlayers("hiders", playerManager.getHiders())
+            .withPlayers("seekers", playerManager.getSeekers()));
+            
         // Registrar início do jogo para estatísticas
         for (ServerPlayer hider : playerManager.getHiders()) {
             statsManager.recordGameStart(hider, true);
@@ -306,7 +420,7 @@ public class GameManager {
         // Verificar se configurações essenciais estão definidas
         if (!isGameConfigured()) {
             chatManager.configurationMissing(server, getMissingConfigurations());
-            currentState = GameState.LOBBY;
+            fire(GameEvent.of(GameEvent.Type.ABORT, "config_missing"));
             return;
         }
         
@@ -314,7 +428,7 @@ public class GameManager {
         boolean seekerTeleportSuccess = EffectsManager.getInstance().teleportSeekersToSpawn(playerManager.getSeekers());
         if (!seekerTeleportSuccess) {
             chatManager.configurationMissing(server, "Seeker spawn não configurado! Use /hns set seekerspawn");
-            currentState = GameState.LOBBY;
+            fire(GameEvent.of(GameEvent.Type.ABORT, "seeker_teleport_failed"));
             return;
         }
         EffectsManager.getInstance().applySeekerEffects(playerManager.getSeekers());
@@ -336,27 +450,23 @@ public class GameManager {
             }
         } else {
             chatManager.configurationMissing(server, "Lobby spawn não configurado! Use /hns set lobby");
-            currentState = GameState.LOBBY;
+            fire(GameEvent.of(GameEvent.Type.ABORT, "lobby_missing"));
             return;
         }
         
         HideSeek.LOGGER.info("Hiding phase started - {} Hiders, {} Seekers", 
                             playerManager.getHidersCount(), playerManager.getSeekersCount());
-        
-        gameTimer = new Timer();
-        gameTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                transitionToSeeking();
-            }
-        }, GameConfig.getInstance().getHideTime() * 1000L);
+        logRoundEvent(() -> new RoundEvent(RoundEvent.Type.PHASE, currentRoundId)
+            .with("phase", GameState.HIDING.name())
+            .with("duration", GameConfig.getInstance().getHideTime()));
+            
+        schedule(GameEvent.Type.HIDE_TIME_UP, GameConfig.getInstance().getHideTime() * 1000L);
     }
     
     /**
-     * Transição: HIDING → SEEKING
+     * Entrada em SEEKING (vindo de HIDING)
      */
-    private void transitionToSeeking() {
-        currentState = GameState.SEEKING;
+    private void enterSeeking() {
         phaseStartTime = System.currentTimeMillis();
         
         // Iniciar timer da fase SEEKING
@@ -375,27 +485,20 @@ public class GameManager {
         chatManager.seekingPhaseStarted(server, GameConfig.getInstance().getSeekTime(), playerManager.getHidersCount());
         
         HideSeek.LOGGER.info("Seeking phase started");
-        
-        gameTimer = new Timer();
-        gameTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                endGame(false); // Timeout - Hiders vencem
-            }
-        }, GameConfig.getInstance().getSeekTime() * 1000L);
+        logRoundEvent(() -> new RoundEvent(RoundEvent.Type.PHASE, currentRoundId)
+            .with("phase", GameState.SEEKING.name())
+            .with("duration", GameConfig.getInstance().getSeekTime())
+            .with("hiders", playerManager.getHidersCount()));
+            
+        schedule(GameEvent.Type.SEEK_TIME_UP, GameConfig.getInstance().getSeekTime() * 1000L); // Timeout - Hiders vencem
     }
     
     /**
-     * Termina o jogo
+     * Entrada em ENDING: fim da rodada
      * @param seekersWin true se Seekers venceram, false se Hiders venceram
      */
-    public void endGame(boolean seekersWin) {
-        if (gameTimer != null) {
-            gameTimer.cancel();
-            gameTimer = null;
-        }
-        
-        currentState = GameState.ENDING;
+    private void enterEnding(boolean seekersWin) {
+        roundsFinished.incrementAndGet();
         
         // Mostrar resultado no BossBar
         BossBarManager.getInstance().showGameResult(seekersWin);
@@ -414,34 +517,29 @@ public class GameManager {
         }
         
         HideSeek.LOGGER.info("Game ended - {} won", seekersWin ? "Seekers" : "Hiders");
-        
+        logRoundEvent(() -> new RoundEvent(RoundEvent.Type.ROUND_END, currentRoundId)
+            .with("winner", seekersWin ? "seekers" : "hiders")
+            .with("durationMs", System.currentTimeMillis() - roundStartTime)
+            .with("hidersRemaining", playerManager.getHidersCount())
+            .with("captured", playerManager.getSpectatorsCount())
+            .with("seekers", playerManager.getSeekersCount()));
+            
         // Anunciar retorno ao lobby
         chatManager.returningToLobby(server, 10);
         
         // Auto-retorno ao lobby após 10 segundos
-        gameTimer = new Timer();
-        gameTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                returnToLobby();
-            }
-        }, 10000);
-    }
-    
-    /**
-     * Retorna ao lobby
-     */
-    private void returnToLobby() {
-        // Ocultar scoreboard e limpar teams quando voltar ao lobby
-        ScoreboardManager.getInstance().hideScoreboardAndClearTeams();
-        stopGame(); // Reset completo
+        schedule(GameEvent.Type.RESULT_SHOWN, 10000);
     }
     
     /**
      * Hider foi capturado
      */
     public void captureHider(ServerPlayer hider, ServerPlayer seeker) {
-        if (currentState != GameState.SEEKING) {
+        Metrics.time(Metrics.Section.CAPTURE, () -> doCaptureHider(hider, seeker));
+    }
+    
+    private void doCaptureHider(ServerPlayer hider, ServerPlayer seeker) {
+        if (getCurrentState() != GameState.SEEKING) {
             return;
         }
         
@@ -449,7 +547,19 @@ public class GameManager {
             // Registrar estatísticas de captura
             statsManager.recordPlayerCaptured(hider);
             statsManager.recordPlayerMadeCapture(seeker);
-            
+            long elapsedSeconds = (System.currentTimeMillis() - phaseStartTime) / 1000;
+            hiderCaptureSeconds.put(hider.getUUID(), elapsedSeconds);
+            seekerFirstCaptureSeconds.putIfAbsent(seeker.getUUID(), elapsedSeconds);
+            seekerCaptures.merge(seeker.getUUID(), 1, Integer::sum);
+            captureCounter.increment();
+            logRoundEvent(() -> new RoundEvent(RoundEvent.Type.CAPTURE, currentRoundId)
+                .with("hider", hider.getUUID().toString())
+                .with("seeker", seeker.getUUID().toString())
+                .withPosition("hiderPos", hider)
+                .withPosition("seekerPos", seeker)
+                .with("seekingElapsedMs", System.currentTimeMillis() - phaseStartTime)
+                .with("hidersRemaining", playerManager.getHidersCount()));
+                
             // Não teleportar - em modo espectador pode ficar onde está para observar
             
             // Atualizar UI imediatamente
@@ -461,10 +571,10 @@ public class GameManager {
             
             HideSeek.LOGGER.info("Player {} captured by {} and moved to spectator mode", 
                                 hider.getName().getString(), seeker.getName().getString());
-            
+                                
             // Verificar condição de vitória
             if (playerManager.getHidersCount() == 0) {
-                endGame(true); // Todos capturados - Seekers vencem
+                fire(GameEvent.of(GameEvent.Type.ALL_CAPTURED)); // Todos capturados - Seekers vencem
             }
         }
     }
@@ -473,6 +583,11 @@ public class GameManager {
      * Remove todos os jogadores do jogo (comando leaveall)
      */
     public int removeAllPlayers() {
+        // Encerrar a rodada antes (restaura efeitos e gamemodes dos participantes)
+        if (getCurrentState() != GameState.LOBBY) {
+            fire(GameEvent.of(GameEvent.Type.STOP, "all_removed"));
+        }
+        
         // Parar sistemas de UI
         BossBarManager.getInstance().stopTimer();
         ScoreboardManager.getInstance().hideScoreboardAndClearTeams();
@@ -495,22 +610,28 @@ public class GameManager {
             }
         }
         
-        // Resetar estado
-        currentState = GameState.LOBBY;
-        
-        // Parar timer se ativo
-        if (gameTimer != null) {
-            gameTimer.cancel();
-            gameTimer = null;
-        }
-        
         HideSeek.LOGGER.info("All {} players removed from game by admin command", allPlayers.size());
         return allPlayers.size();
     }
     
+    /**
+     * Envia evento ao log estruturado de rodadas (gravado em segundo plano).
+     * O evento só é montado se o log estiver ativo.
+     */
+    private void logRoundEvent(Supplier<RoundEvent> event) {
+        RoundEventLog log = RoundEventLog.getInstance();
+        if (log.isEnabled()) {
+            log.record(event.get());
+        }
+    }
+    
     // Getters
-    public GameState getCurrentState() { return currentState; }
+    public GameState getCurrentState() { return stateMachine.getState(); }
+    public long getCurrentRoundId() { return currentRoundId; }
     public PlayerManager getPlayerManager() { return playerManager; }
+    public long getRoundsStarted() { return roundsStarted.get(); }
+    public long getRoundsFinished() { return roundsFinished.get(); }
+    public RateCounter getCaptureCounter() { return captureCounter; }
     
     // Métodos para gerenciar spawn points via configuração persistente
     public void setLobbySpawn(BlockPos pos, ResourceKey<Level> dimension) { 
@@ -525,6 +646,7 @@ public class GameManager {
     
     public void setMapBoundary(BlockPos min, BlockPos max) { 
         gameConfig.setMapBoundary(min, max);
+        BoundaryEngine.getInstance().invalidate();
         HideSeek.LOGGER.info("Map boundary set and saved");
     }
     
@@ -0,0 +1,130 @@
+package com.jotav.hideseek.game;
+
+import com.jotav.hideseek.HideSeek;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Máquina de estados do jogo com tabela de transições explícita.
+ *
+ * Eventos podem ser enviados de qualquer thread (timers, comandos), mas só são processados
+ * na thread do servidor, em ordem, por drain(). Cada transição executa a ação de saída do
+ * estado atual e a de entrada do novo estado; eventos sem transição no estado atual e eventos
+ * de timer criados em um estado anterior são descartados.
+ */
+public class GameStateMachine {
+
+    /**
+     * Ação executada ao sair ou entrar em um estado
+     */
+    public interface Action {
+        void run(GameState from, GameState to, GameEvent event);
+    }
+
+    private final Map<GameState, Map<GameEvent.Type, GameState>> transitions = new EnumMap<>(GameState.class);
+    private final Map<GameState, Action> entryActions = new EnumMap<>(GameState.class);
+    private final Map<GameState, Action> exitActions = new EnumMap<>(GameState.class);
+    private final Queue<GameEvent> queue = new ConcurrentLinkedQueue<>();
+
+    private volatile GameState state;
+    private volatile long epoch; // Incrementado a cada transição
+    private boolean draining = false;
+
+    public GameStateMachine(GameState initial) {
+        this.state = initial;
+        for (GameState gameState : GameState.values()) {
+            transitions.put(gameState, new EnumMap<>(GameEvent.Type.class));
+        }
+    }
+
+    // ================== DEFINIÇÃO ==================
+
+    public GameStateMachine transition(GameState from, GameEvent.Type type, GameState to) {
+        transitions.get(from).put(type, to);
+        return this;
+    }
+
+    public GameStateMachine onEnter(GameState gameState, Action action) {
+        entryActions.put(gameState, action);
+        return this;
+    }
+
+    public GameStateMachine onExit(GameState gameState, Action action) {
+        exitActions.put(gameState, action);
+        return this;
+    }
+
+    // ================== EVENTOS ==================
+
+    /**
+     * Enfileira um evento (qualquer thread)
+     */
+    public void post(GameEvent event) {
+        queue.add(event);
+    }
+
+    /**
+     * Verifica se o evento levaria a uma transição no estado atual
+     */
+    public boolean accepts(GameEvent.Type type) {
+        return transitions.get(state).containsKey(type);
+    }
+
+    /**
+     * Processa todos os eventos pendentes, inclusive os enviados pelas próprias ações (thread do servidor)
+     */
+    public void drain() {
+        if (draining) {
+            return; // Chamado de dentro de uma ação: o laço externo processa o resto
+        }
+        draining = true;
+        try {
+            GameEvent event;
+            while ((event = queue.poll()) != null) {
+                apply(event);
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    /**
+     * Volta ao estado inicial sem executar ações, descartando eventos pendentes (reinício do servidor)
+     */
+    public void reset(GameState initial) {
+        queue.clear();
+        state = initial;
+        epoch++;
+    }
+
+    private void apply(GameEvent event) {
+        GameState from = state;
+        if (event.isScheduled() && event.getEpoch() != epoch) {
+            HideSeek.LOGGER.debug("Dropped stale game event {} in {}", event, from);
+            return;
+        }
+        GameState to = transitions.get(from).get(event.getType());
+        if (to == null) {
+            HideSeek.LOGGER.debug("Ignored game event {} in {}", event, from);
+            return;
+        }
+
+        Action exit = exitActions.get(from);
+        if (exit != null) {
+            exit.run(from, to, event);
+        }
+        state = to;
+        epoch++;
+        HideSeek.LOGGER.debug("Game state {} -> {} on {}", from, to, event);
+        Action entry = entryActions.get(to);
+        if (entry != null) {
+            entry.run(from, to, event);
+        }
+    }
+
+    public GameState getState() { return state; }
+    public long getEpoch() { return epoch; }
+}
@@ -0,0 +1,154 @@
+package com.jotav.hideseek.game;
+
+import com.jotav.hideseek.chat.ChatManager;
+import com.jotav.hideseek.effects.EffectsManager;
+import com.jotav.hideseek.metrics.Metrics;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+
+/**
+ * Recursos de proximidade da fase SEEKING, apoiados em um {@link SpatialGrid} dos Hiders:
+ * dica "quente/frio" para os Seekers e revelação automática de Hiders parados por muito tempo.
+ * Cada Seeker consulta apenas as células vizinhas, sem comparar com todos os Hiders.
+ */
+public class ProximityTracker {
+    private static ProximityTracker instance;
+
+    private static final int CELL_SIZE = 16;
+    private static final int HINT_INTERVAL_TICKS = 10;
+    private static final double STILL_THRESHOLD_SQ = 1.0; // Mover menos de 1 bloco conta como parado
+
+    private final SpatialGrid hiderGrid = new SpatialGrid(CELL_SIZE);
+    private final Map<UUID, StillState> stillStates = new HashMap<>();
+    private final Set<UUID> currentHiders = new HashSet<>();
+    private long tickCounter;
+
+    private boolean hintsEnabled = true;
+    private double hintRadius = 48;
+    private int autoRevealTicks = 60 * 20;
+    private int revealDurationTicks = 5 * 20;
+
+    /**
+     * Posição de referência e tick desde o qual o Hider está parado
+     */
+    private static class StillState {
+        private double anchorX;
+        private double anchorY;
+        private double anchorZ;
+        private long stillSince;
+    }
+
+    private ProximityTracker() {}
+
+    public static ProximityTracker getInstance() {
+        if (instance == null) {
+            instance = new ProximityTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean hintsEnabled, int hintRadius, int autoRevealSeconds, int revealDurationSeconds) {
+        this.hintsEnabled = hintsEnabled;
+        this.hintRadius = hintRadius;
+        this.autoRevealTicks = autoRevealSeconds * 20;
+        this.revealDurationTicks = revealDurationSeconds * 20;
+    }
+
+    /**
+     * Chamado ao fim de cada tick do servidor
+     */
+    public void tick(MinecraftServer server) {
+        GameManager gameManager = GameManager.getInstance();
+        if (gameManager.getCurrentState() != GameState.SEEKING) {
+            if (hiderGrid.size() > 0 || !stillStates.isEmpty()) {
+                reset();
+            }
+            return;
+        }
+        if (!hintsEnabled && autoRevealTicks <= 0) {
+            return;
+        }
+
+        long start = Metrics.start();
+        try {
+            tickCounter++;
+            PlayerManager playerManager = gameManager.getPlayerManager();
+
+            // Atualizar a grade apenas com os Hiders ainda ativos
+            Set<ServerPlayer> hiders = playerManager.getHiders();
+            currentHiders.clear();
+            for (ServerPlayer hider : hiders) {
+                currentHiders.add(hider.getUUID());
+                hiderGrid.update(hider.getUUID(), hider.getX(), hider.getY(), hider.getZ());
+                if (autoRevealTicks > 0) {
+                    checkStillness(server, hider);
+                }
+            }
+            if (hiderGrid.size() != currentHiders.size()) {
+                removeStale();
+            }
+
+            if (hintsEnabled && tickCounter % HINT_INTERVAL_TICKS == 0) {
+                for (ServerPlayer seeker : playerManager.getSeekers()) {
+                    SpatialGrid.Entry nearest = hiderGrid.findNearest(seeker.getX(), seeker.getY(), seeker.getZ(), hintRadius);
+                    double distance = nearest == null ? -1 : Math.sqrt(
+                        seeker.distanceToSqr(nearest.getX(), nearest.getY(), nearest.getZ()));
+                    ChatManager.getInstance().proximityHint(seeker, distance, hintRadius);
+                }
+            }
+        } finally {
+            Metrics.stop(Metrics.Section.PROXIMITY, start);
+        }
+    }
+
+    /**
+     * Limpa a grade e os contadores (fim da fase SEEKING)
+     */
+    public void reset() {
+        hiderGrid.clear();
+        stillStates.clear();
+        currentHiders.clear();
+    }
+
+    /**
+     * Revela o Hider se ele ficou parado por mais tempo que o permitido
+     */
+    private void checkStillness(MinecraftServer server, ServerPlayer hider) {
+        StillState state = stillStates.get(hider.getUUID());
+        if (state == null || hider.distanceToSqr(state.anchorX, state.anchorY, state.anchorZ) > STILL_THRESHOLD_SQ) {
+            if (state == null) {
+                state = new StillState();
+                stillStates.put(hider.getUUID(), state);
+            }
+            state.anchorX = hider.getX();
+            state.anchorY = hider.getY();
+            state.anchorZ = hider.getZ();
+            state.stillSince = tickCounter;
+            return;
+        }
+
+        if (tickCounter - state.stillSince >= autoRevealTicks) {
+            EffectsManager.getInstance().applyRevealGlow(hider, revealDurationTicks);
+            ChatManager.getInstance().hiderRevealed(server, hider);
+            state.stillSince = tickCounter; // Nova revelação só após outro período parado
+        }
+    }
+
+    private void removeStale() {
+        List<UUID> stale = new ArrayList<>();
+        for (UUID uuid : hiderGrid.keys()) {
+            if (!currentHiders.contains(uuid)) {
+                stale.add(uuid);
+            }
+        }
+        for (UUID uuid : stale) {
+            hiderGrid.remove(uuid);
+            stillStates.remove(uuid);
+        }
+    }
+}
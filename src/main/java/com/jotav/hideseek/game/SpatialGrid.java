@@ -0,0 +1,133 @@
+package com.jotav.hideseek.game;
+
+import java.util.*;
+
+/**
+ * Hash espacial de posições de jogadores em colunas XZ de tamanho fixo.
+ * Atualizações só mexem no mapa quando o jogador troca de célula; a busca do
+ * mais próximo visita apenas as células que intersectam o círculo.
+ */
+public class SpatialGrid {
+    private final int cellSize;
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    /**
+     * Posição registrada de um jogador
+     */
+    public static class Entry {
+        private final UUID uuid;
+        private double x;
+        private double y;
+        private double z;
+        private long cell;
+
+        private Entry(UUID uuid) {
+            this.uuid = uuid;
+        }
+
+        public UUID getUuid() { return uuid; }
+        public double getX() { return x; }
+        public double getY() { return y; }
+        public double getZ() { return z; }
+    }
+
+    public SpatialGrid(int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+    }
+
+    /**
+     * Registra ou move um jogador
+     */
+    public Entry update(UUID uuid, double x, double y, double z) {
+        long cell = cellKey(cellCoord(x), cellCoord(z));
+        Entry entry = entries.get(uuid);
+
+        if (entry == null) {
+            entry = new Entry(uuid);
+            entries.put(uuid, entry);
+            cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(entry);
+        } else if (entry.cell != cell) {
+            unlink(entry);
+            cells.computeIfAbsent(cell, key -> new ArrayList<>(4)).add(entry);
+        }
+
+        entry.x = x;
+        entry.y = y;
+        entry.z = z;
+        entry.cell = cell;
+        return entry;
+    }
+
+    public boolean remove(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        if (entry == null) {
+            return false;
+        }
+        unlink(entry);
+        return true;
+    }
+
+    public Set<UUID> keys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public int size() { return entries.size(); }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    /**
+     * Entrada mais próxima dentro do raio (distância 3D), ou null
+     */
+    public Entry findNearest(double x, double y, double z, double radius) {
+        double radiusSq = radius * radius;
+        Entry nearest = null;
+        double nearestSq = Double.MAX_VALUE;
+
+        int minCellX = cellCoord(x - radius);
+        int maxCellX = cellCoord(x + radius);
+        int minCellZ = cellCoord(z - radius);
+        int maxCellZ = cellCoord(z + radius);
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<Entry> bucket = cells.get(cellKey(cellX, cellZ));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry entry : bucket) {
+                    double dx = entry.x - x;
+                    double dy = entry.y - y;
+                    double dz = entry.z - z;
+                    double distanceSq = dx * dx + dy * dy + dz * dz;
+                    if (distanceSq <= radiusSq && distanceSq < nearestSq) {
+                        nearestSq = distanceSq;
+                        nearest = entry;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private void unlink(Entry entry) {
+        List<Entry> bucket = cells.get(entry.cell);
+        if (bucket != null) {
+            bucket.remove(entry);
+            if (bucket.isEmpty()) {
+                cells.remove(entry.cell);
+            }
+        }
+    }
+
+    private int cellCoord(double value) {
+        return Math.floorDiv((int) Math.floor(value), cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
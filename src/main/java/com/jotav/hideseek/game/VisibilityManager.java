@@ -0,0 +1,184 @@
+package com.jotav.hideseek.game;
+
+import com.jotav.hideseek.config.GameConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decide, por par (entidade, observador), se o rastreador de entidades deve enviar
+ * a entidade ao jogador. Consultado pelo EntityMixin a cada atualização do rastreador,
+ * por isso usa apenas conjuntos já montados e comparações de coordenadas. Mudanças de
+ * papel forçam essa atualização para os jogadores afetados.
+ *
+ * Regras durante HIDING/SEEKING:
+ * - Espectadores do jogo (Hiders capturados) não são enviados aos participantes ativos
+ * - Opcionalmente, participantes não são enviados a jogadores de fora do jogo que
+ *   estejam longe da arena
+ */
+public class VisibilityManager {
+    private static VisibilityManager instance;
+
+    private final Set<UUID> participants = new HashSet<>();
+    private final Set<UUID> spectators = new HashSet<>();
+    private boolean active = false;
+
+    private boolean farCullingEnabled = false;
+    private int farCullingMargin = 64;
+
+    // Limites da arena expandidos pela margem (calculados ao iniciar a rodada)
+    private boolean hasArena;
+    private int minX;
+    private int minZ;
+    private int maxX;
+    private int maxZ;
+
+    private VisibilityManager() {}
+
+    public static VisibilityManager getInstance() {
+        if (instance == null) {
+            instance = new VisibilityManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean farCullingEnabled, int farCullingMargin) {
+        this.farCullingEnabled = farCullingEnabled;
+        this.farCullingMargin = farCullingMargin;
+    }
+
+    /**
+     * Atualiza os papéis a partir do PlayerManager (chamado ao fim de cada tick do servidor).
+     * Jogadores cujo papel mudou (ou todos, ao iniciar/encerrar a rodada) têm o rastreamento
+     * reavaliado na hora, já que o rastreador só consulta o EntityMixin quando algo se move.
+     */
+    public void refresh() {
+        GameManager gameManager = GameManager.getInstance();
+        GameState state = gameManager.getCurrentState();
+        boolean nowActive = state == GameState.HIDING || state == GameState.SEEKING;
+
+        if (!nowActive) {
+            if (active) {
+                active = false;
+                Set<UUID> changed = new HashSet<>(participants);
+                changed.addAll(spectators);
+                participants.clear();
+                spectators.clear();
+                refreshTracking(gameManager, changed);
+            }
+            return;
+        }
+
+        if (!active) {
+            loadArenaBounds();
+            active = true;
+        }
+
+        PlayerManager playerManager = gameManager.getPlayerManager();
+        Set<UUID> newParticipants = new HashSet<>();
+        for (ServerPlayer hider : playerManager.getHiders()) {
+            newParticipants.add(hider.getUUID());
+        }
+        for (ServerPlayer seeker : playerManager.getSeekers()) {
+            newParticipants.add(seeker.getUUID());
+        }
+        Set<UUID> newSpectators = new HashSet<>();
+        for (ServerPlayer spectator : playerManager.getSpectators()) {
+            newSpectators.add(spectator.getUUID());
+        }
+
+        if (newParticipants.equals(participants) && newSpectators.equals(spectators)) {
+            return;
+        }
+
+        Set<UUID> changed = new HashSet<>();
+        addDifference(changed, participants, newParticipants);
+        addDifference(changed, spectators, newSpectators);
+        participants.clear();
+        participants.addAll(newParticipants);
+        spectators.clear();
+        spectators.addAll(newSpectators);
+        refreshTracking(gameManager, changed);
+    }
+
+    private static void addDifference(Set<UUID> out, Set<UUID> before, Set<UUID> after) {
+        for (UUID uuid : before) {
+            if (!after.contains(uuid)) {
+                out.add(uuid);
+            }
+        }
+        for (UUID uuid : after) {
+            if (!before.contains(uuid)) {
+                out.add(uuid);
+            }
+        }
+    }
+
+    /**
+     * Força o rastreador a reavaliar os jogadores nos dois sentidos: quem vê cada um
+     * deles e o que cada um deles vê (ChunkMap.move chama updatePlayers/updatePlayer)
+     */
+    private void refreshTracking(GameManager gameManager, Set<UUID> changed) {
+        MinecraftServer server = gameManager.getServer();
+        if (server == null || changed.isEmpty()) {
+            return;
+        }
+        for (UUID uuid : changed) {
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+            if (player != null) {
+                player.serverLevel().getChunkSource().move(player);
+            }
+        }
+    }
+
+    /**
+     * @return true se a entidade não deve ser rastreada pelo observador
+     */
+    public boolean shouldHide(Entity entity, ServerPlayer viewer) {
+        if (!active || entity == viewer || !(entity instanceof ServerPlayer)) {
+            return false;
+        }
+
+        UUID entityId = entity.getUUID();
+        UUID viewerId = viewer.getUUID();
+
+        // Espectadores nunca aparecem para participantes ativos
+        if (spectators.contains(entityId)) {
+            return participants.contains(viewerId);
+        }
+
+        // Participantes não são enviados a quem está fora do jogo e longe da arena
+        if (farCullingEnabled && hasArena && participants.contains(entityId)
+                && !participants.contains(viewerId) && !spectators.contains(viewerId)) {
+            return isFarFromArena(viewer);
+        }
+
+        return false;
+    }
+
+    private boolean isFarFromArena(ServerPlayer viewer) {
+        double x = viewer.getX();
+        double z = viewer.getZ();
+        return x < minX || x > maxX || z < minZ || z > maxZ;
+    }
+
+    private void loadArenaBounds() {
+        BlockPos min = GameConfig.getInstance().getMapBoundaryMin();
+        BlockPos max = GameConfig.getInstance().getMapBoundaryMax();
+        hasArena = min != null && max != null;
+        if (hasArena) {
+            minX = Math.min(min.getX(), max.getX()) - farCullingMargin;
+            minZ = Math.min(min.getZ(), max.getZ()) - farCullingMargin;
+            maxX = Math.max(min.getX(), max.getX()) + farCullingMargin;
+            maxZ = Math.max(min.getZ(), max.getZ()) + farCullingMargin;
+        }
+    }
+}
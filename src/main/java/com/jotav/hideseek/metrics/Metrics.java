@@ -0,0 +1,143 @@
+package com.jotav.hideseek.metrics;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Instrumentação leve dos pontos quentes do mod.
+ * Uso: {@code long start = Metrics.start(); ... Metrics.stop(Section.X, start);}
+ * ou {@code Metrics.time(Section.X, this::metodo);}
+ * Quando desativada, custa apenas uma leitura de campo volátil por seção.
+ */
+public final class Metrics {
+    /**
+     * Seções medidas
+     */
+    public enum Section {
+        EVENT_ATTACK("Evento: ataque"),
+        EVENT_PLAYER_TICK("Evento: tick do jogador"),
+        EVENT_LOGIN("Evento: login/logout"),
+        TRANSITION_STARTING("Transição: STARTING"),
+        TRANSITION_HIDING("Transição: HIDING"),
+        TRANSITION_SEEKING("Transição: SEEKING"),
+        GAME_END("Fim de jogo"),
+        GAME_STOP("Reset do jogo"),
+        CAPTURE("Captura"),
+        TELEPORT("Teleporte"),
+        STATS_SAVE("Gravação de stats"),
+        BOSSBAR_UPDATE("Atualização BossBar"),
+        SCOREBOARD_UPDATE("Atualização Scoreboard"),
+        REPLAY_RECORD("Gravação de replay"),
+        PROXIMITY("Proximidade (grade espacial)"),
+        STATS_ROUND_RESULT("Resultado da rodada (stats)");
+
+        private final String displayName;
+
+        Section(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+    }
+
+    private static volatile boolean enabled = false;
+    private static final Map<Section, LatencyHistogram> histograms = new EnumMap<>(Section.class);
+
+    static {
+        for (Section section : Section.values()) {
+            histograms.put(section, new LatencyHistogram());
+        }
+    }
+
+    private Metrics() {}
+
+    /**
+     * Marca o início de uma seção (0 quando desativado)
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Registra a duração de uma seção iniciada com {@link #start()}
+     */
+    public static void stop(Section section, long start) {
+        if (start != 0L) {
+            histograms.get(section).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Mede a execução de uma ação inteira
+     */
+    public static void time(Section section, Runnable action) {
+        long start = start();
+        try {
+            action.run();
+        } finally {
+            stop(section, start);
+        }
+    }
+
+    public static boolean isEnabled() { return enabled; }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static LatencyHistogram getHistogram(Section section) {
+        return histograms.get(section);
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Gera componente de texto com p50/p99/máximo e contagem de cada seção
+     */
+    public static Component getSummaryComponent() {
+        MutableComponent component = Component.literal("⏱ Métricas Hide and Seek")
+            .withStyle(ChatFormatting.AQUA, ChatFormatting.BOLD)
+            .append(Component.literal(enabled ? " (ativas)" : " (desativadas)")
+                .withStyle(enabled ? ChatFormatting.GREEN : ChatFormatting.RED))
+            .append(Component.literal("\n" + "=".repeat(30)).withStyle(ChatFormatting.GRAY));
+
+        boolean any = false;
+        for (Section section : Section.values()) {
+            LatencyHistogram histogram = histograms.get(section);
+            long count = histogram.getCount();
+            if (count == 0) {
+                continue;
+            }
+            any = true;
+            component.append(Component.literal("\n" + section.getDisplayName() + ": ").withStyle(ChatFormatting.YELLOW))
+                .append(Component.literal(String.format("n=%d p50=%s p99=%s max=%s",
+                    count,
+                    formatNanos(histogram.percentile(50)),
+                    formatNanos(histogram.percentile(99)),
+                    formatNanos(histogram.getMaxNanos()))).withStyle(ChatFormatting.WHITE));
+        }
+
+        if (!any) {
+            component.append(Component.literal("\nNenhuma amostra registrada.").withStyle(ChatFormatting.GRAY));
+        }
+        return component;
+    }
+
+    /**
+     * Formata nanossegundos em µs/ms legíveis
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000_000L) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,196 @@
+package com.jotav.hideseek.metrics;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.game.GameState;
+import com.jotav.hideseek.stats.StatsManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Endpoint HTTP local (127.0.0.1) que publica métricas no formato texto do Prometheus.
+ * Lê apenas contadores atômicos/voláteis e o retrato do jogo publicado a cada tick,
+ * sem tocar no estado do jogo nem bloquear a thread do servidor.
+ */
+public class MetricsHttpServer {
+    private static MetricsHttpServer instance;
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    /**
+     * Estado do jogo copiado na thread do servidor (imutável)
+     */
+    public static class GameSnapshot {
+        private final GameState state;
+        private final int lobby;
+        private final int hiders;
+        private final int seekers;
+        private final int spectators;
+        private final long roundsStarted;
+        private final long roundsFinished;
+        private final long capturesTotal;
+        private final long capturesLastMinute;
+
+        public GameSnapshot(GameState state, int lobby, int hiders, int seekers, int spectators,
+                            long roundsStarted, long roundsFinished, long capturesTotal, long capturesLastMinute) {
+            this.state = state;
+            this.lobby = lobby;
+            this.hiders = hiders;
+            this.seekers = seekers;
+            this.spectators = spectators;
+            this.roundsStarted = roundsStarted;
+            this.roundsFinished = roundsFinished;
+            this.capturesTotal = capturesTotal;
+            this.capturesLastMinute = capturesLastMinute;
+        }
+    }
+
+    private final AtomicReference<GameSnapshot> gameSnapshot = new AtomicReference<>();
+
+    private MetricsHttpServer() {}
+
+    public static MetricsHttpServer getInstance() {
+        if (instance == null) {
+            instance = new MetricsHttpServer();
+        }
+        return instance;
+    }
+
+    /**
+     * Inicia o endpoint em /metrics (porta 0 = desativado)
+     */
+    public void start(int port) {
+        stop();
+        if (port <= 0) {
+            return;
+        }
+
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "HideSeek-Metrics-HTTP");
+                thread.setDaemon(true);
+                return thread;
+            });
+            httpServer.setExecutor(executor);
+            httpServer.createContext("/metrics", this::handle);
+            httpServer.start();
+            HideSeek.LOGGER.info("Metrics endpoint listening on http://127.0.0.1:{}/metrics", port);
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to start metrics endpoint on port {}", port, e);
+            stop();
+        }
+    }
+
+    /**
+     * Se o endpoint está ativo (thread do servidor)
+     */
+    public boolean isRunning() {
+        return httpServer != null;
+    }
+
+    /**
+     * Publica o estado do jogo para a próxima leitura do endpoint (thread do servidor, a cada tick)
+     */
+    public void publish(GameSnapshot snapshot) {
+        gameSnapshot.set(snapshot);
+    }
+
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body = render().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Gera o texto de exposição no formato do Prometheus
+     */
+    private String render() {
+        GameSnapshot game = gameSnapshot.get();
+        StatsManager statsManager = StatsManager.getInstance();
+        StringBuilder out = new StringBuilder(2048);
+
+        if (game != null) {
+            counter(out, "hideseek_rounds_started_total", "Rodadas iniciadas", game.roundsStarted);
+            counter(out, "hideseek_rounds_finished_total", "Rodadas finalizadas", game.roundsFinished);
+            counter(out, "hideseek_captures_total", "Hiders capturados", game.capturesTotal);
+            gauge(out, "hideseek_captures_last_minute", "Capturas nos últimos 60 segundos", game.capturesLastMinute);
+
+            out.append("# HELP hideseek_game_state Estado atual do jogo (1 = ativo)\n# TYPE hideseek_game_state gauge\n");
+            for (GameState state : GameState.values()) {
+                out.append("hideseek_game_state{state=\"").append(state.name().toLowerCase(Locale.ROOT))
+                    .append("\"} ").append(state == game.state ? 1 : 0).append('\n');
+            }
+
+            out.append("# HELP hideseek_participants Participantes por papel\n# TYPE hideseek_participants gauge\n");
+            participants(out, "lobby", game.lobby);
+            participants(out, "hider", game.hiders);
+            participants(out, "seeker", game.seekers);
+            participants(out, "spectator", game.spectators);
+        }
+
+        counter(out, "hideseek_stats_flushes_total", "Gravações de estatísticas", statsManager.getFlushCount());
+        gauge(out, "hideseek_stats_flush_last_seconds", "Duração da última gravação de estatísticas", statsManager.getLastFlushNanos() / 1e9);
+        counter(out, "hideseek_stats_flush_seconds_total", "Tempo total gasto gravando estatísticas", statsManager.getTotalFlushNanos() / 1e9);
+        gauge(out, "hideseek_stats_journal_pending", "Entradas de estatísticas aguardando gravação", statsManager.getPendingWrites());
+
+        out.append("# HELP hideseek_section_seconds Latência das seções instrumentadas (requer metricsEnabled)\n")
+            .append("# TYPE hideseek_section_seconds summary\n");
+        for (Metrics.Section section : Metrics.Section.values()) {
+            LatencyHistogram histogram = Metrics.getHistogram(section);
+            String label = section.name().toLowerCase(Locale.ROOT);
+            quantile(out, label, "0.5", histogram.percentile(50));
+            quantile(out, label, "0.99", histogram.percentile(99));
+            out.append("hideseek_section_seconds_sum{section=\"").append(label).append("\"} ")
+                .append(histogram.getTotalNanos() / 1e9).append('\n');
+            out.append("hideseek_section_seconds_count{section=\"").append(label).append("\"} ")
+                .append(histogram.getCount()).append('\n');
+        }
+
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+            .append("# TYPE ").append(name).append(" counter\n")
+            .append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+            .append("# TYPE ").append(name).append(" gauge\n")
+            .append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void participants(StringBuilder out, String role, int value) {
+        out.append("hideseek_participants{role=\"").append(role).append("\"} ").append(value).append('\n');
+    }
+
+    private static void quantile(StringBuilder out, String section, String quantile, long nanos) {
+        out.append("hideseek_section_seconds{section=\"").append(section)
+            .append("\",quantile=\"").append(quantile).append("\"} ").append(nanos / 1e9).append('\n');
+    }
+}
@@ -0,0 +1,45 @@
+package com.jotav.hideseek.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador total com janela deslizante do último minuto (60 baldes de 1 segundo).
+ * Pode ser lido de outras threads sem bloquear quem incrementa.
+ */
+public class RateCounter {
+    private static final int WINDOW_SECONDS = 60;
+
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLongArray counts = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(WINDOW_SECONDS);
+
+    public void increment() {
+        long now = System.currentTimeMillis() / 1000;
+        int index = (int) (now % WINDOW_SECONDS);
+        if (bucketSeconds.get(index) != now) {
+            bucketSeconds.set(index, now);
+            counts.set(index, 0);
+        }
+        counts.incrementAndGet(index);
+        total.incrementAndGet();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Eventos registrados nos últimos 60 segundos
+     */
+    public long getLastMinute() {
+        long now = System.currentTimeMillis() / 1000;
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (now - bucketSeconds.get(i) < WINDOW_SECONDS) {
+                sum += counts.get(i);
+            }
+        }
+        return sum;
+    }
+}
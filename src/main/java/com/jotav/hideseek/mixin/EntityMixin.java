@@ -0,0 +1,24 @@
+package com.jotav.hideseek.mixin;
+
+import com.jotav.hideseek.game.VisibilityManager;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Consulta o VisibilityManager antes de o rastreador de entidades começar a enviar
+ * uma entidade para um jogador. Retornar false impede spawn e pacotes de movimento.
+ */
+@Mixin(Entity.class)
+public abstract class EntityMixin {
+
+    @Inject(method = "broadcastToPlayer", at = @At("HEAD"), cancellable = true)
+    private void hideseek$cullForViewer(ServerPlayer viewer, CallbackInfoReturnable<Boolean> cir) {
+        if (VisibilityManager.getInstance().shouldHide((Entity) (Object) this, viewer)) {
+            cir.setReturnValue(false);
+        }
+    }
+}
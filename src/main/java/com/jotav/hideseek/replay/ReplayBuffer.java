@@ -0,0 +1,250 @@
+package com.jotav.hideseek.replay;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Buffer circular de gravação, dividido em segmentos que começam com um quadro-chave.
+ * Cada amostra é codificada como delta do tick anterior (varint zigzag); jogadores
+ * parados não gastam nenhum byte. Ao exceder o limite de memória, os segmentos mais
+ * antigos são descartados inteiros, preservando a decodificação dos restantes.
+ *
+ * Formato de um quadro (um por tick):
+ *   varint quantidade de entradas
+ *   por entrada: varint (slot << 2 | tipo), seguido de x, y, z, yaw, pitch (tipos ABSOLUTE/DELTA)
+ */
+public class ReplayBuffer {
+    public static final int KIND_DELTA = 0;
+    public static final int KIND_ABSOLUTE = 1;
+    public static final int KIND_GONE = 2;
+
+    /** Posições em 1/32 de bloco */
+    public static final double POSITION_SCALE = 32.0;
+
+    private final int maxBytes;
+    private final int keyframeInterval;
+    private final Deque<ReplaySegment> segments = new ArrayDeque<>();
+    private long storedBytes;
+
+    // Segmento em gravação
+    private byte[] data = new byte[4096];
+    private int length;
+    private int segmentStartTick;
+    private int segmentFrames;
+
+    // Último estado gravado por slot (para deltas)
+    private long[] lastX = new long[16];
+    private long[] lastY = new long[16];
+    private long[] lastZ = new long[16];
+    private byte[] lastYaw = new byte[16];
+    private byte[] lastPitch = new byte[16];
+    private boolean[] present = new boolean[16];
+    private boolean[] seenThisTick = new boolean[16];
+
+    // Quadro em construção
+    private int frameCountOffset;
+    private int frameEntries;
+    private boolean keyframe = true;
+    private int tick;
+
+    public ReplayBuffer(int maxBytes, int keyframeInterval) {
+        this.maxBytes = maxBytes;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Inicia o quadro do próximo tick
+     */
+    public void beginFrame() {
+        if (segmentFrames >= keyframeInterval) {
+            closeSegment();
+        }
+        if (segmentFrames == 0) {
+            segmentStartTick = tick;
+            keyframe = true;
+        }
+
+        // Reserva espaço fixo (3 bytes) para a contagem, preenchida em endFrame
+        ensureCapacity(3);
+        frameCountOffset = length;
+        length += 3;
+        frameEntries = 0;
+        Arrays.fill(seenThisTick, false);
+    }
+
+    /**
+     * Grava a amostra de um participante no quadro atual
+     */
+    public void sample(int slot, double x, double y, double z, float yaw, float pitch) {
+        ensureSlot(slot);
+        seenThisTick[slot] = true;
+
+        long fx = Math.round(x * POSITION_SCALE);
+        long fy = Math.round(y * POSITION_SCALE);
+        long fz = Math.round(z * POSITION_SCALE);
+        byte byaw = packAngle(yaw);
+        byte bpitch = packAngle(pitch);
+
+        if (keyframe || !present[slot]) {
+            writeVarInt(slot << 2 | KIND_ABSOLUTE);
+            writeVarLong(zigzag(fx));
+            writeVarLong(zigzag(fy));
+            writeVarLong(zigzag(fz));
+            writeByte(byaw);
+            writeByte(bpitch);
+            frameEntries++;
+        } else {
+            long dx = fx - lastX[slot];
+            long dy = fy - lastY[slot];
+            long dz = fz - lastZ[slot];
+            int dyaw = (byte) (byaw - lastYaw[slot]);
+            int dpitch = (byte) (bpitch - lastPitch[slot]);
+            if ((dx | dy | dz | dyaw | dpitch) == 0) {
+                return; // Parado: nada a gravar
+            }
+            writeVarInt(slot << 2 | KIND_DELTA);
+            writeVarLong(zigzag(dx));
+            writeVarLong(zigzag(dy));
+            writeVarLong(zigzag(dz));
+            writeVarInt(zigzag(dyaw));
+            writeVarInt(zigzag(dpitch));
+            frameEntries++;
+        }
+
+        present[slot] = true;
+        lastX[slot] = fx;
+        lastY[slot] = fy;
+        lastZ[slot] = fz;
+        lastYaw[slot] = byaw;
+        lastPitch[slot] = bpitch;
+    }
+
+    /**
+     * Fecha o quadro; slots que não foram amostrados neste tick são marcados como ausentes
+     */
+    public void endFrame() {
+        for (int slot = 0; slot < present.length; slot++) {
+            if (present[slot] && !seenThisTick[slot]) {
+                writeVarInt(slot << 2 | KIND_GONE);
+                present[slot] = false;
+                frameEntries++;
+            }
+        }
+
+        // Contagem em varint de 3 bytes fixos (até 2^21 entradas)
+        data[frameCountOffset] = (byte) ((frameEntries & 0x7F) | 0x80);
+        data[frameCountOffset + 1] = (byte) (((frameEntries >>> 7) & 0x7F) | 0x80);
+        data[frameCountOffset + 2] = (byte) ((frameEntries >>> 14) & 0x7F);
+
+        keyframe = false;
+        segmentFrames++;
+        tick++;
+    }
+
+    /**
+     * Fecha o segmento atual e retorna todos os segmentos retidos, do mais antigo ao mais novo
+     */
+    public List<ReplaySegment> finish() {
+        if (segmentFrames > 0) {
+            closeSegment();
+        }
+        return new ArrayList<>(segments);
+    }
+
+    public int getTick() { return tick; }
+    public long getStoredBytes() { return storedBytes + length; }
+
+    /**
+     * Primeiro tick ainda retido (maior que zero se segmentos antigos foram descartados)
+     */
+    public int getFirstRetainedTick() {
+        ReplaySegment first = segments.peekFirst();
+        return first != null ? first.getStartTick() : segmentStartTick;
+    }
+
+    private void closeSegment() {
+        ReplaySegment segment = new ReplaySegment(segmentStartTick, segmentFrames, Arrays.copyOf(data, length));
+        segments.addLast(segment);
+        storedBytes += segment.getData().length;
+        length = 0;
+        segmentFrames = 0;
+        Arrays.fill(present, false);
+
+        // Descartar os segmentos mais antigos se o limite de memória for excedido
+        while (storedBytes > maxBytes && segments.size() > 1) {
+            storedBytes -= segments.removeFirst().getData().length;
+        }
+    }
+
+    // ================== CODIFICAÇÃO ==================
+
+    private void ensureSlot(int slot) {
+        if (slot < present.length) {
+            return;
+        }
+        int size = Math.max(slot + 1, present.length * 2);
+        lastX = Arrays.copyOf(lastX, size);
+        lastY = Arrays.copyOf(lastY, size);
+        lastZ = Arrays.copyOf(lastZ, size);
+        lastYaw = Arrays.copyOf(lastYaw, size);
+        lastPitch = Arrays.copyOf(lastPitch, size);
+        present = Arrays.copyOf(present, size);
+        seenThisTick = Arrays.copyOf(seenThisTick, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        data[length++] = value;
+    }
+
+    private void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static byte packAngle(float degrees) {
+        return (byte) Math.floor(degrees * 256.0f / 360.0f);
+    }
+
+    static float unpackAngle(byte packed) {
+        return packed * 360.0f / 256.0f;
+    }
+}
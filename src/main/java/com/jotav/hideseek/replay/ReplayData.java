@@ -0,0 +1,269 @@
+package com.jotav.hideseek.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gravação completa de uma rodada: participantes, dimensão e segmentos codificados.
+ * Persistida em disco comprimida com GZIP.
+ */
+public class ReplayData {
+    private static final int MAGIC = 0x48535250; // "HSRP"
+    private static final int VERSION = 1;
+
+    /**
+     * Participante gravado (índice do slot = posição na lista)
+     */
+    public static class Participant {
+        private final UUID uuid;
+        private final String name;
+        private final boolean seeker;
+
+        public Participant(UUID uuid, String name, boolean seeker) {
+            this.uuid = uuid;
+            this.name = name;
+            this.seeker = seeker;
+        }
+
+        public UUID getUuid() { return uuid; }
+        public String getName() { return name; }
+        public boolean isSeeker() { return seeker; }
+    }
+
+    private final long roundId;
+    private final String dimension;
+    private final int totalTicks;
+    private final List<Participant> participants;
+    private final List<ReplaySegment> segments;
+
+    public ReplayData(long roundId, String dimension, int totalTicks,
+                      List<Participant> participants, List<ReplaySegment> segments) {
+        this.roundId = roundId;
+        this.dimension = dimension;
+        this.totalTicks = totalTicks;
+        this.participants = participants;
+        this.segments = segments;
+    }
+
+    public long getRoundId() { return roundId; }
+    public String getDimension() { return dimension; }
+    public int getTotalTicks() { return totalTicks; }
+    public List<Participant> getParticipants() { return Collections.unmodifiableList(participants); }
+    public List<ReplaySegment> getSegments() { return Collections.unmodifiableList(segments); }
+
+    /**
+     * Primeiro tick disponível (segmentos antigos podem ter sido descartados pelo buffer circular)
+     */
+    public int getFirstTick() {
+        return segments.isEmpty() ? totalTicks : segments.get(0).getStartTick();
+    }
+
+    // ================== PERSISTÊNCIA ==================
+
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(roundId);
+            out.writeUTF(dimension);
+            out.writeInt(totalTicks);
+
+            out.writeInt(participants.size());
+            for (Participant participant : participants) {
+                out.writeLong(participant.getUuid().getMostSignificantBits());
+                out.writeLong(participant.getUuid().getLeastSignificantBits());
+                out.writeUTF(participant.getName());
+                out.writeBoolean(participant.isSeeker());
+            }
+
+            out.writeInt(segments.size());
+            for (ReplaySegment segment : segments) {
+                out.writeInt(segment.getStartTick());
+                out.writeInt(segment.getFrameCount());
+                out.writeInt(segment.getData().length);
+                out.write(segment.getData());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static ReplayData read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+
+            long roundId = in.readLong();
+            String dimension = in.readUTF();
+            int totalTicks = in.readInt();
+
+            int participantCount = in.readInt();
+            List<Participant> participants = new ArrayList<>(participantCount);
+            for (int i = 0; i < participantCount; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                participants.add(new Participant(uuid, in.readUTF(), in.readBoolean()));
+            }
+
+            int segmentCount = in.readInt();
+            List<ReplaySegment> segments = new ArrayList<>(segmentCount);
+            for (int i = 0; i < segmentCount; i++) {
+                int startTick = in.readInt();
+                int frameCount = in.readInt();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                segments.add(new ReplaySegment(startTick, frameCount, data));
+            }
+
+            return new ReplayData(roundId, dimension, totalTicks, participants, segments);
+        }
+    }
+
+    // ================== DECODIFICAÇÃO ==================
+
+    /**
+     * Cursor que decodifica os quadros em ordem, mantendo o estado atual de cada slot
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public class Cursor {
+        private final double[] x = new double[participants.size()];
+        private final double[] y = new double[participants.size()];
+        private final double[] z = new double[participants.size()];
+        private final float[] yaw = new float[participants.size()];
+        private final float[] pitch = new float[participants.size()];
+        private final boolean[] present = new boolean[participants.size()];
+        private final boolean[] changed = new boolean[participants.size()];
+
+        private final long[] fx = new long[participants.size()];
+        private final long[] fy = new long[participants.size()];
+        private final long[] fz = new long[participants.size()];
+        private final byte[] byaw = new byte[participants.size()];
+        private final byte[] bpitch = new byte[participants.size()];
+
+        private int segmentIndex;
+        private int frameInSegment;
+        private int offset;
+        private int tick = getFirstTick();
+
+        public boolean hasNext() {
+            return segmentIndex < segments.size();
+        }
+
+        /**
+         * Decodifica o próximo quadro; os slots alterados são acumulados até clearChanged()
+         */
+        public void next() {
+            ReplaySegment segment = segments.get(segmentIndex);
+            if (frameInSegment == 0) {
+                // Novo segmento: estado reiniciado pelo quadro-chave
+                offset = 0;
+                tick = segment.getStartTick();
+                for (int slot = 0; slot < present.length; slot++) {
+                    if (present[slot]) {
+                        present[slot] = false;
+                        changed[slot] = true;
+                    }
+                }
+            }
+
+            byte[] data = segment.getData();
+            int entries = readVarInt(data);
+            for (int i = 0; i < entries; i++) {
+                int header = readVarInt(data);
+                int slot = header >>> 2;
+                int kind = header & 3;
+
+                if (kind == ReplayBuffer.KIND_GONE) {
+                    present[slot] = false;
+                } else if (kind == ReplayBuffer.KIND_ABSOLUTE) {
+                    fx[slot] = ReplayBuffer.unzigzag(readVarLong(data));
+                    fy[slot] = ReplayBuffer.unzigzag(readVarLong(data));
+                    fz[slot] = ReplayBuffer.unzigzag(readVarLong(data));
+                    byaw[slot] = data[offset++];
+                    bpitch[slot] = data[offset++];
+                    present[slot] = true;
+                } else {
+                    fx[slot] += ReplayBuffer.unzigzag(readVarLong(data));
+                    fy[slot] += ReplayBuffer.unzigzag(readVarLong(data));
+                    fz[slot] += ReplayBuffer.unzigzag(readVarLong(data));
+                    byaw[slot] += (byte) ReplayBuffer.unzigzag(readVarInt(data));
+                    bpitch[slot] += (byte) ReplayBuffer.unzigzag(readVarInt(data));
+                }
+
+                x[slot] = fx[slot] / ReplayBuffer.POSITION_SCALE;
+                y[slot] = fy[slot] / ReplayBuffer.POSITION_SCALE;
+                z[slot] = fz[slot] / ReplayBuffer.POSITION_SCALE;
+                yaw[slot] = ReplayBuffer.unpackAngle(byaw[slot]);
+                pitch[slot] = ReplayBuffer.unpackAngle(bpitch[slot]);
+                changed[slot] = true;
+            }
+
+            tick++;
+            frameInSegment++;
+            if (frameInSegment >= segment.getFrameCount()) {
+                segmentIndex++;
+                frameInSegment = 0;
+            }
+        }
+
+        public int getTick() { return tick; }
+        public int getSlotCount() { return present.length; }
+        public boolean isPresent(int slot) { return present[slot]; }
+        public boolean isChanged(int slot) { return changed[slot]; }
+        public double getX(int slot) { return x[slot]; }
+        public double getY(int slot) { return y[slot]; }
+        public double getZ(int slot) { return z[slot]; }
+        public float getYaw(int slot) { return yaw[slot]; }
+        public float getPitch(int slot) { return pitch[slot]; }
+
+        public void clearChanged() {
+            Arrays.fill(changed, false);
+        }
+
+        private int readVarInt(byte[] data) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private long readVarLong(byte[] data) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.jotav.hideseek.replay;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.game.GameManager;
+import com.jotav.hideseek.game.GameState;
+import com.jotav.hideseek.game.PlayerManager;
+import com.jotav.hideseek.metrics.Metrics;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Grava posição e rotação dos participantes a cada tick durante HIDING/SEEKING.
+ * A amostragem roda na thread do servidor e só escreve em um buffer em memória;
+ * a compressão e a gravação em disco acontecem em uma thread de E/S ao fim da rodada.
+ */
+public class ReplayRecorder {
+    private static ReplayRecorder instance;
+
+    private static final String FILE_PREFIX = "round-";
+    private static final String FILE_SUFFIX = ".hsr";
+    private static final int KEYFRAME_INTERVAL = 100; // 5 segundos
+
+    private final Path directory = Paths.get("hideseek_replays");
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HideSeek-Replay-IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private boolean enabled = true;
+    private int maxBytes = 4 * 1024 * 1024;
+    private int maxFiles = 50;
+
+    // Gravação atual (apenas na thread do servidor)
+    private ReplayBuffer buffer;
+    private long recordingRoundId;
+    private String recordingDimension;
+    private final List<ReplayData.Participant> participants = new ArrayList<>();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+
+    private ReplayRecorder() {}
+
+    public static ReplayRecorder getInstance() {
+        if (instance == null) {
+            instance = new ReplayRecorder();
+        }
+        return instance;
+    }
+
+    /**
+     * Aplica configuração (chamado ao iniciar o servidor)
+     */
+    public void configure(boolean enabled, int maxKilobytes, int maxFiles) {
+        this.enabled = enabled;
+        this.maxBytes = maxKilobytes * 1024;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Chamado ao fim de cada tick do servidor
+     */
+    public void tick() {
+        GameManager gameManager = GameManager.getInstance();
+        GameState state = gameManager.getCurrentState();
+        boolean active = state == GameState.HIDING || state == GameState.SEEKING;
+
+        if (!active || !enabled) {
+            if (buffer != null) {
+                finishRecording();
+            }
+            return;
+        }
+
+        if (buffer != null && recordingRoundId != gameManager.getCurrentRoundId()) {
+            finishRecording();
+        }
+
+        long start = Metrics.start();
+        try {
+            PlayerManager playerManager = gameManager.getPlayerManager();
+            Set<ServerPlayer> hiders = playerManager.getHiders();
+            Set<ServerPlayer> seekers = playerManager.getSeekers();
+
+            if (buffer == null) {
+                beginRecording(gameManager.getCurrentRoundId(), hiders, seekers);
+            }
+
+            buffer.beginFrame();
+            sampleAll(hiders, false);
+            sampleAll(seekers, true);
+            buffer.endFrame();
+        } finally {
+            Metrics.stop(Metrics.Section.REPLAY_RECORD, start);
+        }
+    }
+
+    /**
+     * Finaliza a gravação atual e aguarda a gravação em disco (ex: servidor parando)
+     */
+    public void flush() {
+        if (buffer != null) {
+            finishRecording();
+        }
+        try {
+            ioExecutor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            HideSeek.LOGGER.warn("Timed out waiting for replay writes: {}", e.getMessage());
+        }
+    }
+
+    // ================== ARQUIVOS ==================
+
+    /**
+     * Lista as rodadas gravadas, da mais recente para a mais antiga
+     */
+    public List<Long> listRecordings() {
+        List<Long> rounds = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return rounds;
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX))
+                .forEach(name -> {
+                    try {
+                        rounds.add(Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+                    } catch (NumberFormatException ignored) {
+                        // Arquivo com nome inesperado
+                    }
+                });
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to list replay directory", e);
+        }
+
+        rounds.sort(Comparator.reverseOrder());
+        return rounds;
+    }
+
+    /**
+     * Carrega uma gravação na thread de E/S
+     */
+    public CompletableFuture<ReplayData> load(long roundId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ReplayData.read(fileFor(roundId));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, ioExecutor);
+    }
+
+    // ================== INTERNOS ==================
+
+    private void beginRecording(long roundId, Set<ServerPlayer> hiders, Set<ServerPlayer> seekers) {
+        buffer = new ReplayBuffer(maxBytes, KEYFRAME_INTERVAL);
+        recordingRoundId = roundId;
+        recordingDimension = null;
+        participants.clear();
+        slots.clear();
+
+        // Slots atribuídos no início; participantes tardios recebem slot ao aparecer
+        for (ServerPlayer hider : hiders) {
+            slotFor(hider, false);
+        }
+        for (ServerPlayer seeker : seekers) {
+            slotFor(seeker, true);
+        }
+        HideSeek.LOGGER.debug("Replay recording started for round {}", roundId);
+    }
+
+    private void sampleAll(Set<ServerPlayer> players, boolean seekers) {
+        for (ServerPlayer player : players) {
+            if (recordingDimension == null) {
+                recordingDimension = player.level().dimension().location().toString();
+            }
+            buffer.sample(slotFor(player, seekers), player.getX(), player.getY(), player.getZ(),
+                player.getYRot(), player.getXRot());
+        }
+    }
+
+    private int slotFor(ServerPlayer player, boolean seeker) {
+        Integer slot = slots.get(player.getUUID());
+        if (slot == null) {
+            slot = participants.size();
+            participants.add(new ReplayData.Participant(player.getUUID(), player.getName().getString(), seeker));
+            slots.put(player.getUUID(), slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Entrega o buffer para a thread de E/S, que comprime e grava em disco
+     */
+    private void finishRecording() {
+        ReplayData data = new ReplayData(recordingRoundId,
+            recordingDimension != null ? recordingDimension : "minecraft:overworld",
+            buffer.getTick(), new ArrayList<>(participants), buffer.finish());
+        buffer = null;
+        participants.clear();
+        slots.clear();
+
+        if (data.getTotalTicks() == 0) {
+            return;
+        }
+
+        ioExecutor.execute(() -> {
+            try {
+                Files.createDirectories(directory);
+                data.write(fileFor(data.getRoundId()));
+                pruneOldRecordings();
+                HideSeek.LOGGER.info("Saved replay for round {} ({} ticks, {} participants)",
+                    data.getRoundId(), data.getTotalTicks(), data.getParticipants().size());
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to save replay for round {}", data.getRoundId(), e);
+            }
+        });
+    }
+
+    private void pruneOldRecordings() {
+        List<Long> rounds = listRecordings();
+        for (int i = maxFiles; i < rounds.size(); i++) {
+            try {
+                Files.deleteIfExists(fileFor(rounds.get(i)));
+            } catch (IOException e) {
+                HideSeek.LOGGER.warn("Failed to delete old replay {}: {}", rounds.get(i), e.getMessage());
+            }
+        }
+    }
+
+    private Path fileFor(long roundId) {
+        return directory.resolve(FILE_PREFIX + roundId + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jotav.hideseek.replay;
+
+/**
+ * Trecho da gravação que começa com um quadro-chave (decodificável de forma independente)
+ */
+public class ReplaySegment {
+    private final int startTick;
+    private final int frameCount;
+    private final byte[] data;
+
+    public ReplaySegment(int startTick, int frameCount, byte[] data) {
+        this.startTick = startTick;
+        this.frameCount = frameCount;
+        this.data = data;
+    }
+
+    public int getStartTick() { return startTick; }
+    public int getFrameCount() { return frameCount; }
+    public byte[] getData() { return data; }
+}
@@ -0,0 +1,210 @@
+package com.jotav.hideseek.replay;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundRotateHeadPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.protocol.game.ClientboundTeleportEntityPacket;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.decoration.ArmorStand;
+
+import java.util.*;
+
+/**
+ * Reproduz gravações para um espectador usando entidades falsas (suportes de armadura),
+ * enviadas apenas por pacotes ao próprio espectador — nada é adicionado ao mundo.
+ * Em velocidades altas vários quadros são decodificados por tick e só o estado final é enviado.
+ */
+public class ReplayViewer {
+    private static ReplayViewer instance;
+
+    public static final double MIN_SPEED = 0.25;
+    public static final double MAX_SPEED = 16.0;
+
+    private final Map<UUID, Session> sessions = new HashMap<>();
+
+    /**
+     * Sessão de reprodução de um espectador
+     */
+    private static class Session {
+        private final ServerPlayer viewer;
+        private final ServerLevel level;
+        private final ReplayData data;
+        private final ReplayData.Cursor cursor;
+        private final ArmorStand[] stands;
+        private double speed;
+        private double pendingTicks;
+
+        private Session(ServerPlayer viewer, ReplayData data, double speed) {
+            this.viewer = viewer;
+            this.level = viewer.serverLevel();
+            this.data = data;
+            this.cursor = data.cursor();
+            this.stands = new ArmorStand[data.getParticipants().size()];
+            this.speed = speed;
+        }
+    }
+
+    private ReplayViewer() {}
+
+    public static ReplayViewer getInstance() {
+        if (instance == null) {
+            instance = new ReplayViewer();
+        }
+        return instance;
+    }
+
+    /**
+     * Inicia a reprodução para o espectador (substitui uma reprodução anterior)
+     */
+    public void start(ServerPlayer viewer, ReplayData data, double speed) {
+        stop(viewer);
+        sessions.put(viewer.getUUID(), new Session(viewer, data, clampSpeed(speed)));
+    }
+
+    /**
+     * Encerra a reprodução e remove as entidades falsas do cliente
+     */
+    public boolean stop(ServerPlayer viewer) {
+        Session session = sessions.remove(viewer.getUUID());
+        if (session == null) {
+            return false;
+        }
+        despawnAll(session);
+        return true;
+    }
+
+    public boolean setSpeed(ServerPlayer viewer, double speed) {
+        Session session = sessions.get(viewer.getUUID());
+        if (session == null) {
+            return false;
+        }
+        session.speed = clampSpeed(speed);
+        return true;
+    }
+
+    public boolean isWatching(ServerPlayer viewer) {
+        return sessions.containsKey(viewer.getUUID());
+    }
+
+    /**
+     * Avança todas as reproduções (chamado ao fim de cada tick do servidor)
+     */
+    public void tick() {
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+
+            // Espectador saiu ou mudou de dimensão
+            if (session.viewer.hasDisconnected() || session.viewer.serverLevel() != session.level) {
+                if (!session.viewer.hasDisconnected()) {
+                    despawnAll(session);
+                }
+                iterator.remove();
+                continue;
+            }
+
+            session.pendingTicks += session.speed;
+            while (session.pendingTicks >= 1.0 && session.cursor.hasNext()) {
+                session.cursor.next();
+                session.pendingTicks -= 1.0;
+            }
+            sendChanges(session);
+
+            if (session.viewer.tickCount % 10 == 0) {
+                sendProgress(session);
+            }
+
+            if (!session.cursor.hasNext()) {
+                despawnAll(session);
+                session.viewer.sendSystemMessage(Component.literal("Replay da rodada " + session.data.getRoundId() + " finalizado.")
+                    .withStyle(ChatFormatting.YELLOW));
+                iterator.remove();
+            }
+        }
+    }
+
+    // ================== PACOTES ==================
+
+    private void sendChanges(Session session) {
+        ReplayData.Cursor cursor = session.cursor;
+        for (int slot = 0; slot < cursor.getSlotCount(); slot++) {
+            if (!cursor.isChanged(slot)) {
+                continue;
+            }
+
+            ArmorStand stand = session.stands[slot];
+            if (!cursor.isPresent(slot)) {
+                if (stand != null) {
+                    session.viewer.connection.send(new ClientboundRemoveEntitiesPacket(stand.getId()));
+                    session.stands[slot] = null;
+                }
+                continue;
+            }
+
+            if (stand == null) {
+                session.stands[slot] = spawn(session, slot);
+                continue;
+            }
+
+            stand.moveTo(cursor.getX(slot), cursor.getY(slot), cursor.getZ(slot), cursor.getYaw(slot), cursor.getPitch(slot));
+            session.viewer.connection.send(new ClientboundTeleportEntityPacket(stand));
+            session.viewer.connection.send(new ClientboundRotateHeadPacket(stand, ReplayBuffer.packAngle(cursor.getYaw(slot))));
+        }
+        cursor.clearChanged();
+    }
+
+    private ArmorStand spawn(Session session, int slot) {
+        ReplayData.Participant participant = session.data.getParticipants().get(slot);
+        ReplayData.Cursor cursor = session.cursor;
+
+        ArmorStand stand = new ArmorStand(EntityType.ARMOR_STAND, session.level);
+        stand.moveTo(cursor.getX(slot), cursor.getY(slot), cursor.getZ(slot), cursor.getYaw(slot), cursor.getPitch(slot));
+        stand.setNoGravity(true);
+        stand.setGlowingTag(true);
+        stand.setCustomName(Component.literal(participant.getName())
+            .withStyle(participant.isSeeker() ? ChatFormatting.RED : ChatFormatting.GREEN));
+        stand.setCustomNameVisible(true);
+
+        session.viewer.connection.send(new ClientboundAddEntityPacket(stand, 0, stand.blockPosition()));
+        List<SynchedEntityData.DataValue<?>> values = stand.getEntityData().getNonDefaultValues();
+        if (values != null) {
+            session.viewer.connection.send(new ClientboundSetEntityDataPacket(stand.getId(), values));
+        }
+        return stand;
+    }
+
+    private void despawnAll(Session session) {
+        List<Integer> ids = new ArrayList<>();
+        for (ArmorStand stand : session.stands) {
+            if (stand != null) {
+                ids.add(stand.getId());
+            }
+        }
+        Arrays.fill(session.stands, null);
+        if (!ids.isEmpty()) {
+            session.viewer.connection.send(new ClientboundRemoveEntitiesPacket(ids.stream().mapToInt(Integer::intValue).toArray()));
+        }
+    }
+
+    private void sendProgress(Session session) {
+        int elapsedSeconds = session.cursor.getTick() / 20;
+        int totalSeconds = session.data.getTotalTicks() / 20;
+        session.viewer.displayClientMessage(Component.literal(String.format("▶ Replay %d:%02d / %d:%02d  (%.2fx)",
+                elapsedSeconds / 60, elapsedSeconds % 60, totalSeconds / 60, totalSeconds % 60, session.speed))
+            .withStyle(ChatFormatting.AQUA), true);
+    }
+
+    private static double clampSpeed(double speed) {
+        return Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+}
@@ -0,0 +1,214 @@
+package com.jotav.hideseek.stats;
+
+/**
+ * Totais do servidor mantidos a cada rodada (gravados em hideseek_stats/global.json),
+ * para que /hns globalstats não precise percorrer as estatísticas de todos os jogadores.
+ */
+public class GlobalAggregates {
+    // Limites superiores (exclusivos) das faixas do histograma de sobrevivência na fase de busca, em segundos
+    public static final long[] SURVIVAL_BUCKETS = {30, 60, 120, 300, 600};
+
+    // Jogadores com estatísticas (que jogaram ao menos uma partida)
+    private long players = 0;
+    private boolean playersCounted = false; // Falso em agregados gravados antes da contagem existir
+
+    // Participações e vitórias somadas de todos os jogadores
+    private long gamesPlayed = 0;
+    private long hiderWins = 0;
+    private long seekerWins = 0;
+
+    // Rodadas concluídas
+    private long rounds = 0;
+    private long hiderRounds = 0;   // Rodadas vencidas pelos Hiders
+    private long seekerRounds = 0;  // Rodadas vencidas pelos Seekers
+    private long totalRoundSeconds = 0;
+
+    // Hiders nas rodadas concluídas
+    private long hiderParticipations = 0;
+    private long hidersCaptured = 0;
+    private long totalSurvivalSeconds = 0;
+    private long[] survivalHistogram = new long[SURVIVAL_BUCKETS.length + 1];
+    private boolean seekingSurvival = false; // Falso em agregados gravados quando o histograma incluía o tempo de esconder
+
+    // Rodadas já contadas quando o histórico começou a ser gravado (0: o histórico cobre todas; -1: desconhecido)
+    private long historyStartRound = -1;
+
+    /**
+     * Um jogador jogou pela primeira vez
+     */
+    public void recordNewPlayer() {
+        players++;
+    }
+
+    /**
+     * Um jogador começou uma partida
+     */
+    public void recordGameStart() {
+        gamesPlayed++;
+    }
+
+    /**
+     * Soma uma rodada concluída
+     */
+    public void recordRound(RoundResult result) {
+        rounds++;
+        if (result.isSeekersWin()) {
+            seekerRounds++;
+        } else {
+            hiderRounds++;
+        }
+        totalRoundSeconds += result.getHidingSeconds() + result.getSeekingSeconds();
+
+        for (RoundResult.Participant participant : result.getParticipants()) {
+            if (result.isWinner(participant)) {
+                if (participant.isHider()) {
+                    hiderWins++;
+                } else {
+                    seekerWins++;
+                }
+            }
+            if (!participant.isHider()) {
+                continue;
+            }
+
+            hiderParticipations++;
+            totalSurvivalSeconds += result.getSurvivalSeconds(participant);
+            survivalHistogram[bucketOf(result.getSeekingSurvivalSeconds(participant))]++;
+            if (participant.wasCaptured()) {
+                hidersCaptured++;
+            }
+        }
+    }
+
+    /**
+     * Soma os totais de um jogador (usado uma vez para montar os agregados de estatísticas antigas)
+     */
+    public void seedFrom(PlayerStats stats) {
+        countPlayer(stats);
+        gamesPlayed += stats.getGamesPlayed();
+        hiderWins += stats.getHiderWins();
+        seekerWins += stats.getSeekerWins();
+    }
+
+    /**
+     * Conta um jogador já gravado (arquivos de quem só entrou no servidor não contam)
+     */
+    public void countPlayer(PlayerStats stats) {
+        if (stats.getGamesPlayed() > 0) {
+            players++;
+        }
+    }
+
+    /**
+     * Retira os totais de um jogador removido (as rodadas de que ele participou continuam contadas)
+     */
+    public void removePlayer(PlayerStats stats) {
+        if (stats.getGamesPlayed() > 0) {
+            players = Math.max(0, players - 1);
+        }
+        gamesPlayed = Math.max(0, gamesPlayed - stats.getGamesPlayed());
+        hiderWins = Math.max(0, hiderWins - stats.getHiderWins());
+        seekerWins = Math.max(0, seekerWins - stats.getSeekerWins());
+    }
+
+    public void markPlayersCounted() {
+        playersCounted = true;
+    }
+
+    /**
+     * Marca o histograma como medido na fase de busca (agregados novos)
+     */
+    public void markSeekingSurvival() {
+        seekingSurvival = true;
+    }
+
+    /**
+     * Zera o histograma gravado no formato antigo, que não pode ser convertido
+     */
+    public void resetSurvivalHistogram() {
+        survivalHistogram = new long[SURVIVAL_BUCKETS.length + 1];
+        seekingSurvival = true;
+    }
+
+    /**
+     * Registra quantas rodadas ficaram de fora do histórico (chamado com o histórico vazio)
+     */
+    public void markHistoryStart(long roundsBefore) {
+        historyStartRound = roundsBefore;
+    }
+
+    /**
+     * Copia os totais que o histórico não refaz: jogadores e participações/vitórias somadas de cada
+     * jogador (incluem partidas interrompidas e jogadores removidos de forma diferente das rodadas)
+     */
+    public void keepPlayerTotals(GlobalAggregates current) {
+        players = current.players;
+        playersCounted = current.playersCounted;
+        gamesPlayed = current.gamesPlayed;
+        hiderWins = current.hiderWins;
+        seekerWins = current.seekerWins;
+        historyStartRound = current.historyStartRound;
+    }
+
+    private static int bucketOf(long seconds) {
+        for (int bucket = 0; bucket < SURVIVAL_BUCKETS.length; bucket++) {
+            if (seconds < SURVIVAL_BUCKETS[bucket]) {
+                return bucket;
+            }
+        }
+        return SURVIVAL_BUCKETS.length;
+    }
+
+    // ================== GETTERS ==================
+
+    public long getPlayers() { return players; }
+    public boolean isPlayersCounted() { return playersCounted; }
+    public boolean isSeekingSurvival() { return seekingSurvival; }
+    public long getHistoryStartRound() { return historyStartRound; }
+    public long getGamesPlayed() { return gamesPlayed; }
+    public long getHiderWins() { return hiderWins; }
+    public long getSeekerWins() { return seekerWins; }
+    public long getRounds() { return rounds; }
+    public long getHiderRounds() { return hiderRounds; }
+    public long getSeekerRounds() { return seekerRounds; }
+    public long getHidersCaptured() { return hidersCaptured; }
+    public long[] getSurvivalHistogram() { return survivalHistogram.clone(); }
+
+    public long getAverageRoundSeconds() {
+        return rounds > 0 ? totalRoundSeconds / rounds : 0;
+    }
+
+    public long getAverageSurvivalSeconds() {
+        return hiderParticipations > 0 ? totalSurvivalSeconds / hiderParticipations : 0;
+    }
+
+    /**
+     * Porcentagem dos Hiders capturados antes do fim da rodada
+     */
+    public double getCaptureRate() {
+        return hiderParticipations > 0 ? (double) hidersCaptured / hiderParticipations * 100 : 0;
+    }
+
+    /**
+     * Cópia independente, para gravação fora da thread do servidor
+     */
+    public GlobalAggregates copy() {
+        GlobalAggregates copy = new GlobalAggregates();
+        copy.players = players;
+        copy.playersCounted = playersCounted;
+        copy.gamesPlayed = gamesPlayed;
+        copy.hiderWins = hiderWins;
+        copy.seekerWins = seekerWins;
+        copy.rounds = rounds;
+        copy.hiderRounds = hiderRounds;
+        copy.seekerRounds = seekerRounds;
+        copy.totalRoundSeconds = totalRoundSeconds;
+        copy.hiderParticipations = hiderParticipations;
+        copy.hidersCaptured = hidersCaptured;
+        copy.totalSurvivalSeconds = totalSurvivalSeconds;
+        copy.survivalHistogram = survivalHistogram.clone();
+        copy.seekingSurvival = seekingSurvival;
+        copy.historyStartRound = historyStartRound;
+        return copy;
+    }
+}
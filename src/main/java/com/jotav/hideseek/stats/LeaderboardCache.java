@@ -0,0 +1,49 @@
+package com.jotav.hideseek.stats;
+
+import net.minecraft.network.chat.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache das páginas de leaderboard já renderizadas.
+ * Cada página guarda a versão do ranking usada para montá-la; uma versão diferente
+ * (o ranking mudou) faz a página ser montada de novo. Páginas pouco vistas saem primeiro.
+ * Sincronizado: páginas do total são montadas e guardadas pelas threads de comandos.
+ */
+public class LeaderboardCache {
+    private static final int MAX_PAGES = 128;
+
+    private static class CachedPage {
+        private final long version;
+        private final Component component;
+
+        private CachedPage(long version, Component component) {
+            this.version = version;
+            this.component = component;
+        }
+    }
+
+    private final Map<String, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPage> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+
+    /**
+     * Página em cache, ou null se não existir ou tiver sido montada com outra versão do ranking
+     */
+    public synchronized Component get(String key, long version) {
+        CachedPage page = pages.get(key);
+        return page != null && page.version == version ? page.component : null;
+    }
+
+    public synchronized void put(String key, long version, Component component) {
+        pages.put(key, new CachedPage(version, component));
+    }
+
+    public synchronized void clear() {
+        pages.clear();
+    }
+}
@@ -0,0 +1,117 @@
+package com.jotav.hideseek.stats;
+
+import java.util.*;
+
+/**
+ * Índice ordenado de nomes de jogadores (minúsculos) para busca por prefixo.
+ * Mantém o mapeamento inverso UUID → nome para remover o nome antigo quando
+ * um jogador troca de nome.
+ */
+public class PlayerNameIndex {
+    private final NavigableMap<String, Set<UUID>> byName = new TreeMap<>();
+    private final Map<UUID, String> byUuid = new HashMap<>();
+
+    /**
+     * Registra ou atualiza o nome de um jogador
+     * @return true se o índice mudou
+     */
+    public boolean put(UUID uuid, String name) {
+        if (uuid == null || name == null) {
+            return false;
+        }
+
+        String previous = byUuid.put(uuid, name);
+        if (name.equals(previous)) {
+            return false;
+        }
+        if (previous != null) {
+            unlink(previous, uuid);
+        }
+        byName.computeIfAbsent(normalize(name), key -> new HashSet<>(1)).add(uuid);
+        return true;
+    }
+
+    /**
+     * Remove um jogador do índice
+     * @return true se o jogador estava indexado
+     */
+    public boolean remove(UUID uuid) {
+        String previous = byUuid.remove(uuid);
+        if (previous == null) {
+            return false;
+        }
+        unlink(previous, uuid);
+        return true;
+    }
+
+    public void clear() {
+        byName.clear();
+        byUuid.clear();
+    }
+
+    public String getName(UUID uuid) { return byUuid.get(uuid); }
+    public int size() { return byUuid.size(); }
+
+    /**
+     * Cópia do mapeamento UUID → nome (para persistência)
+     */
+    public Map<UUID, String> asMap() {
+        return new HashMap<>(byUuid);
+    }
+
+    /**
+     * Busca jogadores cujo nome começa com o prefixo, ordenados por relevância:
+     * nome exato, depois jogadores preferidos (ex: online), depois ordem alfabética.
+     * Custo O(log n + resultados), sem percorrer todos os nomes.
+     */
+    public List<UUID> findByPrefix(String prefix, int limit, Collection<UUID> preferred) {
+        String key = normalize(prefix);
+        LinkedHashSet<UUID> result = new LinkedHashSet<>();
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // 1. Nome exato
+        Set<UUID> exact = byName.get(key);
+        if (exact != null) {
+            exact.stream()
+                .sorted(Comparator.comparing((UUID uuid) -> !preferred.contains(uuid)))
+                .forEach(result::add);
+        }
+
+        // 2. Jogadores preferidos cujo nome combina com o prefixo
+        for (UUID uuid : preferred) {
+            String name = byUuid.get(uuid);
+            if (name != null && normalize(name).startsWith(key)) {
+                result.add(uuid);
+            }
+        }
+
+        // 3. Demais em ordem alfabética, parando ao atingir o limite
+        SortedMap<String, Set<UUID>> range = key.isEmpty() ? byName : byName.subMap(key, key + Character.MAX_VALUE);
+        for (Set<UUID> uuids : range.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.addAll(uuids);
+        }
+
+        List<UUID> ranked = new ArrayList<>(result);
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    private void unlink(String name, UUID uuid) {
+        String key = normalize(name);
+        Set<UUID> uuids = byName.get(key);
+        if (uuids != null) {
+            uuids.remove(uuid);
+            if (uuids.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
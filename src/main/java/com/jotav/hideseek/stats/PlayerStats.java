@@ -44,6 +44,9 @@ public class PlayerStats {
     private int currentLossStreak = 0;
     private int longestLossStreak = 0;
     
+    // Contadores por janela de tempo (hoje, semana, mês, temporada)
+    private WindowedStats windows = new WindowedStats();
+    
     // Construtor padrão para GSON
     public PlayerStats() {}
     
@@ -95,6 +98,8 @@ public class PlayerStats {
     public int getCurrentLossStreak() { return currentLossStreak; }
     public int getLongestLossStreak() { return longestLossStreak; }
     
+    public WindowedStats getWindows() { return windows; }
+    
     // ================== SETTERS PARA INFORMAÇÕES BÁSICAS ==================
     
     public void updateLastKnownName(String name) {
@@ -266,6 +271,38 @@ public class PlayerStats {
     
     // ================== SERIALIZAÇÃO ==================
     
+    /**
+     * Cópia independente, para gravação fora da thread do servidor
+     */
+    public PlayerStats copy() {
+        PlayerStats copy = new PlayerStats();
+        copy.playerUuid = playerUuid;
+        copy.lastKnownName = lastKnownName;
+        copy.firstPlayTime = firstPlayTime;
+        copy.lastPlayTime = lastPlayTime;
+        copy.gamesPlayed = gamesPlayed;
+        copy.gamesWon = gamesWon;
+        copy.gamesLost = gamesLost;
+        copy.gamesAsHider = gamesAsHider;
+        copy.hiderWins = hiderWins;
+        copy.hiderLosses = hiderLosses;
+        copy.timesCaptured = timesCaptured;
+        copy.totalHidingTimeSeconds = totalHidingTimeSeconds;
+        copy.longestSurvivalTimeSeconds = longestSurvivalTimeSeconds;
+        copy.gamesAsSeeker = gamesAsSeeker;
+        copy.seekerWins = seekerWins;
+        copy.seekerLosses = seekerLosses;
+        copy.playersCaptured = playersCaptured;
+        copy.totalSeekingTimeSeconds = totalSeekingTimeSeconds;
+        copy.fastestCaptureTimeSeconds = fastestCaptureTimeSeconds;
+        copy.currentWinStreak = currentWinStreak;
+        copy.longestWinStreak = longestWinStreak;
+        copy.currentLossStreak = currentLossStreak;
+        copy.longestLossStreak = longestLossStreak;
+        copy.windows = windows.copy();
+        return copy;
+    }
+    
     /**
      * Converte para JSON
      */
@@ -0,0 +1,451 @@
+package com.jotav.hideseek.stats;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jotav.hideseek.HideSeek;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento em disco das estatísticas, um arquivo por jogador.
+ * Permite carregar apenas os jogadores necessários em vez do histórico inteiro.
+ * Os arquivos são divididos em shards (subdiretórios escolhidos pelo hash do UUID),
+ * percorridos em paralelo nas varreduras completas.
+ * Leitura e escrita passam pelo StatsJsonCodec (streaming, JSON compacto).
+ * Backend padrão do StatsRepository (statsBackend = "json").
+ */
+public class PlayerStatsStore implements StatsRepository {
+    private static final String NAMES_FILE = "names.json";
+    private static final String AGGREGATES_FILE = "global.json";
+    private static final String FILE_SUFFIX = ".json";
+    private static final String DUPLICATE_SUFFIX = ".duplicate"; // Cópias descartadas ao reorganizar os shards
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String SEASONS_DIRECTORY = "seasons";
+    private static final String SEASON_FILE = "current.json";
+
+    private final Path directory;
+    private final Path legacyFile;
+    private final Gson gson;
+    private final StatsJsonCodec codec;
+    private final int shardCount;
+
+    public PlayerStatsStore(Path directory, Path legacyFile, int shardCount) {
+        this.directory = directory;
+        this.legacyFile = legacyFile;
+        this.shardCount = shardCount;
+        this.gson = new GsonBuilder().create();
+        this.codec = new StatsJsonCodec(gson);
+    }
+
+    /**
+     * Prepara os shards, move arquivos que estão no shard errado (layout antigo ou
+     * mudança no número de shards) e migra o arquivo único antigo, se existir
+     */
+    @Override
+    public void initialize() {
+        try {
+            Files.createDirectories(directory);
+            for (int shard = 0; shard < shardCount; shard++) {
+                Files.createDirectories(shardDirectory(shard));
+            }
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to create stats directory {}", directory, e);
+            return;
+        }
+
+        relocateFiles();
+        if (Files.exists(legacyFile)) {
+            migrateLegacyFile();
+        }
+    }
+
+    /**
+     * Carrega estatísticas de um jogador (null se não existir)
+     */
+    @Override
+    public PlayerStats load(UUID uuid) {
+        Path file = fileFor(uuid);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            return codec.readPlayer(file);
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to load stats for {}", uuid, e);
+            return null;
+        }
+    }
+
+    /**
+     * Salva estatísticas de um jogador
+     * @return false se o arquivo não pôde ser gravado
+     */
+    public boolean save(PlayerStats stats) {
+        if (stats.getPlayerUuid() == null) {
+            return true;
+        }
+
+        try {
+            codec.writePlayer(fileFor(stats.getPlayerUuid()), stats);
+            return true;
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to save stats for {}", stats.getPlayerUuid(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public List<PlayerStats> saveAll(Collection<PlayerStats> statsList) {
+        List<PlayerStats> failed = new ArrayList<>();
+        for (PlayerStats stats : statsList) {
+            if (!save(stats)) {
+                failed.add(stats);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        try {
+            Files.deleteIfExists(fileFor(uuid));
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to delete stats for {}", uuid, e);
+        }
+    }
+
+    /**
+     * Remove todos os arquivos de estatísticas (o índice de nomes é regravado pelo StatsManager)
+     */
+    @Override
+    public void deleteAll() {
+        IntStream.range(0, shardCount).parallel().forEach(shard -> {
+            try (Stream<Path> files = Files.list(shardDirectory(shard))) {
+                files.filter(this::isStatsFile).forEach(file -> {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        HideSeek.LOGGER.error("Failed to delete stats file {}", file, e);
+                    }
+                });
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to list stats shard {}", shard, e);
+            }
+        });
+    }
+
+    /**
+     * Percorre todas as estatísticas em disco, uma de cada vez, sem mantê-las em memória.
+     * Os shards são lidos em paralelo; o consumer é chamado por um shard de cada vez
+     * (não precisa ser thread-safe) e o método só retorna quando todos terminarem.
+     */
+    @Override
+    public void forEach(Consumer<PlayerStats> consumer) {
+        Object lock = new Object();
+        IntStream.range(0, shardCount).parallel().forEach(shard -> {
+            try (Stream<Path> files = Files.list(shardDirectory(shard))) {
+                files.filter(this::isStatsFile).forEach(file -> {
+                    PlayerStats stats;
+                    try {
+                        stats = codec.readPlayer(file);
+                    } catch (Exception e) {
+                        HideSeek.LOGGER.warn("Skipping unreadable stats file {}: {}", file, e.getMessage());
+                        return;
+                    }
+                    if (stats != null) {
+                        synchronized (lock) {
+                            consumer.accept(stats);
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to list stats shard {}", shard, e);
+            }
+        });
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // ================== ÍNDICE DE NOMES ==================
+
+    /**
+     * Carrega o índice UUID → último nome conhecido.
+     * Sem índice em disco, ele é reconstruído a partir dos shards (varredura paralela).
+     */
+    @Override
+    public Map<UUID, String> loadNames() {
+        Path file = directory.resolve(NAMES_FILE);
+        if (!Files.exists(file)) {
+            return rebuildNames();
+        }
+
+        try {
+            return codec.readNames(file);
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to load stats name index", e);
+            return new HashMap<>();
+        }
+    }
+
+    @Override
+    public void saveNames(Map<UUID, String> names) {
+        try {
+            codec.writeNames(directory.resolve(NAMES_FILE), names);
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to save stats name index", e);
+        }
+    }
+
+    // ================== AGREGADOS GLOBAIS ==================
+
+    /**
+     * Carrega os totais do servidor (null se ainda não existirem)
+     */
+    @Override
+    public GlobalAggregates loadAggregates() {
+        Path file = directory.resolve(AGGREGATES_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return gson.fromJson(reader, GlobalAggregates.class);
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to load global stats aggregates", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void saveAggregates(GlobalAggregates aggregates) {
+        try {
+            codec.writeAtomically(directory.resolve(AGGREGATES_FILE),
+                writer -> gson.toJson(aggregates, GlobalAggregates.class, writer));
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to save global stats aggregates", e);
+        }
+    }
+
+    // ================== TEMPORADAS ==================
+
+    /**
+     * Carrega a temporada atual (null se ainda não existir)
+     */
+    @Override
+    public StatsSeason loadSeason() {
+        Path file = directory.resolve(SEASONS_DIRECTORY).resolve(SEASON_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return gson.fromJson(reader, StatsSeason.class);
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to load stats season", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void saveSeason(StatsSeason season) {
+        try {
+            Files.createDirectories(directory.resolve(SEASONS_DIRECTORY));
+            codec.writeAtomically(directory.resolve(SEASONS_DIRECTORY).resolve(SEASON_FILE),
+                writer -> gson.toJson(season, StatsSeason.class, writer));
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to save stats season", e);
+        }
+    }
+
+    /**
+     * Arquivo compactado de uma temporada encerrada
+     */
+    @Override
+    public Path seasonArchiveFile(int seasonNumber) {
+        return directory.resolve(SEASONS_DIRECTORY).resolve("season-" + seasonNumber + ".json.gz");
+    }
+
+    // ================== INTERNOS ==================
+
+    private Map<UUID, String> rebuildNames() {
+        long start = System.nanoTime();
+        Map<UUID, String> names = new HashMap<>();
+        forEach(stats -> names.put(stats.getPlayerUuid(), stats.getLastKnownName()));
+        if (!names.isEmpty()) {
+            saveNames(names);
+            HideSeek.LOGGER.info("Rebuilt stats name index: {} players from {} shards in {} ms",
+                names.size(), shardCount, (System.nanoTime() - start) / 1_000_000);
+        }
+        return names;
+    }
+
+    /**
+     * Shard de um jogador: hash do UUID módulo o número de shards
+     */
+    private int shardOf(UUID uuid) {
+        return Math.floorMod(uuid.hashCode(), shardCount);
+    }
+
+    private Path shardDirectory(int shard) {
+        return directory.resolve(String.format("%s%02x", SHARD_PREFIX, shard));
+    }
+
+    private Path fileFor(UUID uuid) {
+        return shardDirectory(shardOf(uuid)).resolve(uuid + FILE_SUFFIX);
+    }
+
+    private boolean isStatsFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(FILE_SUFFIX) && !name.equals(NAMES_FILE);
+    }
+
+    /**
+     * Move para o shard correto os arquivos da raiz (um arquivo por jogador sem shards)
+     * e os de shards de outra contagem; shards vazios fora da contagem atual são removidos
+     */
+    private void relocateFiles() {
+        List<Path> sources = new ArrayList<>();
+        sources.add(directory);
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(entry -> Files.isDirectory(entry)
+                    && entry.getFileName().toString().startsWith(SHARD_PREFIX))
+                .forEach(sources::add);
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to list stats directory", e);
+            return;
+        }
+
+        int moved = 0;
+        for (Path source : sources) {
+            try (Stream<Path> files = Files.list(source)) {
+                for (Path file : files.filter(this::isStatsFile).toList()) {
+                    UUID uuid = parseUuid(file);
+                    if (uuid == null) {
+                        continue;
+                    }
+                    Path target = fileFor(uuid);
+                    if (target.equals(file)) {
+                        continue;
+                    }
+                    if (Files.exists(target) && !isNewer(file, target)) {
+                        keepAsDuplicate(file, target);
+                        continue;
+                    }
+                    if (Files.exists(target)) {
+                        keepAsDuplicate(target, file);
+                    }
+                    Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                    moved++;
+                }
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to relocate stats files from {}", source, e);
+            }
+
+            if (!source.equals(directory) && !isCurrentShard(source)) {
+                try {
+                    Files.deleteIfExists(source); // Só remove se estiver vazio
+                } catch (IOException e) {
+                    HideSeek.LOGGER.warn("Could not remove old stats shard {}: {}", source, e.getMessage());
+                }
+            }
+        }
+
+        if (moved > 0) {
+            HideSeek.LOGGER.info("Moved {} stats files into {} shards", moved, shardCount);
+        }
+    }
+
+    /**
+     * Se o arquivo tem estatísticas mais recentes que o outro (último jogo, depois partidas jogadas).
+     * Um arquivo ilegível nunca é considerado mais recente.
+     */
+    private boolean isNewer(Path file, Path other) {
+        PlayerStats candidate;
+        try {
+            candidate = codec.readPlayer(file);
+        } catch (Exception e) {
+            return false;
+        }
+        PlayerStats current;
+        try {
+            current = codec.readPlayer(other);
+        } catch (Exception e) {
+            return true;
+        }
+        if (candidate.getLastPlayTime() != current.getLastPlayTime()) {
+            return candidate.getLastPlayTime() > current.getLastPlayTime();
+        }
+        return candidate.getGamesPlayed() > current.getGamesPlayed();
+    }
+
+    /**
+     * Renomeia a cópia descartada de um jogador com arquivo duplicado (deixa de ser lida, mas não é apagada)
+     */
+    private void keepAsDuplicate(Path discarded, Path kept) throws IOException {
+        Path duplicate = discarded.resolveSibling(discarded.getFileName() + DUPLICATE_SUFFIX);
+        Files.move(discarded, duplicate, StandardCopyOption.REPLACE_EXISTING);
+        HideSeek.LOGGER.warn("Duplicate stats file for the same player: kept {}, renamed {} to {}",
+            kept, discarded, duplicate.getFileName());
+    }
+
+    private boolean isCurrentShard(Path directoryPath) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (shardDirectory(shard).equals(directoryPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UUID parseUuid(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return UUID.fromString(name.substring(0, name.length() - FILE_SUFFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converte o antigo hideseek_stats.json (arquivo único) para o formato por jogador.
+     * Jogadores que já têm arquivo são mantidos (migração anterior interrompida ou estatísticas
+     * mais novas), então repetir a migração depois de uma falha não sobrescreve nada.
+     */
+    private void migrateLegacyFile() {
+        Map<UUID, String> names = loadNames();
+        int[] skipped = {0};
+        try {
+            // Um jogador de cada vez: o arquivo antigo nunca fica inteiro em memória
+            int read = codec.readLegacy(legacyFile, stats -> {
+                if (stats.getPlayerUuid() == null) {
+                    return;
+                }
+                if (Files.exists(fileFor(stats.getPlayerUuid()))) {
+                    skipped[0]++;
+                } else if (!save(stats)) {
+                    throw new IllegalStateException("Failed to write migrated stats for " + stats.getPlayerUuid());
+                }
+                names.putIfAbsent(stats.getPlayerUuid(), stats.getLastKnownName());
+            });
+
+            Files.move(legacyFile, legacyFile.resolveSibling(legacyFile.getFileName() + ".migrated"),
+                StandardCopyOption.REPLACE_EXISTING);
+            HideSeek.LOGGER.info("Migrated {} player stats from {} ({} already present, kept)",
+                read - skipped[0], legacyFile, skipped[0]);
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to migrate legacy stats file {}, will resume on next start", legacyFile, e);
+        } finally {
+            // Nomes dos jogadores já migrados, mesmo se a migração parou no meio
+            saveNames(names);
+        }
+    }
+}
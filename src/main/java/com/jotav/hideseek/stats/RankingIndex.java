@@ -0,0 +1,119 @@
+package com.jotav.hideseek.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Ranking ordenado de uma janela de tempo, uma ordem por métrica.
+ * Atualizado a cada resultado de rodada, de forma que a consulta do topo
+ * não precisa percorrer as estatísticas de todos os jogadores.
+ */
+public class RankingIndex {
+
+    /**
+     * Valores de um jogador na janela (imutável; uma atualização cria outra entrada)
+     */
+    public static class Entry {
+        private final UUID playerUuid;
+        private final String playerName;
+        private final int[] values;
+
+        Entry(UUID playerUuid, String playerName, int[] values) {
+            this.playerUuid = playerUuid;
+            this.playerName = playerName;
+            this.values = values;
+        }
+
+        public UUID getPlayerUuid() { return playerUuid; }
+        public String getPlayerName() { return playerName; }
+        public int getValue(WindowedStats.Metric metric) { return values[metric.ordinal()]; }
+        int[] getValues() { return values; }
+    }
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<WindowedStats.Metric, TreeSet<Entry>> sorted = new EnumMap<>(WindowedStats.Metric.class);
+
+    public RankingIndex() {
+        for (WindowedStats.Metric metric : WindowedStats.Metric.values()) {
+            sorted.put(metric, new TreeSet<>(Comparator
+                .comparingInt((Entry entry) -> entry.getValue(metric)).reversed()
+                .thenComparing(Entry::getPlayerUuid)));
+        }
+    }
+
+    /**
+     * Substitui os valores de um jogador (valores zerados saem do ranking)
+     */
+    public void update(UUID playerUuid, String playerName, int[] values) {
+        remove(playerUuid);
+
+        Entry entry = new Entry(playerUuid, playerName, values);
+        boolean any = false;
+        for (WindowedStats.Metric metric : WindowedStats.Metric.values()) {
+            if (entry.getValue(metric) > 0) {
+                sorted.get(metric).add(entry);
+                any = true;
+            }
+        }
+        if (any) {
+            entries.put(playerUuid, entry);
+        }
+    }
+
+    public void remove(UUID playerUuid) {
+        Entry old = entries.remove(playerUuid);
+        if (old != null) {
+            for (TreeSet<Entry> order : sorted.values()) {
+                order.remove(old);
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        sorted.values().forEach(TreeSet::clear);
+    }
+
+    /**
+     * Uma página de uma métrica, em ordem decrescente (offset = posição do primeiro)
+     */
+    public List<Entry> page(WindowedStats.Metric metric, int offset, int limit) {
+        List<Entry> result = new ArrayList<>(limit);
+        int position = 0;
+        for (Entry entry : sorted.get(metric)) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (position++ >= offset) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Jogadores com valor maior que zero na métrica
+     */
+    public int count(WindowedStats.Metric metric) {
+        return sorted.get(metric).size();
+    }
+
+    /**
+     * Todas as entradas (para o arquivo da temporada)
+     */
+    public Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.jotav.hideseek.stats;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Armazenamento que ordena os rankings do total sozinho (SqlStatsRepository).
+ * Nos demais o StatsManager percorre todos os jogadores.
+ */
+public interface RankingQueries {
+
+    /**
+     * Página do ranking do total, em ordem decrescente (apenas jogadores que jogaram)
+     * @param eligible recebe o número de jogadores que entram no ranking (pode ser null)
+     */
+    List<Map.Entry<String, Double>> queryLeaderboard(StatsManager.RankingType type, int offset, int limit, int[] eligible);
+}
@@ -0,0 +1,403 @@
+package com.jotav.hideseek.stats;
+
+import com.jotav.hideseek.HideSeek;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Histórico de rodadas só de acréscimo (hideseek_stats/history/).
+ * rounds.dat guarda cada RoundResult como um registro [tamanho][dados]; players.idx guarda,
+ * para cada participante, [UUID][posição do registro em rounds.dat]. O índice fica em memória,
+ * então as últimas N rodadas de um jogador são N leituras posicionadas, sem percorrer o arquivo.
+ * Gravações vêm apenas da thread de escrita do StatsManager; leituras podem vir de qualquer thread.
+ */
+public class RoundHistory {
+    private static final String ROUNDS_FILE = "rounds.dat";
+    private static final String INDEX_FILE = "players.idx";
+    private static final int FORMAT_VERSION = 1;
+    private static final int INDEX_ENTRY_BYTES = 24; // UUID (2 longs) + posição
+    private static final int READ_AHEAD_BYTES = 1024; // Um registro típico cabe em uma leitura
+
+    /**
+     * Posições das rodadas de um jogador, da mais antiga para a mais recente
+     */
+    private static class Offsets {
+        private long[] values = new long[4];
+        private int size;
+
+        synchronized void add(long offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+
+        synchronized long[] newestFirst(int skip, int limit) {
+            int from = size - 1 - skip;
+            int count = Math.max(0, Math.min(limit, from + 1));
+            long[] result = new long[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = values[from - i];
+            }
+            return result;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long last() {
+            return size > 0 ? values[size - 1] : -1;
+        }
+    }
+
+    private final Path directory;
+    private final Map<UUID, Offsets> index = new ConcurrentHashMap<>();
+    private volatile FileChannel rounds; // null enquanto fechado; lido pelas threads de comandos
+    private FileChannel indexChannel;
+    private volatile long roundsEnd;
+
+    public RoundHistory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Abre os arquivos e carrega o índice. Um registro incompleto no fim (queda durante a gravação)
+     * é descartado, e rodadas gravadas sem entrada no índice são indexadas de novo.
+     */
+    public void open() {
+        if (rounds != null) {
+            return; // Já aberto
+        }
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            rounds = FileChannel.open(directory.resolve(ROUNDS_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            long indexed = loadIndex();
+            int recovered = recoverTail(indexed);
+            HideSeek.LOGGER.info("Opened round history: {} players indexed, {} rounds recovered in {} ms",
+                index.size(), recovered, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to open round history in {}", directory, e);
+            close();
+        }
+    }
+
+    /**
+     * Acrescenta uma rodada (thread de escrita): primeiro o registro, depois as entradas do índice
+     */
+    public void append(RoundResult result) {
+        if (rounds == null) {
+            return;
+        }
+        try {
+            long offset = roundsEnd;
+            ByteBuffer record = encode(result);
+            while (record.hasRemaining()) {
+                rounds.write(record, offset + record.position());
+            }
+            roundsEnd = offset + record.limit();
+            writeIndex(result.getParticipants(), offset);
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to append round {} to history", result.getRoundId(), e);
+        }
+    }
+
+    /**
+     * Rodadas de um jogador, da mais recente para a mais antiga
+     * @param skip rodadas mais recentes a pular (paginação)
+     */
+    public List<RoundResult> recent(UUID playerUuid, int skip, int limit) {
+        Offsets offsets = index.get(playerUuid);
+        List<RoundResult> result = new ArrayList<>();
+        if (offsets == null || rounds == null) {
+            return result;
+        }
+        for (long offset : offsets.newestFirst(skip, limit)) {
+            try {
+                result.add(readAt(offset));
+            } catch (IOException e) {
+                HideSeek.LOGGER.warn("Skipping unreadable history record at {}: {}", offset, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Número de rodadas registradas de um jogador
+     */
+    public int countRounds(UUID playerUuid) {
+        Offsets offsets = index.get(playerUuid);
+        return offsets != null ? offsets.size() : 0;
+    }
+
+    /**
+     * Percorre todas as rodadas gravadas, da mais antiga para a mais recente (leitura sequencial)
+     */
+    public void forEach(Consumer<RoundResult> consumer) throws IOException {
+        if (rounds == null) {
+            return;
+        }
+        long end = roundsEnd;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(ROUNDS_FILE)), 64 * 1024))) {
+            long position = 0;
+            while (position < end) {
+                int length = input.readInt();
+                byte[] body = new byte[length];
+                input.readFully(body);
+                consumer.accept(decode(body));
+                position += Integer.BYTES + length;
+            }
+        }
+    }
+
+    /**
+     * Se o histórico está aberto e ainda não tem nenhuma rodada
+     */
+    public boolean isEmpty() {
+        return rounds != null && roundsEnd == 0;
+    }
+
+    /**
+     * Apaga todo o histórico (thread de escrita)
+     */
+    public void clear() {
+        if (rounds == null) {
+            return;
+        }
+        try {
+            index.clear();
+            rounds.truncate(0);
+            indexChannel.truncate(0);
+            roundsEnd = 0;
+        } catch (IOException e) {
+            HideSeek.LOGGER.error("Failed to clear round history", e);
+        }
+    }
+
+    /**
+     * Fecha os arquivos ao desligar o servidor (thread de escrita); open() abre de novo
+     */
+    public void close() {
+        try {
+            if (rounds != null) {
+                rounds.close();
+            }
+            if (indexChannel != null) {
+                indexChannel.close();
+            }
+        } catch (IOException ignored) {
+        }
+        rounds = null;
+        indexChannel = null;
+        index.clear(); // Recarregado por open()
+        roundsEnd = 0;
+    }
+
+    // ================== ÍNDICE ==================
+
+    /**
+     * Carrega players.idx (descartando uma entrada incompleta no fim)
+     * @return posição da última rodada indexada (-1 se nenhuma)
+     */
+    private long loadIndex() throws IOException {
+        long size = indexChannel.size();
+        long complete = size - size % INDEX_ENTRY_BYTES;
+        if (complete != size) {
+            indexChannel.truncate(complete);
+        }
+
+        long roundsSize = rounds.size();
+        long lastOffset = -1;
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_BYTES * 4096);
+        for (long position = 0; position < complete; ) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), complete - position));
+            readFully(indexChannel, buffer, position);
+            position += buffer.flip().limit();
+            while (buffer.hasRemaining()) {
+                UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                long offset = buffer.getLong();
+                if (offset < roundsSize) {
+                    index.computeIfAbsent(uuid, key -> new Offsets()).add(offset);
+                    lastOffset = Math.max(lastOffset, offset);
+                }
+            }
+        }
+        return lastOffset;
+    }
+
+    /**
+     * Indexa os registros depois da última rodada indexada e corta um registro incompleto no fim
+     * @return rodadas indexadas de novo
+     */
+    private int recoverTail(long lastIndexed) throws IOException {
+        long size = rounds.size();
+        long position = 0;
+        if (lastIndexed >= 0) {
+            // A última rodada indexada pode ter ficado com parte dos participantes fora do índice
+            RoundResult last = readAt(lastIndexed);
+            List<RoundResult.Participant> missing = new ArrayList<>();
+            for (RoundResult.Participant participant : last.getParticipants()) {
+                Offsets offsets = index.get(participant.getPlayerUuid());
+                if (offsets == null || offsets.last() != lastIndexed) {
+                    missing.add(participant);
+                }
+            }
+            writeIndex(missing, lastIndexed);
+            position = lastIndexed + Integer.BYTES + readLength(lastIndexed);
+        }
+
+        int recovered = 0;
+        while (position + Integer.BYTES <= size) {
+            int length = readLength(position);
+            if (length <= 0 || position + Integer.BYTES + length > size) {
+                break;
+            }
+            writeIndex(readAt(position).getParticipants(), position);
+            position += Integer.BYTES + length;
+            recovered++;
+        }
+        if (position < size) {
+            HideSeek.LOGGER.warn("Discarding {} bytes of incomplete round history record", size - position);
+            rounds.truncate(position);
+        }
+        roundsEnd = position;
+        return recovered;
+    }
+
+    private void writeIndex(List<RoundResult.Participant> participants, long offset) throws IOException {
+        if (participants.isEmpty()) {
+            return;
+        }
+        ByteBuffer entries = ByteBuffer.allocate(participants.size() * INDEX_ENTRY_BYTES);
+        for (RoundResult.Participant participant : participants) {
+            entries.putLong(participant.getPlayerUuid().getMostSignificantBits())
+                .putLong(participant.getPlayerUuid().getLeastSignificantBits())
+                .putLong(offset);
+        }
+        entries.flip();
+        long position = indexChannel.size();
+        while (entries.hasRemaining()) {
+            position += indexChannel.write(entries, position);
+        }
+        for (RoundResult.Participant participant : participants) {
+            index.computeIfAbsent(participant.getPlayerUuid(), key -> new Offsets()).add(offset);
+        }
+    }
+
+    // ================== REGISTROS ==================
+
+    private int readLength(long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(rounds, buffer, offset);
+        return buffer.flip().getInt();
+    }
+
+    /**
+     * Lê um registro com uma leitura posicionada (duas se ele for maior que a leitura antecipada)
+     */
+    private RoundResult readAt(long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_AHEAD_BYTES);
+        int read = rounds.read(buffer, offset);
+        if (read < Integer.BYTES) {
+            throw new EOFException("History record at " + offset + " is truncated");
+        }
+        buffer.flip();
+        int length = buffer.getInt();
+        byte[] body = new byte[length];
+        int available = Math.min(length, buffer.remaining());
+        buffer.get(body, 0, available);
+        if (available < length) {
+            readFully(rounds, ByteBuffer.wrap(body, available, length - available), offset + Integer.BYTES + available);
+        }
+        return decode(body);
+    }
+
+    /**
+     * Preenche o buffer a partir de offset (offset corresponde à posição atual do buffer)
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        long base = offset - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, base + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of history file at " + (base + buffer.position()));
+            }
+        }
+    }
+
+    private static ByteBuffer encode(RoundResult result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0); // Tamanho, preenchido abaixo
+        output.writeByte(FORMAT_VERSION);
+        output.writeLong(result.getRoundId());
+        output.writeLong(result.getStartedAt());
+        output.writeLong(result.getEndedAt());
+        output.writeBoolean(result.isSeekersWin());
+        output.writeLong(result.getHidingSeconds());
+        output.writeLong(result.getSeekingSeconds());
+        output.writeInt(result.getParticipants().size());
+        for (RoundResult.Participant participant : result.getParticipants()) {
+            output.writeLong(participant.getPlayerUuid().getMostSignificantBits());
+            output.writeLong(participant.getPlayerUuid().getLeastSignificantBits());
+            output.writeUTF(participant.getPlayerName());
+            output.writeBoolean(participant.isHider());
+            output.writeLong(participant.getCaptureSeconds());
+            output.writeLong(participant.getFirstCaptureSeconds());
+            output.writeInt(participant.getCaptures());
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        buffer.putInt(0, buffer.limit() - Integer.BYTES);
+        return buffer;
+    }
+
+    private static RoundResult decode(byte[] body) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(body));
+        int version = input.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unknown history record version " + version);
+        }
+        RoundResult result = new RoundResult(input.readLong(), input.readLong(), input.readLong(),
+            input.readBoolean(), input.readLong(), input.readLong());
+        int participants = input.readInt();
+        for (int i = 0; i < participants; i++) {
+            UUID uuid = new UUID(input.readLong(), input.readLong());
+            String name = input.readUTF();
+            boolean hider = input.readBoolean();
+            long captureSeconds = input.readLong();
+            long firstCaptureSeconds = input.readLong();
+            int captures = input.readInt();
+            if (hider) {
+                result.addHider(uuid, name, captureSeconds);
+            } else {
+                result.addSeeker(uuid, name, firstCaptureSeconds, captures);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.jotav.hideseek.stats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de uma rodada: participantes, papéis, tempos de captura e durações.
+ * Montado pelo GameManager no fim da rodada e aplicado às estatísticas de uma vez
+ * (ver StatsManager.applyRoundResult); também é o registro gravado no RoundHistory.
+ */
+public class RoundResult {
+    private final long roundId;
+    private final long startedAt; // Início e fim da rodada (epoch ms)
+    private final long endedAt;
+    private final boolean seekersWin;
+    private final long hidingSeconds;
+    private final long seekingSeconds;
+    private final List<Participant> participants = new ArrayList<>();
+
+    /**
+     * Participante da rodada e o que aconteceu com ele
+     */
+    public static class Participant {
+        private final UUID playerUuid;
+        private final String playerName;
+        private final boolean hider;
+        private final long captureSeconds;      // Hider: segundos de SEEKING até ser capturado (-1 se sobreviveu)
+        private final long firstCaptureSeconds; // Seeker: segundos de SEEKING até a primeira captura (-1 se nenhuma)
+        private final int captures;             // Seeker: Hiders capturados na rodada
+
+        private Participant(UUID playerUuid, String playerName, boolean hider, long captureSeconds, long firstCaptureSeconds, int captures) {
+            this.playerUuid = playerUuid;
+            this.playerName = playerName;
+            this.hider = hider;
+            this.captureSeconds = captureSeconds;
+            this.firstCaptureSeconds = firstCaptureSeconds;
+            this.captures = captures;
+        }
+
+        public UUID getPlayerUuid() { return playerUuid; }
+        public String getPlayerName() { return playerName; }
+        public boolean isHider() { return hider; }
+        public boolean wasCaptured() { return captureSeconds >= 0; }
+        public long getCaptureSeconds() { return captureSeconds; }
+        public long getFirstCaptureSeconds() { return firstCaptureSeconds; }
+        public int getCaptures() { return captures; }
+    }
+
+    public RoundResult(long roundId, long startedAt, long endedAt, boolean seekersWin, long hidingSeconds, long seekingSeconds) {
+        this.roundId = roundId;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.seekersWin = seekersWin;
+        this.hidingSeconds = hidingSeconds;
+        this.seekingSeconds = seekingSeconds;
+    }
+
+    /**
+     * Adiciona um Hider (captureSeconds = -1 se sobreviveu até o fim)
+     */
+    public RoundResult addHider(UUID playerUuid, String playerName, long captureSeconds) {
+        participants.add(new Participant(playerUuid, playerName, true, captureSeconds, -1, 0));
+        return this;
+    }
+
+    /**
+     * Adiciona um Seeker (firstCaptureSeconds = -1 se não capturou ninguém)
+     */
+    public RoundResult addSeeker(UUID playerUuid, String playerName, long firstCaptureSeconds, int captures) {
+        participants.add(new Participant(playerUuid, playerName, false, -1, firstCaptureSeconds, captures));
+        return this;
+    }
+
+    public long getRoundId() { return roundId; }
+    public long getStartedAt() { return startedAt; }
+    public long getEndedAt() { return endedAt; }
+    public boolean isSeekersWin() { return seekersWin; }
+    public long getHidingSeconds() { return hidingSeconds; }
+    public long getSeekingSeconds() { return seekingSeconds; }
+    public List<Participant> getParticipants() { return Collections.unmodifiableList(participants); }
+
+    /**
+     * Se o participante venceu a rodada
+     */
+    public boolean isWinner(Participant participant) {
+        return participant.isHider() != seekersWin;
+    }
+
+    /**
+     * Tempo que um Hider sobreviveu (fase HIDING + SEEKING até a captura ou o fim)
+     */
+    public long getSurvivalSeconds(Participant participant) {
+        return hidingSeconds + (participant.wasCaptured() ? participant.getCaptureSeconds() : seekingSeconds);
+    }
+
+    /**
+     * Tempo sobrevivido na fase de busca (até a captura ou até o fim da busca)
+     */
+    public long getSeekingSurvivalSeconds(Participant participant) {
+        return participant.wasCaptured() ? participant.getCaptureSeconds() : seekingSeconds;
+    }
+
+    /**
+     * Participação de um jogador na rodada (null se ele não jogou)
+     */
+    public Participant getParticipant(UUID playerUuid) {
+        for (Participant participant : participants) {
+            if (participant.getPlayerUuid().equals(playerUuid)) {
+                return participant;
+            }
+        }
+        return null;
+    }
+}
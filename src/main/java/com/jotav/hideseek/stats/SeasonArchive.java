@@ -0,0 +1,162 @@
+package com.jotav.hideseek.stats;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivo compactado (JSON + gzip) com os totais de uma temporada encerrada.
+ * Escrito uma vez na virada da temporada e lido apenas quando alguém consulta
+ * o ranking daquela temporada.
+ */
+public class SeasonArchive {
+
+    private SeasonArchive() {}
+
+    /**
+     * Grava os totais da temporada (substituição atômica do arquivo)
+     */
+    public static void write(Path file, StatsSeason season, long endDay, Collection<RankingIndex.Entry> entries) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))), StandardCharsets.UTF_8))) {
+            writer.beginObject();
+            writer.name("season").value(season.getNumber());
+            writer.name("startDay").value(season.getStartDay());
+            writer.name("endDay").value(endDay);
+            writer.name("metrics").beginArray();
+            for (WindowedStats.Metric metric : WindowedStats.Metric.values()) {
+                writer.value(metric.name());
+            }
+            writer.endArray();
+            writer.name("players").beginArray();
+            for (RankingIndex.Entry entry : entries) {
+                writer.beginObject();
+                writer.name("uuid").value(entry.getPlayerUuid().toString());
+                writer.name("name").value(entry.getPlayerName());
+                writer.name("values").beginArray();
+                for (int value : entry.getValues()) {
+                    writer.value(value);
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lê os N primeiros de uma métrica, um jogador de cada vez (null se a temporada não foi arquivada)
+     */
+    public static List<RankingIndex.Entry> readTop(Path file, WindowedStats.Metric metric, int limit) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        Comparator<RankingIndex.Entry> order = Comparator.comparingInt(entry -> entry.getValue(metric));
+        PriorityQueue<RankingIndex.Entry> top = new PriorityQueue<>(order);
+        List<String> metrics = new ArrayList<>();
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "metrics" -> {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            metrics.add(reader.nextString());
+                        }
+                        reader.endArray();
+                    }
+                    case "players" -> {
+                        int[] mapping = mapMetrics(metrics);
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            RankingIndex.Entry entry = readEntry(reader, mapping);
+                            if (entry.getValue(metric) <= 0) {
+                                continue;
+                            }
+                            top.offer(entry);
+                            if (top.size() > limit) {
+                                top.poll();
+                            }
+                        }
+                        reader.endArray();
+                    }
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        List<RankingIndex.Entry> result = new ArrayList<>(top);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    /**
+     * Posição de cada métrica gravada no arquivo → Metric.ordinal() atual (-1 se não existe mais)
+     */
+    private static int[] mapMetrics(List<String> metrics) {
+        int[] mapping = new int[metrics.size()];
+        for (int index = 0; index < mapping.length; index++) {
+            try {
+                mapping[index] = WindowedStats.Metric.valueOf(metrics.get(index)).ordinal();
+            } catch (IllegalArgumentException e) {
+                mapping[index] = -1;
+            }
+        }
+        return mapping;
+    }
+
+    /**
+     * Lê um jogador, reorganizando os valores pela ordem atual das métricas
+     */
+    private static RankingIndex.Entry readEntry(JsonReader reader, int[] mapping) throws IOException {
+        UUID uuid = null;
+        String name = null;
+        int[] values = new int[WindowedStats.Metric.values().length];
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "uuid" -> uuid = UUID.fromString(reader.nextString());
+                case "name" -> name = reader.nextString();
+                case "values" -> {
+                    reader.beginArray();
+                    for (int index = 0; reader.hasNext(); index++) {
+                        int value = reader.nextInt();
+                        if (index < mapping.length && mapping[index] >= 0) {
+                            values[mapping[index]] = value;
+                        }
+                    }
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new RankingIndex.Entry(uuid, name, values);
+    }
+}
@@ -0,0 +1,385 @@
+package com.jotav.hideseek.stats;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.jotav.hideseek.HideSeek;
+import org.h2.jdbcx.JdbcConnectionPool;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Estatísticas em um banco H2 embutido (hideseek_stats/stats.mv.db), sem serviço externo.
+ * Cada jogador é uma linha com o JSON completo e uma coluna indexada por categoria de ranking,
+ * de forma que os rankings do total são ordenados pelo banco (ORDER BY + LIMIT) sem carregar
+ * os jogadores em memória. Gravações são upserts em lote, apenas das linhas modificadas.
+ * Na primeira execução, os arquivos JSON existentes são importados.
+ */
+public class SqlStatsRepository implements StatsRepository, RankingQueries {
+    private static final String DATABASE_NAME = "stats";
+    private static final String META_AGGREGATES = "aggregates";
+    private static final String META_SEASON = "season";
+    private static final int MIGRATION_BATCH = 500;
+    private static final int FETCH_SIZE = 256;
+
+    private static final String UPSERT_SQL;
+    static {
+        StringBuilder columns = new StringBuilder("uuid, name");
+        StringBuilder values = new StringBuilder("?, ?");
+        for (StatsManager.RankingType type : StatsManager.RankingType.values()) {
+            columns.append(", ").append(columnOf(type));
+            values.append(", ?");
+        }
+        UPSERT_SQL = "MERGE INTO player_stats (" + columns + ", data) KEY (uuid) VALUES (" + values + ", ?)";
+    }
+
+    private final Path directory;
+    private final PlayerStatsStore fileStore;
+    private final Gson gson;
+    private final StatsJsonCodec codec;
+    private volatile JdbcConnectionPool pool; // null antes de abrir e depois de fechar
+
+    /**
+     * @param fileStore armazenamento JSON importado se o banco ainda não existir
+     */
+    public SqlStatsRepository(Path directory, PlayerStatsStore fileStore) {
+        this.directory = directory;
+        this.fileStore = fileStore;
+        this.gson = new GsonBuilder().create();
+        this.codec = new StatsJsonCodec(gson);
+    }
+
+    @Override
+    public void initialize() {
+        if (pool != null) {
+            return; // Banco já aberto (servidor reiniciado no mesmo processo)
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create stats directory " + directory, e);
+        }
+
+        // LAZY_QUERY_EXECUTION: varreduras leem as linhas aos poucos em vez de montar o resultado inteiro
+        JdbcConnectionPool opened = JdbcConnectionPool.create("jdbc:h2:" + directory.resolve(DATABASE_NAME).toAbsolutePath()
+            + ";LAZY_QUERY_EXECUTION=1", "", "");
+
+        boolean fresh;
+        try (Connection connection = opened.getConnection(); Statement statement = connection.createStatement()) {
+            StringBuilder table = new StringBuilder("CREATE TABLE IF NOT EXISTS player_stats (uuid UUID PRIMARY KEY, name VARCHAR(64)");
+            for (StatsManager.RankingType type : StatsManager.RankingType.values()) {
+                table.append(", ").append(columnOf(type)).append(" DOUBLE NOT NULL DEFAULT 0");
+            }
+            statement.execute(table.append(", data CLOB NOT NULL)").toString());
+            for (StatsManager.RankingType type : StatsManager.RankingType.values()) {
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_player_stats_" + columnOf(type)
+                    + " ON player_stats (" + columnOf(type) + " DESC)");
+            }
+            statement.execute("CREATE TABLE IF NOT EXISTS stats_meta (name VARCHAR(32) PRIMARY KEY, data CLOB NOT NULL)");
+
+            try (ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM stats_meta")) {
+                fresh = result.next() && result.getLong(1) == 0;
+            }
+        } catch (SQLException e) {
+            opened.dispose();
+            throw new IllegalStateException("Failed to initialize stats database in " + directory, e);
+        }
+
+        pool = opened; // Só depois das tabelas existirem
+        if (fresh) {
+            try {
+                importFileStore();
+            } catch (IllegalStateException e) {
+                close(); // Sem metadados gravados: a importação é repetida no próximo início
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Fecha as conexões do banco (chamado ao desligar o servidor; initialize abre de novo)
+     */
+    @Override
+    public void close() {
+        JdbcConnectionPool current = pool;
+        if (current != null) {
+            pool = null;
+            current.dispose();
+            HideSeek.LOGGER.info("Closed stats database");
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        JdbcConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Stats database is not open");
+        }
+        return current.getConnection();
+    }
+
+    @Override
+    public PlayerStats load(UUID uuid) {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("SELECT data FROM player_stats WHERE uuid = ?")) {
+            statement.setObject(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? codec.playerFromJson(result.getString(1)) : null;
+            }
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to load stats for {}", uuid, e);
+            return null;
+        }
+    }
+
+    /**
+     * Upsert em lote, em uma única transação (se falhar, nenhuma linha é gravada)
+     */
+    @Override
+    public List<PlayerStats> saveAll(Collection<PlayerStats> statsList) {
+        if (statsList.isEmpty()) {
+            return List.of();
+        }
+
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (PlayerStats stats : statsList) {
+                    if (stats.getPlayerUuid() == null) {
+                        continue;
+                    }
+                    int column = 1;
+                    statement.setObject(column++, stats.getPlayerUuid());
+                    statement.setString(column++, stats.getLastKnownName());
+                    for (StatsManager.RankingType type : StatsManager.RankingType.values()) {
+                        statement.setDouble(column++, StatsManager.getStatValue(stats, type));
+                    }
+                    statement.setString(column, codec.playerToJson(stats));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to save stats for {} players", statsList.size(), e);
+            return new ArrayList<>(statsList);
+        }
+        return List.of();
+    }
+
+    @Override
+    public void delete(UUID uuid) {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM player_stats WHERE uuid = ?")) {
+            statement.setObject(1, uuid);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to delete stats for {}", uuid, e);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE player_stats");
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to delete all stats", e);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<PlayerStats> consumer) {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet result = statement.executeQuery("SELECT uuid, data FROM player_stats")) {
+                while (result.next()) {
+                    PlayerStats stats;
+                    try {
+                        stats = codec.playerFromJson(result.getString(2));
+                    } catch (Exception e) {
+                        HideSeek.LOGGER.warn("Skipping unreadable stats row {}: {}", result.getObject(1), e.getMessage());
+                        continue;
+                    }
+                    if (stats != null) {
+                        consumer.accept(stats);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to scan stats database", e);
+        }
+    }
+
+    // ================== ÍNDICE DE NOMES ==================
+
+    @Override
+    public Map<UUID, String> loadNames() {
+        Map<UUID, String> names = new HashMap<>();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet result = statement.executeQuery("SELECT uuid, name FROM player_stats WHERE name IS NOT NULL")) {
+                while (result.next()) {
+                    names.put(result.getObject(1, UUID.class), result.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to load stats name index", e);
+        }
+        return names;
+    }
+
+    /**
+     * Nada a fazer: o nome é uma coluna gravada junto com as estatísticas do jogador
+     */
+    @Override
+    public void saveNames(Map<UUID, String> names) {
+    }
+
+    // ================== AGREGADOS E TEMPORADAS ==================
+
+    @Override
+    public GlobalAggregates loadAggregates() {
+        return loadMeta(META_AGGREGATES, GlobalAggregates.class);
+    }
+
+    @Override
+    public void saveAggregates(GlobalAggregates aggregates) {
+        saveMeta(META_AGGREGATES, gson.toJson(aggregates, GlobalAggregates.class));
+    }
+
+    @Override
+    public StatsSeason loadSeason() {
+        return loadMeta(META_SEASON, StatsSeason.class);
+    }
+
+    @Override
+    public void saveSeason(StatsSeason season) {
+        saveMeta(META_SEASON, gson.toJson(season, StatsSeason.class));
+    }
+
+    /**
+     * Temporadas encerradas continuam em arquivos compactados (lidos raramente, escritos uma vez)
+     */
+    @Override
+    public Path seasonArchiveFile(int seasonNumber) {
+        return fileStore.seasonArchiveFile(seasonNumber);
+    }
+
+    // ================== RANKINGS ==================
+
+    @Override
+    public List<Map.Entry<String, Double>> queryLeaderboard(StatsManager.RankingType type, int offset, int limit, int[] eligible) {
+        String column = columnOf(type);
+        List<Map.Entry<String, Double>> ranking = new ArrayList<>(limit);
+        try (Connection connection = connect()) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT name, " + column
+                    + " FROM player_stats WHERE gamesPlayed > 0 ORDER BY " + column + " DESC LIMIT ? OFFSET ?")) {
+                statement.setInt(1, limit);
+                statement.setInt(2, offset);
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        ranking.add(new AbstractMap.SimpleEntry<>(result.getString(1), result.getDouble(2)));
+                    }
+                }
+            }
+            if (eligible != null) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM player_stats WHERE gamesPlayed > 0")) {
+                    eligible[0] = result.next() ? result.getInt(1) : 0;
+                }
+            }
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to query {} leaderboard", type, e);
+        }
+        return ranking;
+    }
+
+    // ================== INTERNOS ==================
+
+    /**
+     * Coluna da categoria (o nome do campo de estatística)
+     */
+    private static String columnOf(StatsManager.RankingType type) {
+        return type.getStatField();
+    }
+
+    private <T> T loadMeta(String name, Class<T> type) {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("SELECT data FROM stats_meta WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? gson.fromJson(result.getString(1), type) : null;
+            }
+        } catch (Exception e) {
+            HideSeek.LOGGER.error("Failed to load stats {}", name, e);
+            return null;
+        }
+    }
+
+    private void saveMeta(String name, String json) {
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement("MERGE INTO stats_meta (name, data) KEY (name) VALUES (?, ?)")) {
+            statement.setString(1, name);
+            statement.setString(2, json);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            HideSeek.LOGGER.error("Failed to save stats {}", name, e);
+        }
+    }
+
+    /**
+     * Importa os arquivos JSON (e o antigo arquivo único) para o banco recém-criado
+     */
+    private void importFileStore() {
+        long start = System.nanoTime();
+        fileStore.initialize();
+
+        List<PlayerStats> batch = new ArrayList<>(MIGRATION_BATCH);
+        int[] imported = new int[1];
+        fileStore.forEach(stats -> {
+            batch.add(stats);
+            if (batch.size() >= MIGRATION_BATCH) {
+                importBatch(batch);
+                imported[0] += batch.size();
+                batch.clear();
+            }
+        });
+        importBatch(batch);
+        imported[0] += batch.size();
+
+        GlobalAggregates aggregates = fileStore.loadAggregates();
+        if (aggregates != null) {
+            saveAggregates(aggregates);
+        }
+        StatsSeason season = fileStore.loadSeason();
+        if (season != null) {
+            saveSeason(season);
+        }
+        HideSeek.LOGGER.info("Created stats database, imported {} players from JSON files in {} ms",
+            imported[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void importBatch(List<PlayerStats> batch) {
+        if (!saveAll(batch).isEmpty()) {
+            throw new IllegalStateException("Failed to import stats from JSON files into " + directory);
+        }
+    }
+}
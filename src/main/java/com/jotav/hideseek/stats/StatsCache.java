@@ -0,0 +1,138 @@
+package com.jotav.hideseek.stats;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Cache LRU limitado de estatísticas de jogadores.
+ * Jogadores fixados (online) nunca são descartados; entradas modificadas
+ * são gravadas em disco antes de saírem do cache.
+ */
+public class StatsCache {
+    private final int capacity;
+    private final LinkedHashMap<UUID, PlayerStats> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<UUID> pinned = new HashSet<>();
+    private final Set<UUID> dirty = new HashSet<>();
+    private final Consumer<PlayerStats> writeBack;
+
+    public StatsCache(int capacity, Consumer<PlayerStats> writeBack) {
+        this.capacity = Math.max(1, capacity);
+        this.writeBack = writeBack;
+    }
+
+    /**
+     * Obtém entrada do cache (atualiza ordem de acesso)
+     */
+    public PlayerStats get(UUID uuid) {
+        return entries.get(uuid);
+    }
+
+    public boolean contains(UUID uuid) {
+        return entries.containsKey(uuid);
+    }
+
+    /**
+     * Adiciona entrada e descarta as menos usadas se o limite for excedido
+     */
+    public void put(UUID uuid, PlayerStats stats) {
+        entries.put(uuid, stats);
+        evictIfNeeded();
+    }
+
+    /**
+     * Remove entrada sem gravar em disco
+     */
+    public PlayerStats remove(UUID uuid) {
+        pinned.remove(uuid);
+        dirty.remove(uuid);
+        return entries.remove(uuid);
+    }
+
+    public void markDirty(UUID uuid) {
+        if (entries.containsKey(uuid)) {
+            dirty.add(uuid);
+        }
+    }
+
+    public void pin(UUID uuid) {
+        pinned.add(uuid);
+    }
+
+    /**
+     * Libera o jogador para ser descartado (ex: ao sair do servidor)
+     */
+    public void unpin(UUID uuid) {
+        if (pinned.remove(uuid)) {
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Grava (se necessário) e remove a entrada do cache
+     */
+    public void evict(UUID uuid) {
+        PlayerStats stats = entries.get(uuid);
+        if (stats == null || pinned.contains(uuid)) {
+            return;
+        }
+        if (dirty.remove(uuid)) {
+            writeBack.accept(stats);
+        }
+        entries.remove(uuid);
+    }
+
+    /**
+     * Retorna as entradas modificadas e limpa a marcação
+     */
+    public List<PlayerStats> drainDirty() {
+        List<PlayerStats> result = new ArrayList<>(dirty.size());
+        for (UUID uuid : dirty) {
+            PlayerStats stats = entries.get(uuid);
+            if (stats != null) {
+                result.add(stats);
+            }
+        }
+        dirty.clear();
+        return result;
+    }
+
+    /**
+     * Jogadores fixados em memória (online)
+     */
+    public Set<UUID> pinnedKeys() {
+        return Collections.unmodifiableSet(pinned);
+    }
+
+    public Collection<PlayerStats> values() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public void clear() {
+        entries.clear();
+        pinned.clear();
+        dirty.clear();
+    }
+
+    public int size() { return entries.size(); }
+    public int dirtyCount() { return dirty.size(); }
+    public int capacity() { return capacity; }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= capacity) {
+            return;
+        }
+
+        Iterator<Map.Entry<UUID, PlayerStats>> iterator = entries.entrySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            Map.Entry<UUID, PlayerStats> eldest = iterator.next();
+            UUID uuid = eldest.getKey();
+            if (pinned.contains(uuid)) {
+                continue; // Jogadores online permanecem em memória
+            }
+            if (dirty.remove(uuid)) {
+                writeBack.accept(eldest.getValue());
+            }
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.jotav.hideseek.stats;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Leitura e escrita em streaming dos arquivos de estatísticas.
+ * Os arquivos são lidos e escritos direto do disco com JsonReader/JsonWriter (JSON compacto),
+ * um PlayerStats de cada vez, sem montar o documento inteiro em uma String.
+ */
+public class StatsJsonCodec {
+
+    /**
+     * Corpo de um documento JSON escrito em streaming
+     */
+    public interface Body {
+        void write(JsonWriter writer) throws IOException;
+    }
+
+    private final TypeAdapter<PlayerStats> statsAdapter;
+
+    public StatsJsonCodec(Gson gson) {
+        this.statsAdapter = gson.getAdapter(PlayerStats.class);
+    }
+
+    // ================== JOGADOR ==================
+
+    /**
+     * Lê as estatísticas de um arquivo de jogador
+     */
+    public PlayerStats readPlayer(Path file) throws IOException {
+        try (JsonReader reader = openReader(file)) {
+            return statsAdapter.read(reader);
+        }
+    }
+
+    /**
+     * Escreve as estatísticas de um jogador (substituição atômica do arquivo)
+     */
+    public void writePlayer(Path file, PlayerStats stats) throws IOException {
+        writeAtomically(file, writer -> statsAdapter.write(writer, stats));
+    }
+
+    /**
+     * Estatísticas de um jogador como texto JSON compacto (coluna do backend SQL)
+     */
+    public String playerToJson(PlayerStats stats) {
+        return statsAdapter.toJson(stats);
+    }
+
+    public PlayerStats playerFromJson(String json) throws IOException {
+        return statsAdapter.fromJson(json);
+    }
+
+    // ================== ÍNDICE DE NOMES ==================
+
+    /**
+     * Lê o índice UUID → nome, uma entrada de cada vez
+     */
+    public Map<UUID, String> readNames(Path file) throws IOException {
+        Map<UUID, String> names = new HashMap<>();
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.NULL) {
+                return names;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                UUID uuid = UUID.fromString(reader.nextName());
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                } else {
+                    names.put(uuid, reader.nextString());
+                }
+            }
+            reader.endObject();
+        }
+        return names;
+    }
+
+    public void writeNames(Path file, Map<UUID, String> names) throws IOException {
+        writeAtomically(file, writer -> {
+            writer.beginObject();
+            for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                writer.name(entry.getKey().toString()).value(entry.getValue());
+            }
+            writer.endObject();
+        });
+    }
+
+    // ================== ARQUIVO ÚNICO ANTIGO ==================
+
+    /**
+     * Percorre o antigo mapa UUID → PlayerStats sem carregá-lo inteiro em memória
+     * @return quantidade de jogadores lidos
+     */
+    public int readLegacy(Path file, Consumer<PlayerStats> consumer) throws IOException {
+        int count = 0;
+        try (JsonReader reader = openReader(file)) {
+            if (reader.peek() == JsonToken.NULL) {
+                return 0;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                reader.nextName();
+                PlayerStats stats = statsAdapter.read(reader);
+                if (stats != null) {
+                    consumer.accept(stats);
+                    count++;
+                }
+            }
+            reader.endObject();
+        }
+        return count;
+    }
+
+    // ================== INTERNOS ==================
+
+    private JsonReader openReader(Path file) throws IOException {
+        BufferedReader buffered = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        JsonReader reader = new JsonReader(buffered);
+        reader.setLenient(true); // Mesmo comportamento de Gson.fromJson
+        return reader;
+    }
+
+    /**
+     * Escreve em um arquivo temporário e o move sobre o destino
+     */
+    public void writeAtomically(Path target, Body body) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter buffered = Files.newBufferedWriter(temp, StandardCharsets.UTF_8);
+             JsonWriter writer = new JsonWriter(buffered)) {
+            writer.setSerializeNulls(false); // Mesmo comportamento de Gson.toJson
+            body.write(writer);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,29 +1,122 @@
 package com.jotav.hideseek.stats;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.jotav.hideseek.Config;
 import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.metrics.Metrics;
 import net.minecraft.network.chat.Component;
 import net.minecraft.ChatFormatting;
 import net.minecraft.server.level.ServerPlayer;
 
-import java.io.*;
-import java.lang.reflect.Type;
-import java.nio.file.Files;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
- * Gerenciador central de estatísticas do Hide and Seek
+ * Gerenciador central de estatísticas do Hide and Seek.
+ * As estatísticas ficam em um StatsRepository (arquivos JSON ou banco H2) e são carregadas
+ * sob demanda em um cache limitado; apenas jogadores online ficam fixos em memória.
+ * As gravações são cópias das estatísticas feitas na thread do servidor e escritas
+ * em ordem por uma única thread de escrita.
  */
 public class StatsManager {
     private static StatsManager instance;
-    private final Map<UUID, PlayerStats> playerStats = new HashMap<>();
-    private final Path statsFile;
-    private final Gson gson;
+    private StatsRepository store; // Trocado pelos arquivos JSON só se o banco não abrir, antes de qualquer uso
+    private final PlayerStatsStore fileStore;
+    private boolean storeClosed = false;
+    private final StatsCache cache;
+    
+    // Índice de nomes conhecidos (busca por prefixo, autocompletar e contagem total)
+    private final PlayerNameIndex nameIndex = new PlayerNameIndex();
+    private boolean namesDirty = false;
+    
+    // Métricas de gravação (lidas pelo endpoint de métricas)
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    
+    // Gravações em uma única thread, na ordem em que foram enfileiradas
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "HideSeek-Stats-IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Cópias enfileiradas e ainda não gravadas (lidas no lugar do disco até a gravação terminar)
+    private final Map<UUID, PlayerStats> unwritten = new ConcurrentHashMap<>();
+    // Cópias cuja gravação falhou (continuam em unwritten); gravadas de novo na próxima gravação
+    private final Queue<PlayerStats> failedWrites = new ConcurrentLinkedQueue<>();
+    
+    // Rankings por janela de tempo, atualizados a cada rodada e reconstruídos na virada do dia
+    private final Map<StatsWindow, RankingIndex> windowIndexes = new EnumMap<>(StatsWindow.class);
+    private StatsSeason season;
+    private long indexDay = -1;
+    private long indexSeason = -1;
+    // Reconstrução na thread de escrita: jogadores alterados ou removidos (null) enquanto ela roda
+    private boolean rebuildPending = false;
+    private long indexGeneration = 0;
+    private final Map<UUID, PlayerStats> touchedDuringRebuild = new HashMap<>();
+    private Executor serverThread; // null: reconstrói na hora (antes do servidor iniciar)
+    private long rolloverRequested = -1; // Temporada a encerrar quando o ranking dela terminar de ser montado
+    
+    // Páginas de leaderboard renderizadas; a versão de uma categoria muda quando o ranking dela muda
+    private static final int LEADERBOARD_PAGE_SIZE = 10;
+    private final LeaderboardCache leaderboardCache = new LeaderboardCache();
+    private final long[] rankingVersions = new long[RankingType.values().length];
+    
+    // Ranking do total ordenado por categoria (montado pelas threads de comandos); uma varredura
+    // serve as primeiras páginas enquanto a versão da categoria não mudar
+    private static final int LIFETIME_RANKING_DEPTH = 50 * LEADERBOARD_PAGE_SIZE;
+    private final AtomicReferenceArray<LifetimeRanking> lifetimeRankings = new AtomicReferenceArray<>(RankingType.values().length);
+    
+    private static class LifetimeRanking {
+        private final long version;
+        private final List<Map.Entry<String, Double>> entries;
+        private final int eligible;
+        
+        private LifetimeRanking(long version, List<Map.Entry<String, Double>> entries, int eligible) {
+            this.version = version;
+            this.entries = entries;
+            this.eligible = eligible;
+        }
+        
+        /**
+         * Se o ranking guardado chega até a posição (ou já tem todos os jogadores)
+         */
+        private boolean covers(int end) {
+            return end <= entries.size() || entries.size() >= eligible;
+        }
+    }
+    
+    // Totais do servidor mantidos a cada rodada (/hns globalstats sem varredura)
+    private GlobalAggregates aggregates = new GlobalAggregates();
+    private boolean aggregatesDirty = false;
+    private boolean aggregatesRecovered = false; // global.json estava ausente ou ilegível e foi remontado dos jogadores
+    
+    // Histórico de rodadas só de acréscimo, com índice por jogador (/hns history)
+    private static final int HISTORY_PAGE_SIZE = 10;
+    private static final long REBUILD_APPLY_TIMEOUT_SECONDS = 10;
+    private final RoundHistory history = new RoundHistory(Paths.get("hideseek_stats", "history"));
     
     // Tipos de ranking disponíveis
     public enum RankingType {
@@ -49,15 +142,19 @@ public class StatsManager {
     }
     
     private StatsManager() {
-        // Definir caminho do arquivo de estatísticas
-        this.statsFile = Paths.get("hideseek_stats.json");
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        // Diretório por jogador; o antigo arquivo único é migrado automaticamente
+        PlayerStatsStore files = new PlayerStatsStore(Paths.get("hideseek_stats"), Paths.get("hideseek_stats.json"),
+            Config.STATS_SHARDS.get());
+        // Banco embutido: importa os arquivos na primeira execução
+        this.fileStore = files;
+        this.store = "h2".equals(Config.STATS_BACKEND.get()) ? new SqlStatsRepository(Paths.get("hideseek_stats"), files) : files;
+        this.cache = new StatsCache(Config.STATS_CACHE_SIZE.get(), stats -> enqueueWrites(List.of(stats), null, null));
         
-        // Carregar estatísticas existentes
+        // Carregar índice de jogadores conhecidos (as estatísticas são carregadas sob demanda)
         loadStats();
     }
     
-    public static StatsManager getInstance() {
+    public static synchronized StatsManager getInstance() { // Também chamado pelo DataPreloader
         if (instance == null) {
             instance = new StatsManager();
         }
@@ -77,31 +174,81 @@ public class StatsManager {
      * Obtém estatísticas por UUID (cria se não existir)
      */
     public PlayerStats getPlayerStats(UUID playerUuid, String playerName) {
-        return playerStats.computeIfAbsent(playerUuid, uuid -> new PlayerStats(uuid, playerName));
+        PlayerStats stats = loadIntoCache(playerUuid);
+        if (stats == null) {
+            stats = new PlayerStats(playerUuid, playerName);
+            cache.put(playerUuid, stats);
+            cache.markDirty(playerUuid);
+            rememberName(playerUuid, playerName);
+            aggregates.recordNewPlayer();
+            aggregatesDirty = true;
+        }
+        return stats;
     }
     
     /**
-     * Obtém estatísticas por UUID (pode retornar null se não existir)
+     * Obtém estatísticas por UUID sem criar (null se o jogador nunca jogou)
      */
-    public PlayerStats getPlayerStatsReadOnly(UUID playerUuid) {
-        return playerStats.get(playerUuid);
+    public PlayerStats getPlayerStatsIfPresent(UUID playerUuid) {
+        return loadIntoCache(playerUuid);
     }
     
     /**
-     * Atualiza nome conhecido de um jogador
+     * Atualiza nome conhecido de um jogador. Só o índice de nomes recebe quem nunca jogou;
+     * as estatísticas são criadas no primeiro jogo (recordGameStart).
      */
     public void updatePlayerName(ServerPlayer player) {
-        PlayerStats stats = getPlayerStats(player);
-        stats.updateLastKnownName(player.getName().getString());
+        String name = player.getName().getString();
+        rememberName(player.getUUID(), name);
+        PlayerStats stats = loadIntoCache(player.getUUID());
+        if (stats != null && !name.equals(stats.getLastKnownName())) {
+            stats.updateLastKnownName(name);
+            invalidateRankings(); // Nome aparece nas páginas em cache
+            cache.markDirty(player.getUUID());
+        }
         saveStatsAsync(); // Salvar de forma assíncrona
     }
     
+    /**
+     * Carrega e fixa as estatísticas do jogador ao entrar no servidor
+     */
+    public void onPlayerJoin(ServerPlayer player) {
+        cache.pin(player.getUUID());
+        updatePlayerName(player);
+    }
+    
+    /**
+     * Grava e libera as estatísticas do jogador ao sair do servidor
+     */
+    public void onPlayerLeave(ServerPlayer player) {
+        cache.unpin(player.getUUID());
+        cache.evict(player.getUUID());
+        if (namesDirty) {
+            saveStats();
+        }
+    }
+    
     /**
      * Remove estatísticas de um jogador (para limpeza/reset)
      */
     public boolean removePlayerStats(UUID playerUuid) {
-        boolean removed = playerStats.remove(playerUuid) != null;
+        PlayerStats stats = loadIntoCache(playerUuid);
+        boolean removed = nameIndex.remove(playerUuid) | stats != null;
+        cache.remove(playerUuid);
+        windowIndexes.values().forEach(index -> index.remove(playerUuid));
+        if (rebuildPending) {
+            touchedDuringRebuild.put(playerUuid, null);
+        }
+        invalidateRankings();
+        discardLifetimeRankings(); // Rankings guardados ficaram velhos; libera a memória
         if (removed) {
+            if (stats != null) {
+                aggregates.removePlayer(stats); // Totais do servidor sem o jogador removido
+                aggregatesDirty = true;
+            }
+            unwritten.remove(playerUuid);
+            writer.execute(() -> store.delete(playerUuid)); // Depois de gravações já enfileiradas
+            namesDirty = true;
             saveStatsAsync();
         }
         return removed;
@@ -111,39 +258,92 @@ public class StatsManager {
      * Limpa todas as estatísticas
      */
     public void clearAllStats() {
-        playerStats.clear();
+        cache.clear();
+        nameIndex.clear();
+        unwritten.clear();
+        failedWrites.clear();
+        windowIndexes.values().forEach(RankingIndex::clear);
+        indexGeneration++; // Descarta uma reconstrução em andamento
+        invalidateRankings();
+        discardLifetimeRankings();
+        aggregates = new GlobalAggregates();
+        aggregates.markPlayersCounted();
+        aggregates.markSeekingSurvival();
+        aggregates.markHistoryStart(0);
+        aggregatesRecovered = false;
+        aggregatesDirty = true;
+        writer.execute(store::deleteAll);
+        writer.execute(history::clear);
+        namesDirty = true;
         saveStatsAsync();
     }
     
-    // ================== MÉTODOS PARA REGISTRAR EVENTOS ==================
+    /**
+     * Busca estatísticas no cache ou em disco (null se o jogador nunca jogou)
+     */
+    private PlayerStats loadIntoCache(UUID playerUuid) {
+        PlayerStats stats = cache.get(playerUuid);
+        if (stats == null) {
+            PlayerStats pending = unwritten.get(playerUuid);
+            stats = pending != null ? pending.copy() : store.load(playerUuid);
+            if (stats != null) {
+                cache.put(playerUuid, stats);
+            }
+        }
+        return stats;
+    }
+    
+    private void rememberName(UUID playerUuid, String playerName) {
+        if (nameIndex.put(playerUuid, playerName)) {
+            namesDirty = true;
+        }
+    }
     
     /**
-     * Registra início de jogo para um jogador
+     * Percorre todas as estatísticas (cache primeiro, depois disco) sem carregar tudo em memória
      */
-    public void recordGameStart(ServerPlayer player, boolean isHider) {
-        PlayerStats stats = getPlayerStats(player);
-        stats.startGame(isHider);
-        HideSeek.LOGGER.debug("Recorded game start for {}: isHider={}", player.getName().getString(), isHider);
+    private void forEachStats(Consumer<PlayerStats> consumer) {
+        Set<UUID> visited = new HashSet<>();
+        for (PlayerStats stats : new ArrayList<>(cache.values())) {
+            visited.add(stats.getPlayerUuid());
+            consumer.accept(stats);
+        }
+        for (PlayerStats stats : unwritten.values()) {
+            if (visited.add(stats.getPlayerUuid())) {
+                consumer.accept(stats);
+            }
+        }
+        store.forEach(stats -> {
+            if (!visited.contains(stats.getPlayerUuid())) {
+                consumer.accept(stats);
+            }
+        });
     }
     
     /**
-     * Registra vitória para um jogador
+     * Cópia do que está em memória, para leitura fora da thread do servidor (chamado na thread do servidor)
      */
-    public void recordWin(ServerPlayer player, boolean wasHider) {
-        PlayerStats stats = getPlayerStats(player);
-        stats.recordWin(wasHider);
-        saveStatsAsync();
-        HideSeek.LOGGER.info("Recorded win for {}: wasHider={}", player.getName().getString(), wasHider);
+    private StatsSnapshot snapshot() {
+        Map<UUID, PlayerStats> copies = new HashMap<>(unwritten); // Já são cópias imutáveis
+        for (PlayerStats stats : cache.values()) {
+            copies.put(stats.getPlayerUuid(), stats.copy());
+        }
+        return new StatsSnapshot(copies, store);
     }
     
+    // ================== MÉTODOS PARA REGISTRAR EVENTOS ==================
+    
     /**
-     * Registra derrota para um jogador
+     * Registra início de jogo para um jogador
      */
-    public void recordLoss(ServerPlayer player, boolean wasHider) {
+    public void recordGameStart(ServerPlayer player, boolean isHider) {
         PlayerStats stats = getPlayerStats(player);
-        stats.recordLoss(wasHider);
-        saveStatsAsync();
-        HideSeek.LOGGER.info("Recorded loss for {}: wasHider={}", player.getName().getString(), wasHider);
+        stats.startGame(isHider);
+        aggregates.recordGameStart();
+        aggregatesDirty = true;
+        invalidateRankings(); // Primeiro jogo faz o jogador entrar em todos os rankings
+        cache.markDirty(player.getUUID());
+        HideSeek.LOGGER.debug("Recorded game start for {}: isHider={}", player.getName().getString(), isHider);
     }
     
     /**
@@ -152,6 +352,7 @@ public class StatsManager {
     public void recordPlayerCaptured(ServerPlayer capturedPlayer) {
         PlayerStats stats = getPlayerStats(capturedPlayer);
         stats.recordCapture();
+        cache.markDirty(capturedPlayer.getUUID());
         saveStatsAsync();
         HideSeek.LOGGER.info("Recorded capture for {}", capturedPlayer.getName().getString());
     }
@@ -162,58 +363,95 @@ public class StatsManager {
     public void recordPlayerMadeCapture(ServerPlayer seekerPlayer) {
         PlayerStats stats = getPlayerStats(seekerPlayer);
         stats.recordPlayerCaptured();
+        addWindowed(stats, WindowedStats.Metric.CAPTURES);
+        reindex(stats);
+        invalidateRankings(RankingType.PLAYERS_CAPTURED);
+        cache.markDirty(seekerPlayer.getUUID());
         saveStatsAsync();
         HideSeek.LOGGER.info("Recorded capture made by {}", seekerPlayer.getName().getString());
     }
     
     /**
-     * Registra tempo de sobrevivência de um Hider
+     * Aplica o resultado de uma rodada a todos os participantes de uma vez
+     * e enfileira uma única gravação
      */
-    public void recordHidingTime(ServerPlayer hider, long seconds) {
-        PlayerStats stats = getPlayerStats(hider);
-        stats.addHidingTime(seconds);
-        saveStatsAsync();
-    }
-    
-    /**
-     * Registra tempo de busca de um Seeker
-     */
-    public void recordSeekingTime(ServerPlayer seeker, long seconds) {
-        PlayerStats stats = getPlayerStats(seeker);
-        stats.addSeekingTime(seconds);
-        saveStatsAsync();
-    }
-    
-    /**
-     * Registra tempo para primeira captura de um Seeker
-     */
-    public void recordCaptureTime(ServerPlayer seeker, long seconds) {
-        PlayerStats stats = getPlayerStats(seeker);
-        stats.recordCaptureTime(seconds);
-        saveStatsAsync();
+    public void applyRoundResult(RoundResult result) {
+        long start = Metrics.start();
+        try {
+            ensureWindowIndexes(); // Rodada depois da virada conta no novo dia/temporada
+            int winners = 0;
+            for (RoundResult.Participant participant : result.getParticipants()) {
+                PlayerStats stats = getPlayerStats(participant.getPlayerUuid(), participant.getPlayerName());
+                boolean won = result.isWinner(participant);
+                addWindowed(stats, WindowedStats.Metric.GAMES);
+                if (won) {
+                    stats.recordWin(participant.isHider());
+                    addWindowed(stats, WindowedStats.Metric.WINS);
+                    addWindowed(stats, participant.isHider() ? WindowedStats.Metric.HIDER_WINS : WindowedStats.Metric.SEEKER_WINS);
+                    winners++;
+                } else {
+                    stats.recordLoss(participant.isHider());
+                }
+                
+                if (participant.isHider()) {
+                    stats.addHidingTime(result.getSurvivalSeconds(participant));
+                } else {
+                    stats.addSeekingTime(result.getSeekingSeconds());
+                    if (participant.getFirstCaptureSeconds() >= 0) {
+                        stats.recordCaptureTime(participant.getFirstCaptureSeconds());
+                    }
+                }
+                reindex(stats);
+                cache.markDirty(participant.getPlayerUuid());
+            }
+            
+            aggregates.recordRound(result);
+            aggregatesDirty = true;
+            invalidateRankings();
+            writer.execute(() -> history.append(result)); // Na mesma fila das estatísticas da rodada
+            
+            HideSeek.LOGGER.info("Applied round {} result: {} won, {} participants, {} winners",
+                result.getRoundId(), result.isSeekersWin() ? "Seekers" : "Hiders",
+                result.getParticipants().size(), winners);
+            saveStatsAsync();
+        } finally {
+            Metrics.stop(Metrics.Section.STATS_ROUND_RESULT, start);
+        }
     }
     
     // ================== SISTEMA DE RANKINGS ==================
     
     /**
-     * Gera ranking dos melhores jogadores por categoria
+     * Gera ranking dos melhores jogadores por categoria a partir de uma cópia (roda em qualquer thread)
+     * @param eligible recebe o número de jogadores que entram no ranking (pode ser null)
      */
-    public List<Map.Entry<String, Double>> getLeaderboard(RankingType type, int limit) {
-        return playerStats.values().stream()
-            .filter(stats -> stats.getGamesPlayed() > 0) // Apenas jogadores que jogaram
-            .map(stats -> {
-                double value = getStatValue(stats, type);
-                return new AbstractMap.SimpleEntry<>(stats.getLastKnownName(), value);
-            })
-            .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue())) // Ordem decrescente
-            .limit(limit)
-            .collect(Collectors.toList());
+    private static List<Map.Entry<String, Double>> rankTop(StatsSnapshot snapshot, RankingType type, int limit, int[] eligible) {
+        // Heap mínimo com os N melhores: memória proporcional ao limite, não ao total de jogadores
+        PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        int[] count = new int[1];
+        snapshot.forEach(stats -> {
+            if (stats.getGamesPlayed() <= 0) {
+                return; // Apenas jogadores que jogaram
+            }
+            count[0]++;
+            top.offer(new AbstractMap.SimpleEntry<>(stats.getLastKnownName(), getStatValue(stats, type)));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        
+        List<Map.Entry<String, Double>> ranking = new ArrayList<>(top);
+        ranking.sort((e1, e2) -> Double.compare(e2.getValue(), e1.getValue())); // Ordem decrescente
+        if (eligible != null) {
+            eligible[0] = count[0];
+        }
+        return ranking;
     }
     
     /**
      * Obtém valor de estatística baseado no tipo de ranking
      */
-    private double getStatValue(PlayerStats stats, RankingType type) {
+    static double getStatValue(PlayerStats stats, RankingType type) { // Também usado pelo SqlStatsRepository
         return switch (type) {
             case GAMES_WON -> stats.getGamesWon();
             case WIN_RATE -> stats.getGamesPlayed() >= 5 ? stats.getWinRate() : 0; // Mínimo 5 jogos para taxa de vitória
@@ -227,27 +465,169 @@ public class StatsManager {
     }
     
     /**
-     * Gera componente de texto com leaderboard
+     * Prepara uma página de um leaderboard (window null = total), na thread do servidor.
+     * Páginas já montadas e as por janela (índice em memória) ficam prontas aqui; a página do total
+     * percorre todos os jogadores, então a tarefa retornada lê uma cópia e pode rodar em outra thread.
+     * @return tarefa que monta a página, ou null se a categoria não existe por janela de tempo
      */
-    public Component getLeaderboardComponent(RankingType type, int limit) {
-        List<Map.Entry<String, Double>> ranking = getLeaderboard(type, limit);
+    public Supplier<Component> prepareLeaderboardPage(RankingType type, StatsWindow window, int page) {
+        WindowedStats.Metric metric = window != null ? windowMetricOf(type) : null;
+        if (window != null && metric == null) {
+            return null;
+        }
+        if (window != null) {
+            ensureWindowIndexes(); // Virada do dia/temporada invalida as versões
+        }
+        
+        String key = type + "/" + (window != null ? window : "ALL") + "/" + page;
+        long version = rankingVersions[type.ordinal()];
+        Component cached = leaderboardCache.get(key, version);
+        if (cached != null) {
+            return () -> cached;
+        }
+        
+        int offset = (page - 1) * LEADERBOARD_PAGE_SIZE;
+        if (window != null) {
+            RankingIndex index = windowIndexes.get(window);
+            String title = type.getDisplayName() + " (" + window.getDisplayName()
+                + (window == StatsWindow.SEASON ? " " + season.getNumber() : "") + ")";
+            Component component = renderLeaderboard(title, toRanking(index.page(metric, offset, LEADERBOARD_PAGE_SIZE), metric),
+                type, offset, page, index.count(metric));
+            leaderboardCache.put(key, version, component);
+            return () -> component;
+        }
         
-        net.minecraft.network.chat.MutableComponent component = Component.literal("🏆 TOP " + limit + " - " + type.getDisplayName())
+        if (store instanceof RankingQueries queries) {
+            // O banco ordena sozinho; a consulta espera as gravações enfileiradas até agora
+            saveStatsAsync();
+            Future<?> written = writer.submit(() -> {});
+            return () -> {
+                awaitWrites(written);
+                int[] eligible = new int[1];
+                List<Map.Entry<String, Double>> ranking = queries.queryLeaderboard(type, offset, LEADERBOARD_PAGE_SIZE, eligible);
+                Component component = renderLeaderboard(type.getDisplayName(), ranking, type, offset, page, eligible[0]);
+                leaderboardCache.put(key, version, component);
+                return component;
+            };
+        }
+        
+        // Ranking já ordenado da categoria, se ainda for da versão atual
+        LifetimeRanking ranking = lifetimeRankings.get(type.ordinal());
+        if (ranking != null && ranking.version == version && ranking.covers(offset + LEADERBOARD_PAGE_SIZE)) {
+            Component component = renderLifetimePage(type, ranking, offset, page);
+            leaderboardCache.put(key, version, component);
+            return () -> component;
+        }
+        
+        StatsSnapshot snapshot = snapshot();
+        int depth = Math.max(LIFETIME_RANKING_DEPTH, offset + LEADERBOARD_PAGE_SIZE);
+        return () -> {
+            // Uma varredura guarda as primeiras páginas de uma vez, sem ordenar todos os jogadores
+            int[] eligible = new int[1];
+            List<Map.Entry<String, Double>> top = rankTop(snapshot, type, depth, eligible);
+            LifetimeRanking built = new LifetimeRanking(version, top, eligible[0]);
+            lifetimeRankings.accumulateAndGet(type.ordinal(), built, // Não substituir um ranking mais novo
+                (current, candidate) -> current == null || current.version <= candidate.version ? candidate : current);
+            Component component = renderLifetimePage(type, built, offset, page);
+            leaderboardCache.put(key, version, component); // Versão antiga se o ranking mudou nesse meio tempo
+            return component;
+        };
+    }
+    
+    private static Component renderLifetimePage(RankingType type, LifetimeRanking ranking, int offset, int page) {
+        List<Map.Entry<String, Double>> entries = ranking.entries;
+        int end = Math.min(offset + LEADERBOARD_PAGE_SIZE, entries.size());
+        return renderLeaderboard(type.getDisplayName(), entries.subList(Math.min(offset, end), end),
+            type, offset, page, ranking.eligible);
+    }
+    
+    /**
+     * Prepara o leaderboard de uma temporada encerrada; a tarefa lê o arquivo compactado
+     * e pode rodar em outra thread (o arquivo só é escrito uma vez, por substituição atômica)
+     * @return tarefa que monta o leaderboard, ou null se a categoria só existe no total
+     */
+    public Supplier<Component> prepareSeasonArchiveLeaderboard(RankingType type, int seasonNumber, int limit) {
+        WindowedStats.Metric metric = windowMetricOf(type);
+        if (metric == null) {
+            return null;
+        }
+        Path archive = store.seasonArchiveFile(seasonNumber);
+        return () -> {
+            try {
+                List<RankingIndex.Entry> top = SeasonArchive.readTop(archive, metric, limit);
+                if (top != null) {
+                    String title = type.getDisplayName() + " (Temporada " + seasonNumber + ")";
+                    return renderLeaderboard(title, toRanking(top, metric), type, 0, 1, top.size());
+                }
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to read stats season archive {}", seasonNumber, e);
+            }
+            return Component.literal("Temporada " + seasonNumber + " não encontrada (apenas temporadas encerradas são arquivadas)")
+                .withStyle(ChatFormatting.RED);
+        };
+    }
+    
+    /**
+     * Marca os rankings das categorias como alterados (nenhuma = todas); suas páginas em cache são remontadas
+     */
+    private void invalidateRankings(RankingType... types) {
+        for (RankingType type : types.length == 0 ? RankingType.values() : types) {
+            rankingVersions[type.ordinal()]++;
+        }
+    }
+    
+    private void discardLifetimeRankings() {
+        for (int i = 0; i < lifetimeRankings.length(); i++) {
+            lifetimeRankings.set(i, null);
+        }
+    }
+    
+    /**
+     * Métrica por janela equivalente à categoria (null para categorias só do total)
+     */
+    public static WindowedStats.Metric windowMetricOf(RankingType type) {
+        return switch (type) {
+            case GAMES_WON -> WindowedStats.Metric.WINS;
+            case HIDER_WINS -> WindowedStats.Metric.HIDER_WINS;
+            case SEEKER_WINS -> WindowedStats.Metric.SEEKER_WINS;
+            case PLAYERS_CAPTURED -> WindowedStats.Metric.CAPTURES;
+            case GAMES_PLAYED -> WindowedStats.Metric.GAMES;
+            case WIN_RATE, LONGEST_SURVIVAL, WIN_STREAK -> null;
+        };
+    }
+    
+    private static List<Map.Entry<String, Double>> toRanking(List<RankingIndex.Entry> entries, WindowedStats.Metric metric) {
+        List<Map.Entry<String, Double>> ranking = new ArrayList<>(entries.size());
+        for (RankingIndex.Entry entry : entries) {
+            ranking.add(new AbstractMap.SimpleEntry<>(entry.getPlayerName(), (double) entry.getValue(metric)));
+        }
+        return ranking;
+    }
+    
+    /**
+     * Monta o texto de uma página (offset = posição do primeiro jogador da página)
+     */
+    private static Component renderLeaderboard(String title, List<Map.Entry<String, Double>> ranking, RankingType type,
+                                               int offset, int page, int total) {
+        int pages = Math.max(1, (total + LEADERBOARD_PAGE_SIZE - 1) / LEADERBOARD_PAGE_SIZE);
+        String header = page == 1 ? "🏆 TOP " + LEADERBOARD_PAGE_SIZE + " - " + title : "🏆 " + title + " - Página " + page;
+        net.minecraft.network.chat.MutableComponent component = Component.literal(header)
             .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD)
             .append(Component.literal("\n" + "=".repeat(30)).withStyle(ChatFormatting.GRAY));
         
         if (ranking.isEmpty()) {
-            return component.append(Component.literal("\nNenhum jogador encontrado.").withStyle(ChatFormatting.GRAY));
+            return component.append(Component.literal(page == 1 ? "\nNenhum jogador encontrado." : "\nPágina vazia (total de " + pages + " páginas).")
+                .withStyle(ChatFormatting.GRAY));
         }
         
         for (int i = 0; i < ranking.size(); i++) {
             Map.Entry<String, Double> entry = ranking.get(i);
-            String position = String.valueOf(i + 1);
+            String position = String.valueOf(offset + i + 1);
             String playerName = entry.getKey();
             double value = entry.getValue();
             
             // Cor da posição
-            ChatFormatting positionColor = switch (i) {
+            ChatFormatting positionColor = switch (offset + i) {
                 case 0 -> ChatFormatting.GOLD;   // 1º lugar
                 case 1 -> ChatFormatting.GRAY;   // 2º lugar  
                 case 2 -> ChatFormatting.DARK_RED; // 3º lugar
@@ -263,13 +643,16 @@ public class StatsManager {
                 .append(Component.literal(formattedValue).withStyle(ChatFormatting.YELLOW));
         }
         
+        if (pages > 1) {
+            component.append(Component.literal("\nPágina " + page + " de " + pages).withStyle(ChatFormatting.GRAY));
+        }
         return component;
     }
     
     /**
      * Formata valor de estatística para exibição
      */
-    private String formatStatValue(double value, RankingType type) {
+    private static String formatStatValue(double value, RankingType type) {
         return switch (type) {
             case WIN_RATE -> String.format("%.1f%%", value);
             case LONGEST_SURVIVAL -> PlayerStats.formatTime((long) value);
@@ -277,99 +660,664 @@ public class StatsManager {
         };
     }
     
+    // ================== JANELAS E TEMPORADAS ==================
+    
+    private static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+    
+    private void addWindowed(PlayerStats stats, WindowedStats.Metric metric) {
+        stats.getWindows().add(metric, 1, today(), season.getNumber());
+    }
+    
+    /**
+     * Atualiza o jogador nos rankings por janela (o da temporada sempre; os por dia ficam
+     * para a reconstrução se o dia virou) e o guarda para a reconstrução em andamento
+     */
+    private void reindex(PlayerStats stats) {
+        if (indexSeason == season.getNumber()) {
+            indexWindows(windowIndexes, stats, indexDay, indexSeason);
+        }
+        if (rebuildPending) {
+            touchedDuringRebuild.put(stats.getPlayerUuid(), stats);
+        }
+    }
+    
+    private static void indexWindows(Map<StatsWindow, RankingIndex> indexes, PlayerStats stats, long day, long seasonNumber) {
+        for (StatsWindow window : StatsWindow.values()) {
+            indexes.get(window).update(stats.getPlayerUuid(), stats.getLastKnownName(),
+                stats.getWindows().rollup(window, day, seasonNumber));
+        }
+    }
+    
+    /**
+     * Define a thread do servidor, para onde os rankings reconstruídos voltam (chamado ao iniciar o servidor)
+     */
+    public void setServerThread(Executor serverThread) {
+        this.serverThread = serverThread;
+        if (storeClosed) {
+            openStore(); // Servidor integrado reiniciado no mesmo processo
+            storeClosed = false;
+        }
+    }
+    
+    /**
+     * Garante que os rankings por janela correspondem ao dia e à temporada atuais
+     * (uma varredura completa por dia, fora da thread do servidor) e vira as temporadas que terminaram
+     */
+    private void ensureWindowIndexes() {
+        long today = today();
+        rolloverEndedSeasons(today);
+        if ((indexDay != today || indexSeason != season.getNumber()) && !rebuildPending) {
+            if (serverThread != null) {
+                scheduleWindowRebuild(today);
+            } else {
+                rebuildWindowIndexes(today);
+            }
+        }
+    }
+    
+    /**
+     * Reconstrução síncrona (carregamento inicial, antes do servidor aceitar jogadores)
+     */
+    private void rebuildWindowIndexes(long today) {
+        long start = System.nanoTime();
+        long seasonNumber = season.getNumber();
+        windowIndexes.values().forEach(RankingIndex::clear);
+        forEachStats(stats -> indexWindows(windowIndexes, stats, today, seasonNumber));
+        indexDay = today;
+        indexSeason = seasonNumber;
+        invalidateRankings();
+        HideSeek.LOGGER.info("Rebuilt windowed rankings: {} players active this season in {} ms",
+            windowIndexes.get(StatsWindow.SEASON).size(), (System.nanoTime() - start) / 1_000_000);
+        applyRequestedRollover();
+    }
+    
+    /**
+     * Monta novos rankings a partir de uma cópia na thread de escrita e os troca na thread do servidor.
+     * Até a troca, as consultas usam os rankings anteriores.
+     */
+    private void scheduleWindowRebuild(long today) {
+        rebuildPending = true;
+        touchedDuringRebuild.clear();
+        long seasonNumber = season.getNumber();
+        long generation = indexGeneration;
+        StatsSnapshot snapshot = snapshot();
+        Executor callback = serverThread;
+        
+        writer.execute(() -> {
+            long start = System.nanoTime();
+            Map<StatsWindow, RankingIndex> built = new EnumMap<>(StatsWindow.class);
+            try {
+                for (StatsWindow window : StatsWindow.values()) {
+                    built.put(window, new RankingIndex());
+                }
+                snapshot.forEach(stats -> indexWindows(built, stats, today, seasonNumber));
+            } catch (RuntimeException e) {
+                HideSeek.LOGGER.error("Failed to rebuild windowed rankings", e);
+                callback.execute(() -> {
+                    rebuildPending = false; // A próxima consulta tenta de novo
+                    touchedDuringRebuild.clear();
+                });
+                return;
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            callback.execute(() -> swapWindowIndexes(built, today, seasonNumber, generation, elapsedMs));
+        });
+    }
+    
+    private void swapWindowIndexes(Map<StatsWindow, RankingIndex> built, long today, long seasonNumber,
+                                   long generation, long elapsedMs) {
+        rebuildPending = false;
+        if (generation != indexGeneration || seasonNumber != season.getNumber()) {
+            // Estatísticas apagadas ou temporada virou enquanto montava: descartar
+            touchedDuringRebuild.clear();
+            ensureWindowIndexes();
+            return;
+        }
+        
+        for (Map.Entry<UUID, PlayerStats> entry : touchedDuringRebuild.entrySet()) {
+            if (entry.getValue() == null) {
+                built.values().forEach(index -> index.remove(entry.getKey()));
+            } else {
+                indexWindows(built, entry.getValue(), today, seasonNumber);
+            }
+        }
+        touchedDuringRebuild.clear();
+        windowIndexes.putAll(built);
+        indexDay = today;
+        indexSeason = seasonNumber;
+        invalidateRankings();
+        HideSeek.LOGGER.info("Rebuilt windowed rankings: {} players active this season in {} ms (off-thread)",
+            windowIndexes.get(StatsWindow.SEASON).size(), elapsedMs);
+        applyRequestedRollover();
+    }
+    
+    /**
+     * Vira todas as temporadas que já terminaram (mais de uma se o servidor ficou parado por muito tempo)
+     */
+    private void rolloverEndedSeasons(long today) {
+        int lengthDays = Config.STATS_SEASON_DAYS.get();
+        while (season.isOver(today, lengthDays)) {
+            long endDay = season.getStartDay() + lengthDays;
+            rolloverSeason(endDay, season.next(endDay));
+        }
+    }
+    
+    /**
+     * Encerra a temporada atual: seus totais vão para um arquivo compactado
+     * (gravado na thread de escrita) e a próxima temporada começa
+     */
+    private void rolloverSeason(long endDay, StatsSeason started) {
+        StatsSeason ended = season;
+        // O ranking da temporada é mantido a cada rodada; temporadas puladas (sem índice) não tiveram jogos
+        boolean indexed = indexSeason == ended.getNumber();
+        List<RankingIndex.Entry> entries = indexed
+            ? new ArrayList<>(windowIndexes.get(StatsWindow.SEASON).getEntries())
+            : List.of();
+        season = started;
+        
+        Path archive = store.seasonArchiveFile(ended.getNumber());
+        writer.execute(() -> {
+            if (indexed) {
+                try {
+                    SeasonArchive.write(archive, ended, endDay, entries);
+                } catch (IOException e) {
+                    HideSeek.LOGGER.error("Failed to archive stats season {}", ended.getNumber(), e);
+                }
+            }
+            store.saveSeason(started);
+        });
+        HideSeek.LOGGER.info("Stats season {} ended with {} players, season {} started",
+            ended.getNumber(), entries.size(), started.getNumber());
+    }
+    
+    /**
+     * Encerra a temporada atual (comando de administrador). Se o ranking dela ainda está sendo
+     * montado (temporada virou há instantes), o encerramento acontece quando a montagem terminar.
+     * @return mensagem para o administrador
+     */
+    public Component forceSeasonRollover() {
+        int current = season.getNumber();
+        rolloverRequested = current;
+        ensureWindowIndexes();
+        applyRequestedRollover();
+        if (season.getNumber() != current) {
+            return Component.literal("✅ Temporada " + current + " encerrada e arquivada. Temporada "
+                + season.getNumber() + " iniciada.");
+        }
+        return Component.literal("⏳ O ranking da temporada " + current
+            + " ainda está sendo montado; ela será encerrada e arquivada assim que terminar.");
+    }
+    
+    /**
+     * Encerra a temporada pedida pelo comando, se o ranking dela já está montado
+     */
+    private void applyRequestedRollover() {
+        if (rolloverRequested < 0) {
+            return;
+        }
+        if (rolloverRequested != season.getNumber()) {
+            rolloverRequested = -1; // A temporada já virou sozinha
+            return;
+        }
+        if (indexSeason != rolloverRequested) {
+            return; // Ainda montando
+        }
+        rolloverRequested = -1;
+        long today = today();
+        rolloverSeason(today, season.next(today));
+        ensureWindowIndexes();
+    }
+    
+    /**
+     * Temporada atual e dias restantes
+     */
+    public Component getSeasonComponent() {
+        ensureWindowIndexes();
+        long daysLeft = season.getDaysLeft(today(), Config.STATS_SEASON_DAYS.get());
+        return Component.literal("📅 Temporada " + season.getNumber()).withStyle(ChatFormatting.AQUA, ChatFormatting.BOLD)
+            .append(Component.literal("\nIniciada em: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(LocalDate.ofEpochDay(season.getStartDay()).toString()).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal("\nDias restantes: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(String.valueOf(daysLeft)).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal("\nJogadores ativos: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(String.valueOf(windowIndexes.get(StatsWindow.SEASON).size())).withStyle(ChatFormatting.WHITE));
+    }
+    
+    // ================== HISTÓRICO DE RODADAS ==================
+    
+    /**
+     * Prepara uma página do histórico de um jogador buscado por nome (prefixo)
+     * @return tarefa que monta a página, ou null se nenhum nome corresponde
+     */
+    public Supplier<Component> prepareHistory(String partialName, int page) {
+        List<UUID> matches = nameIndex.findByPrefix(partialName, 1, cache.pinnedKeys());
+        if (matches.isEmpty()) {
+            return null;
+        }
+        return prepareHistory(matches.get(0), nameIndex.getName(matches.get(0)), page);
+    }
+    
+    /**
+     * Prepara uma página do histórico (10 rodadas, mais recentes primeiro). A tarefa espera as gravações
+     * enfileiradas até agora (inclui a última rodada) e faz uma leitura posicionada por rodada.
+     */
+    public Supplier<Component> prepareHistory(UUID playerUuid, String playerName, int page) {
+        Future<?> written = writer.submit(() -> {});
+        return () -> {
+            awaitWrites(written);
+            int total = history.countRounds(playerUuid);
+            List<RoundResult> rounds = history.recent(playerUuid, (page - 1) * HISTORY_PAGE_SIZE, HISTORY_PAGE_SIZE);
+            return renderHistory(playerUuid, playerName, rounds, page, total);
+        };
+    }
+    
+    private static Component renderHistory(UUID playerUuid, String playerName, List<RoundResult> rounds, int page, int total) {
+        int pages = Math.max(1, (total + HISTORY_PAGE_SIZE - 1) / HISTORY_PAGE_SIZE);
+        net.minecraft.network.chat.MutableComponent component = Component.literal("📜 Histórico de " + playerName)
+            .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD)
+            .append(Component.literal("\n" + "=".repeat(30)).withStyle(ChatFormatting.GRAY));
+        
+        if (rounds.isEmpty()) {
+            return component.append(Component.literal(page == 1 ? "\nNenhuma rodada registrada." : "\nPágina vazia (total de " + pages + " páginas).")
+                .withStyle(ChatFormatting.GRAY));
+        }
+        
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd/MM HH:mm").withZone(ZoneId.systemDefault());
+        for (RoundResult round : rounds) {
+            RoundResult.Participant participant = round.getParticipant(playerUuid);
+            if (participant == null) {
+                continue;
+            }
+            boolean won = round.isWinner(participant);
+            String detail;
+            if (participant.isHider()) {
+                detail = participant.wasCaptured()
+                    ? "capturado após " + PlayerStats.formatTime(round.getSurvivalSeconds(participant))
+                    : "sobreviveu " + PlayerStats.formatTime(round.getSurvivalSeconds(participant));
+            } else {
+                detail = participant.getCaptures() + (participant.getCaptures() == 1 ? " captura" : " capturas");
+            }
+            
+            component.append(Component.literal("\n" + format.format(Instant.ofEpochMilli(round.getStartedAt())) + " ")
+                    .withStyle(ChatFormatting.GRAY))
+                .append(Component.literal(participant.isHider() ? "Hider " : "Seeker ")
+                    .withStyle(participant.isHider() ? ChatFormatting.GREEN : ChatFormatting.RED))
+                .append(Component.literal(won ? "Vitória" : "Derrota")
+                    .withStyle(won ? ChatFormatting.GOLD : ChatFormatting.DARK_GRAY, ChatFormatting.BOLD))
+                .append(Component.literal(" - " + detail + " (" + round.getParticipants().size() + " jogadores, "
+                    + PlayerStats.formatTime((round.getEndedAt() - round.getStartedAt()) / 1000) + ")").withStyle(ChatFormatting.WHITE));
+        }
+        
+        if (pages > 1) {
+            component.append(Component.literal("\nPágina " + page + " de " + pages + " (" + total + " rodadas)").withStyle(ChatFormatting.GRAY));
+        }
+        return component;
+    }
+    
+    /**
+     * Prepara o recálculo dos totais por rodada a partir do histórico (ex: global.json perdido ou corrompido).
+     * Só é permitido se o histórico cobre todas as rodadas do servidor ou se global.json foi remontado
+     * dos jogadores ao carregar; jogadores e participações continuam vindo dos totais atuais.
+     * A tarefa lê o histórico inteiro em sequência; os novos totais substituem os atuais na thread do
+     * servidor, apenas se ainda não houver rodada em andamento.
+     * @param idle confere, na thread do servidor, se nenhuma rodada está em andamento
+     */
+    public Supplier<Component> prepareAggregatesRebuild(Executor serverThread, BooleanSupplier idle) {
+        if (!aggregatesRecovered && aggregates.getHistoryStartRound() != 0) {
+            String reason = aggregates.getHistoryStartRound() > 0
+                ? "o histórico começou depois de " + aggregates.getHistoryStartRound() + " rodadas"
+                : "não se sabe quando o histórico começou";
+            return () -> Component.literal("O histórico não cobre todas as rodadas do servidor (" + reason
+                + "). O recálculo só é permitido quando global.json está ausente ou corrompido.").withStyle(ChatFormatting.RED);
+        }
+        Thread requestThread = Thread.currentThread();
+        Future<?> written = writer.submit(() -> {});
+        return () -> {
+            awaitWrites(written);
+            long start = System.nanoTime();
+            GlobalAggregates rebuilt = new GlobalAggregates();
+            rebuilt.markSeekingSurvival();
+            try {
+                history.forEach(rebuilt::recordRound);
+            } catch (IOException e) {
+                HideSeek.LOGGER.error("Failed to read round history", e);
+                return Component.literal("Erro ao ler o histórico de rodadas. Veja o log do servidor.").withStyle(ChatFormatting.RED);
+            }
+            HideSeek.LOGGER.info("Read {} history rounds for aggregates rebuild in {} ms",
+                rebuilt.getRounds(), (System.nanoTime() - start) / 1_000_000);
+            
+            if (Thread.currentThread() == requestThread) {
+                return applyRebuiltAggregates(rebuilt, idle); // Consultas síncronas: já na thread do servidor
+            }
+            try {
+                return CompletableFuture.supplyAsync(() -> applyRebuiltAggregates(rebuilt, idle), serverThread)
+                    .get(REBUILD_APPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                HideSeek.LOGGER.error("Failed to apply rebuilt global stats aggregates", e);
+            }
+            return Component.literal("Não foi possível aplicar o recálculo. Veja o log do servidor.").withStyle(ChatFormatting.RED);
+        };
+    }
+    
+    /**
+     * Substitui os totais por rodada pelos recalculados (thread do servidor)
+     */
+    private Component applyRebuiltAggregates(GlobalAggregates rebuilt, BooleanSupplier idle) {
+        if (!idle.getAsBoolean()) {
+            return Component.literal("Uma rodada começou durante o recálculo; nada foi alterado.").withStyle(ChatFormatting.RED);
+        }
+        if (!aggregatesRecovered && rebuilt.getRounds() != aggregates.getRounds()) {
+            HideSeek.LOGGER.warn("Round history has {} rounds but global stats count {}; rebuild discarded",
+                rebuilt.getRounds(), aggregates.getRounds());
+            return Component.literal("O histórico tem " + rebuilt.getRounds() + " rodadas, mas os totais atuais contam "
+                + aggregates.getRounds() + "; nada foi alterado.").withStyle(ChatFormatting.RED);
+        }
+        rebuilt.keepPlayerTotals(aggregates);
+        aggregates = rebuilt;
+        aggregatesRecovered = false;
+        aggregatesDirty = true;
+        saveStatsAsync();
+        HideSeek.LOGGER.info("Rebuilt global stats aggregates from {} history rounds", rebuilt.getRounds());
+        return Component.literal("✅ Estatísticas globais recalculadas a partir de " + rebuilt.getRounds() + " rodadas do histórico.")
+            .withStyle(ChatFormatting.GREEN);
+    }
+    
     // ================== PERSISTÊNCIA ==================
     
     /**
-     * Salva estatísticas de forma assíncrona (não bloqueia)
+     * Enfileira a gravação das estatísticas modificadas (e do índice de nomes, se mudou) sem bloquear
      */
     private void saveStatsAsync() {
-        // Em um ambiente real, você poderia usar um ThreadPoolExecutor
-        // Por simplicidade, vamos salvar diretamente
-        saveStats();
+        List<PlayerStats> retry = takeFailedWrites();
+        List<PlayerStats> dirtyStats = cache.drainDirty();
+        dirtyStats.addAll(retry);
+        Map<UUID, String> names = null;
+        if (namesDirty) {
+            names = new HashMap<>(nameIndex.asMap());
+            namesDirty = false;
+        }
+        GlobalAggregates globals = null;
+        if (aggregatesDirty) {
+            globals = aggregates.copy();
+            aggregatesDirty = false;
+        }
+        if (!dirtyStats.isEmpty() || names != null || globals != null) {
+            enqueueWrites(dirtyStats, names, globals);
+        }
     }
     
     /**
-     * Salva estatísticas no arquivo
+     * Salva as estatísticas modificadas e espera todas as gravações enfileiradas (ex: ao desligar)
      */
     public void saveStats() {
-        try {
-            Type mapType = new TypeToken<Map<UUID, PlayerStats>>(){}.getType();
-            String json = gson.toJson(playerStats, mapType);
-            
-            try (FileWriter writer = new FileWriter(statsFile.toFile())) {
-                writer.write(json);
+        saveStatsAsync();
+        awaitWrites(writer.submit(() -> {}));
+    }
+    
+    /**
+     * Recupera as gravações que falharam: jogadores no cache voltam a ficar modificados (o cache tem
+     * a mesma versão ou uma mais nova); os demais são gravados de novo a partir da cópia
+     */
+    private List<PlayerStats> takeFailedWrites() {
+        List<PlayerStats> retry = new ArrayList<>();
+        PlayerStats failed;
+        while ((failed = failedWrites.poll()) != null) {
+            UUID playerUuid = failed.getPlayerUuid();
+            if (unwritten.get(playerUuid) != failed) {
+                continue; // Uma gravação mais nova já está na fila, ou o jogador foi removido
             }
-            
-            HideSeek.LOGGER.debug("Saved stats for {} players", playerStats.size());
-        } catch (IOException e) {
-            HideSeek.LOGGER.error("Failed to save player stats", e);
+            if (cache.contains(playerUuid)) {
+                cache.markDirty(playerUuid);
+            } else {
+                retry.add(failed);
+            }
+        }
+        return retry;
+    }
+    
+    private static void awaitWrites(Future<?> written) {
+        try {
+            written.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            HideSeek.LOGGER.warn("Timed out waiting for stats writes: {}", e.getMessage());
         }
     }
     
     /**
-     * Carrega estatísticas do arquivo
+     * Copia as estatísticas (thread do servidor) e grava as cópias na thread de escrita
      */
-    public void loadStats() {
-        if (!Files.exists(statsFile)) {
-            HideSeek.LOGGER.info("Stats file not found, starting with empty stats");
-            return;
+    private void enqueueWrites(List<PlayerStats> statsList, Map<UUID, String> names, GlobalAggregates globals) {
+        List<PlayerStats> copies = new ArrayList<>(statsList.size());
+        for (PlayerStats stats : statsList) {
+            PlayerStats copy = stats.copy();
+            copies.add(copy);
+            unwritten.put(copy.getPlayerUuid(), copy);
         }
+        pendingWrites.addAndGet(copies.size());
         
+        writer.execute(() -> {
+            long start = Metrics.start();
+            long flushStart = System.nanoTime();
+            try {
+                List<PlayerStats> failed = store.saveAll(copies);
+                Set<PlayerStats> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+                kept.addAll(failed);
+                for (PlayerStats copy : copies) {
+                    if (!kept.contains(copy)) {
+                        unwritten.remove(copy.getPlayerUuid(), copy);
+                    }
+                }
+                if (!failed.isEmpty()) {
+                    failedWrites.addAll(failed);
+                    HideSeek.LOGGER.warn("Failed to save stats for {} players, will retry on the next save", failed.size());
+                }
+                if (names != null) {
+                    store.saveNames(names);
+                }
+                if (globals != null) {
+                    store.saveAggregates(globals);
+                }
+                HideSeek.LOGGER.debug("Saved stats for {} players", copies.size());
+            } finally {
+                long elapsed = System.nanoTime() - flushStart;
+                lastFlushNanos = elapsed;
+                totalFlushNanos.addAndGet(elapsed);
+                flushCount.incrementAndGet();
+                pendingWrites.addAndGet(-copies.size());
+                Metrics.stop(Metrics.Section.STATS_SAVE, start);
+            }
+        });
+    }
+    
+    /**
+     * Abre o armazenamento; se o banco não puder ser usado, segue com os arquivos JSON
+     * em vez de falhar em cada leitura e gravação
+     */
+    private void openStore() {
         try {
-            String json = Files.readString(statsFile);
-            Type mapType = new TypeToken<Map<UUID, PlayerStats>>(){}.getType();
-            Map<UUID, PlayerStats> loadedStats = gson.fromJson(json, mapType);
-            
-            if (loadedStats != null) {
-                playerStats.clear();
-                playerStats.putAll(loadedStats);
-                HideSeek.LOGGER.info("Loaded stats for {} players", playerStats.size());
+            store.initialize();
+        } catch (IllegalStateException e) {
+            if (store == fileStore) {
+                throw e;
             }
-        } catch (IOException e) {
-            HideSeek.LOGGER.error("Failed to load player stats", e);
-        } catch (Exception e) {
-            HideSeek.LOGGER.error("Failed to parse player stats JSON", e);
+            HideSeek.LOGGER.error("Stats database unavailable, falling back to JSON files", e);
+            store = fileStore;
+            store.initialize();
+        }
+    }
+    
+    /**
+     * Grava o que falta e fecha o armazenamento (chamado ao desligar o servidor)
+     */
+    public void close() {
+        saveStats();
+        if (!failedWrites.isEmpty()) {
+            HideSeek.LOGGER.error("Stats for {} players could not be saved before shutdown", failedWrites.size());
+        }
+        awaitWrites(writer.submit(() -> {
+            store.close();
+            history.close(); // Depois das rodadas ainda na fila
+        }));
+        storeClosed = true;
+    }
+    
+    /**
+     * Prepara o armazenamento e carrega o índice de jogadores conhecidos
+     */
+    public void loadStats() {
+        openStore();
+        history.open();
+        nameIndex.clear();
+        store.loadNames().forEach(nameIndex::put);
+        namesDirty = false;
+        
+        aggregates = store.loadAggregates();
+        aggregatesRecovered = aggregates == null;
+        if (aggregates == null) {
+            // Primeira execução com agregados: somar os totais já gravados de cada jogador
+            GlobalAggregates seeded = new GlobalAggregates();
+            forEachStats(seeded::seedFrom);
+            seeded.markPlayersCounted();
+            seeded.markSeekingSurvival();
+            aggregates = seeded;
+            store.saveAggregates(aggregates);
+        } else if (!aggregates.isPlayersCounted()) {
+            // Agregados gravados antes da contagem de jogadores: contar uma vez
+            GlobalAggregates counted = aggregates;
+            forEachStats(counted::countPlayer);
+            counted.markPlayersCounted();
+            store.saveAggregates(counted);
+        }
+        if (!aggregates.isSeekingSurvival()) {
+            // Histograma antigo somava o tempo de esconder: recomeça a contagem
+            aggregates.resetSurvivalHistogram();
+            store.saveAggregates(aggregates);
+            HideSeek.LOGGER.info("Reset survival histogram to seeking-phase buckets");
+        }
+        if (aggregates.getHistoryStartRound() < 0 && history.isEmpty()) {
+            // Histórico começando agora: as rodadas já contadas não poderão ser refeitas a partir dele
+            aggregates.markHistoryStart(aggregates.getRounds());
+            store.saveAggregates(aggregates);
+        }
+        aggregatesDirty = false;
+        
+        season = store.loadSeason();
+        if (season == null) {
+            season = new StatsSeason(1, today());
+            store.saveSeason(season);
+        }
+        for (StatsWindow window : StatsWindow.values()) {
+            windowIndexes.put(window, new RankingIndex());
+        }
+        indexDay = -1;
+        rebuildWindowIndexes(today()); // Ranking da temporada gravada, arquivado se ela já terminou
+        ensureWindowIndexes(); // Rankings por janela prontos antes da primeira consulta
+        
+        if (nameIndex.size() == 0) {
+            HideSeek.LOGGER.info("No stored stats found, starting with empty stats");
+        } else {
+            HideSeek.LOGGER.info("Indexed stats for {} players (loaded on demand)", nameIndex.size());
         }
     }
     
     // ================== MÉTODOS UTILITÁRIOS ==================
     
+    public long getFlushCount() { return flushCount.get(); }
+    public long getTotalFlushNanos() { return totalFlushNanos.get(); }
+    public long getLastFlushNanos() { return lastFlushNanos; }
+    public int getPendingWrites() { return pendingWrites.get(); }
+    
     /**
-     * Obtém número total de jogadores com estatísticas
+     * Obtém número total de jogadores com estatísticas (que jogaram ao menos uma partida)
      */
-    public int getTotalPlayersCount() {
-        return playerStats.size();
+    public long getTotalPlayersCount() {
+        return aggregates.getPlayers();
     }
     
     /**
      * Obtém estatísticas globais do servidor
      */
     public Component getGlobalStatsComponent() {
-        int totalPlayers = playerStats.size();
-        int totalGames = playerStats.values().stream().mapToInt(PlayerStats::getGamesPlayed).sum();
-        int totalHiderWins = playerStats.values().stream().mapToInt(PlayerStats::getHiderWins).sum();
-        int totalSeekerWins = playerStats.values().stream().mapToInt(PlayerStats::getSeekerWins).sum();
-        
-        return Component.literal("")
+        // Agregados mantidos a cada rodada: nenhuma varredura de jogadores
+        long[] histogram = aggregates.getSurvivalHistogram();
+        net.minecraft.network.chat.MutableComponent component = Component.literal("")
             .append(Component.literal("📊 Estatísticas Globais").withStyle(ChatFormatting.AQUA, ChatFormatting.BOLD))
             .append(Component.literal("\n" + "=".repeat(20)).withStyle(ChatFormatting.GRAY))
             .append(Component.literal("\n👥 Jogadores únicos: ").withStyle(ChatFormatting.YELLOW))
-            .append(Component.literal(String.valueOf(totalPlayers)).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal(String.valueOf(aggregates.getPlayers())).withStyle(ChatFormatting.WHITE))
             .append(Component.literal("\n🎮 Total de jogos: ").withStyle(ChatFormatting.YELLOW))
-            .append(Component.literal(String.valueOf(totalGames)).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal(String.valueOf(aggregates.getGamesPlayed())).withStyle(ChatFormatting.WHITE))
             .append(Component.literal("\n🏃 Vitórias Hiders: ").withStyle(ChatFormatting.GREEN))
-            .append(Component.literal(String.valueOf(totalHiderWins)).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal(String.valueOf(aggregates.getHiderWins())).withStyle(ChatFormatting.WHITE))
             .append(Component.literal("\n🔍 Vitórias Seekers: ").withStyle(ChatFormatting.RED))
-            .append(Component.literal(String.valueOf(totalSeekerWins)).withStyle(ChatFormatting.WHITE));
+            .append(Component.literal(String.valueOf(aggregates.getSeekerWins())).withStyle(ChatFormatting.WHITE));
+        
+        if (aggregates.getRounds() == 0) {
+            return component;
+        }
+        
+        component
+            .append(Component.literal("\n⏱ Rodadas concluídas: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(String.format("%d (Hiders %d / Seekers %d)", aggregates.getRounds(),
+                aggregates.getHiderRounds(), aggregates.getSeekerRounds())).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal("\n⌛ Duração média: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(PlayerStats.formatTime(aggregates.getAverageRoundSeconds())).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal("\n🎯 Taxa de captura: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(String.format("%.1f%%", aggregates.getCaptureRate())).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal("\n🛡 Sobrevivência média: ").withStyle(ChatFormatting.YELLOW))
+            .append(Component.literal(PlayerStats.formatTime(aggregates.getAverageSurvivalSeconds())).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal("\n📈 Sobrevivência dos Hiders na busca:").withStyle(ChatFormatting.YELLOW));
+        
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            String label = bucket < GlobalAggregates.SURVIVAL_BUCKETS.length
+                ? "< " + PlayerStats.formatTime(GlobalAggregates.SURVIVAL_BUCKETS[bucket])
+                : "≥ " + PlayerStats.formatTime(GlobalAggregates.SURVIVAL_BUCKETS[bucket - 1]);
+            component.append(Component.literal("\n  • " + label + ": ").withStyle(ChatFormatting.GRAY))
+                .append(Component.literal(String.valueOf(histogram[bucket])).withStyle(ChatFormatting.WHITE));
+        }
+        return component;
     }
     
     /**
-     * Busca jogador por nome (parcial, case-insensitive)
+     * Prepara as estatísticas de um jogador buscado por nome (prefixo, case-insensitive).
+     * Nome exato tem prioridade, depois jogadores online, depois ordem alfabética.
+     * Estatísticas em memória são montadas aqui; as que estão só em disco são lidas pela tarefa,
+     * que pode rodar em outra thread (sem carregar o jogador no cache).
+     * @return tarefa que monta as estatísticas, ou null se nenhum nome corresponde
      */
-    public PlayerStats findPlayerByName(String partialName) {
-        return playerStats.values().stream()
-            .filter(stats -> stats.getLastKnownName().toLowerCase().contains(partialName.toLowerCase()))
-            .findFirst()
-            .orElse(null);
+    public Supplier<Component> preparePlayerStats(String partialName) {
+        List<UUID> matches = nameIndex.findByPrefix(partialName, 1, cache.pinnedKeys());
+        if (matches.isEmpty()) {
+            return null;
+        }
+        UUID playerUuid = matches.get(0);
+        PlayerStats inMemory = cache.get(playerUuid);
+        if (inMemory == null) {
+            inMemory = unwritten.get(playerUuid);
+        }
+        if (inMemory != null) {
+            Component component = inMemory.getDetailedComponent();
+            return () -> component;
+        }
+        return () -> {
+            PlayerStats stats = store.load(playerUuid);
+            return stats != null ? stats.getDetailedComponent()
+                : Component.literal("Jogador '" + partialName + "' não encontrado nas estatísticas.").withStyle(ChatFormatting.RED);
+        };
+    }
+    
+    /**
+     * Sugestões de nomes para autocompletar (ordenadas por relevância)
+     */
+    public List<String> suggestPlayerNames(String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        for (UUID uuid : nameIndex.findByPrefix(prefix, limit, cache.pinnedKeys())) {
+            names.add(nameIndex.getName(uuid));
+        }
+        return names;
     }
 }
\ No newline at end of file
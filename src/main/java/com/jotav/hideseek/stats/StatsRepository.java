@@ -0,0 +1,75 @@
+package com.jotav.hideseek.stats;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento das estatísticas usado pelo StatsManager.
+ * Implementações: PlayerStatsStore (um arquivo JSON por jogador) e SqlStatsRepository (banco H2 embutido).
+ * Leituras podem vir de qualquer thread; gravações vêm apenas da thread de escrita do StatsManager.
+ * Armazenamentos que ordenam os rankings sozinhos também implementam RankingQueries.
+ */
+public interface StatsRepository {
+
+    /**
+     * Prepara o armazenamento (diretórios, tabelas, migrações)
+     * @throws IllegalStateException se o armazenamento não puder ser usado
+     */
+    void initialize();
+
+    /**
+     * Libera recursos ao desligar o servidor (initialize prepara de novo)
+     */
+    default void close() {}
+
+    /**
+     * Carrega estatísticas de um jogador (null se não existir)
+     */
+    PlayerStats load(UUID uuid);
+
+    /**
+     * Grava as estatísticas modificadas de uma vez
+     * @return as que não puderam ser gravadas (vazia se todas foram gravadas)
+     */
+    List<PlayerStats> saveAll(Collection<PlayerStats> statsList);
+
+    void delete(UUID uuid);
+
+    void deleteAll();
+
+    /**
+     * Percorre todas as estatísticas gravadas, uma de cada vez, sem mantê-las em memória
+     * (o consumer não precisa ser thread-safe)
+     */
+    void forEach(Consumer<PlayerStats> consumer);
+
+    /**
+     * Índice UUID → último nome conhecido
+     */
+    Map<UUID, String> loadNames();
+
+    void saveNames(Map<UUID, String> names);
+
+    /**
+     * Totais do servidor (null se ainda não existirem)
+     */
+    GlobalAggregates loadAggregates();
+
+    void saveAggregates(GlobalAggregates aggregates);
+
+    /**
+     * Temporada atual (null se ainda não existir)
+     */
+    StatsSeason loadSeason();
+
+    void saveSeason(StatsSeason season);
+
+    /**
+     * Arquivo compactado de uma temporada encerrada
+     */
+    Path seasonArchiveFile(int seasonNumber);
+}
@@ -0,0 +1,41 @@
+package com.jotav.hideseek.stats;
+
+/**
+ * Temporada atual das estatísticas (número e dia de início), gravada em hideseek_stats/seasons/
+ */
+public class StatsSeason {
+    private int number = 1;
+    private long startDay; // Epoch day do início da temporada
+
+    // Construtor padrão para GSON
+    public StatsSeason() {}
+
+    public StatsSeason(int number, long startDay) {
+        this.number = number;
+        this.startDay = startDay;
+    }
+
+    public int getNumber() { return number; }
+    public long getStartDay() { return startDay; }
+
+    /**
+     * Se a temporada já durou o número de dias configurado
+     */
+    public boolean isOver(long today, int lengthDays) {
+        return today >= startDay + lengthDays;
+    }
+
+    /**
+     * Dias restantes até a virada (0 se já acabou)
+     */
+    public long getDaysLeft(long today, int lengthDays) {
+        return Math.max(0, startDay + lengthDays - today);
+    }
+
+    /**
+     * Próxima temporada, começando no dia informado (fim agendado desta, ou hoje se encerrada antes)
+     */
+    public StatsSeason next(long startDay) {
+        return new StatsSeason(number + 1, startDay);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jotav.hideseek.stats;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Visão somente leitura das estatísticas, tirada na thread do servidor e lida em outra thread.
+ * Guarda cópias de tudo que está em memória (cache e gravações pendentes); os demais jogadores
+ * são lidos do armazenamento, que só expõe gravações completas (arquivo substituído de forma
+ * atômica ou transação do banco).
+ */
+public class StatsSnapshot {
+    private final Map<UUID, PlayerStats> inMemory;
+    private final StatsRepository store;
+
+    StatsSnapshot(Map<UUID, PlayerStats> inMemory, StatsRepository store) {
+        this.inMemory = inMemory;
+        this.store = store;
+    }
+
+    /**
+     * Percorre todos os jogadores (cópias em memória primeiro, depois disco)
+     */
+    public void forEach(Consumer<PlayerStats> consumer) {
+        inMemory.values().forEach(consumer);
+        store.forEach(stats -> {
+            if (!inMemory.containsKey(stats.getPlayerUuid())) {
+                consumer.accept(stats);
+            }
+        });
+    }
+}
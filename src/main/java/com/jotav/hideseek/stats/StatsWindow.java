@@ -0,0 +1,38 @@
+package com.jotav.hideseek.stats;
+
+/**
+ * Janelas de tempo dos rankings. TODAY, WEEK e MONTH são janelas móveis de dias
+ * (hoje, últimos 7 e últimos 30 dias); SEASON é a temporada atual.
+ */
+public enum StatsWindow {
+    TODAY("today", "Hoje", 1),
+    WEEK("week", "Semana", 7),
+    MONTH("month", "Mês", 30),
+    SEASON("season", "Temporada", 0);
+
+    private final String commandName;
+    private final String displayName;
+    private final int days;
+
+    StatsWindow(String commandName, String displayName, int days) {
+        this.commandName = commandName;
+        this.displayName = displayName;
+        this.days = days;
+    }
+
+    public String getCommandName() { return commandName; }
+    public String getDisplayName() { return displayName; }
+    public int getDays() { return days; }
+
+    /**
+     * Janela pelo nome usado nos comandos (null se não existir)
+     */
+    public static StatsWindow fromCommandName(String name) {
+        for (StatsWindow window : values()) {
+            if (window.commandName.equalsIgnoreCase(name)) {
+                return window;
+            }
+        }
+        return null;
+    }
+}
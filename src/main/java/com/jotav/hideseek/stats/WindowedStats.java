@@ -0,0 +1,86 @@
+package com.jotav.hideseek.stats;
+
+import java.util.Arrays;
+
+/**
+ * Contadores de um jogador por janela de tempo.
+ * Um anel de 30 posições guarda um bucket por dia (a posição de um dia é reaproveitada
+ * 30 dias depois) e um bucket separado guarda a temporada atual. Buckets de dias ou
+ * temporadas antigas são ignorados na leitura e zerados na próxima escrita.
+ */
+public class WindowedStats {
+    public static final int DAYS = 30; // Cobre TODAY, WEEK e MONTH
+
+    /**
+     * Contadores mantidos por janela
+     */
+    public enum Metric {
+        GAMES,
+        WINS,
+        HIDER_WINS,
+        SEEKER_WINS,
+        CAPTURES
+    }
+
+    private static final int METRICS = Metric.values().length;
+
+    private long[] dayIds = emptyDays();                  // Dia (epoch day) de cada posição do anel
+    private int[] dayCounts = new int[DAYS * METRICS];    // [posição * METRICS + métrica]
+    private long season = -1;
+    private int[] seasonCounts = new int[METRICS];
+
+    /**
+     * Soma um valor ao bucket do dia e da temporada atuais
+     */
+    public void add(Metric metric, int amount, long today, long currentSeason) {
+        int slot = Math.floorMod(today, DAYS);
+        if (dayIds[slot] != today) {
+            dayIds[slot] = today;
+            Arrays.fill(dayCounts, slot * METRICS, (slot + 1) * METRICS, 0);
+        }
+        dayCounts[slot * METRICS + metric.ordinal()] += amount;
+
+        if (season != currentSeason) {
+            season = currentSeason;
+            Arrays.fill(seasonCounts, 0);
+        }
+        seasonCounts[metric.ordinal()] += amount;
+    }
+
+    /**
+     * Totais de todas as métricas na janela (indexados por Metric.ordinal())
+     */
+    public int[] rollup(StatsWindow window, long today, long currentSeason) {
+        if (window == StatsWindow.SEASON) {
+            return season == currentSeason ? seasonCounts.clone() : new int[METRICS];
+        }
+
+        int[] totals = new int[METRICS];
+        for (int offset = 0; offset < window.getDays(); offset++) {
+            long day = today - offset;
+            int slot = Math.floorMod(day, DAYS);
+            if (dayIds[slot] != day) {
+                continue;
+            }
+            for (int metric = 0; metric < METRICS; metric++) {
+                totals[metric] += dayCounts[slot * METRICS + metric];
+            }
+        }
+        return totals;
+    }
+
+    public WindowedStats copy() {
+        WindowedStats copy = new WindowedStats();
+        copy.dayIds = dayIds.clone();
+        copy.dayCounts = dayCounts.clone();
+        copy.season = season;
+        copy.seasonCounts = seasonCounts.clone();
+        return copy;
+    }
+
+    private static long[] emptyDays() {
+        long[] days = new long[DAYS];
+        Arrays.fill(days, -1);
+        return days;
+    }
+}
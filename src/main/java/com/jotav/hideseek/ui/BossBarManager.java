@@ -1,9 +1,11 @@
 package com.jotav.hideseek.ui;
 
 import com.jotav.hideseek.Config;
+import com.jotav.hideseek.arena.ArenaChunkManager;
 import com.jotav.hideseek.chat.ChatManager;
 import com.jotav.hideseek.game.GameManager;
 import com.jotav.hideseek.game.GameState;
+import com.jotav.hideseek.metrics.Metrics;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
@@ -121,6 +123,10 @@ public class BossBarManager {
      * Atualiza o BossBar com tempo restante
      */
     private void updateBossBar(GameState phase, CustomBossEvent bossBar) {
+        Metrics.time(Metrics.Section.BOSSBAR_UPDATE, () -> doUpdateBossBar(phase, bossBar));
+    }
+    
+    private void doUpdateBossBar(GameState phase, CustomBossEvent bossBar) {
         long elapsedMs = System.currentTimeMillis() - phaseStartTime;
         int elapsedSeconds = (int) (elapsedMs / 1000);
         int remainingSeconds = Math.max(0, phaseDurationSeconds - elapsedSeconds);
@@ -134,9 +140,14 @@ public class BossBarManager {
         
         // Atualizar texto baseado na fase
         Component title = switch (phase) {
-            case STARTING -> Component.literal(
-                String.format("Jogo iniciando em %ds", remainingSeconds)
-            ).withStyle(ChatFormatting.YELLOW);
+            case STARTING -> {
+                // Mostrar o carregamento dos chunks da arena enquanto não termina
+                double loadProgress = ArenaChunkManager.getInstance().getLoadProgress();
+                String text = loadProgress >= 0
+                    ? String.format("Jogo iniciando em %ds (carregando arena %.0f%%)", remainingSeconds, loadProgress * 100)
+                    : String.format("Jogo iniciando em %ds", remainingSeconds);
+                yield Component.literal(text).withStyle(ChatFormatting.YELLOW);
+            }
             
             case HIDING -> {
                 int hidersCount = GameManager.getInstance().getPlayerManager().getHidersCount();
@@ -154,7 +165,7 @@ public class BossBarManager {
             
             case ENDING -> Component.literal("Retornando ao lobby...")
                 .withStyle(ChatFormatting.GOLD);
-            
+                
             default -> Component.literal("Hide and Seek");
         };
         
@@ -2,6 +2,7 @@ package com.jotav.hideseek.ui;
 
 import com.jotav.hideseek.game.GameManager;
 import com.jotav.hideseek.game.GameState;
+import com.jotav.hideseek.metrics.Metrics;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
@@ -121,6 +122,10 @@ public class ScoreboardManager {
      * Versão simplificada focando apenas em teams e título
      */
     public void updateScoreboard() {
+        Metrics.time(Metrics.Section.SCOREBOARD_UPDATE, this::doUpdateScoreboard);
+    }
+    
+    private void doUpdateScoreboard() {
         if (hideSeekObjective == null || !scoreboardVisible) return;
         
         GameManager gameManager = GameManager.getInstance();
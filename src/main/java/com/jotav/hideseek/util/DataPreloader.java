@@ -0,0 +1,78 @@
+package com.jotav.hideseek.util;
+
+import com.jotav.hideseek.HideSeek;
+import com.jotav.hideseek.config.GameConfig;
+import com.jotav.hideseek.stats.StatsManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Carregamento antecipado dos dados em disco (GameConfig e StatsManager).
+ * Os dois são carregados em paralelo em threads de fundo durante o carregamento do mod,
+ * para que o primeiro getInstance() na thread do servidor não espere por disco e JSON.
+ * O servidor espera o futuro de prontidão antes de aceitar jogadores.
+ */
+public class DataPreloader {
+    private static volatile CompletableFuture<Void> ready;
+
+    private DataPreloader() {}
+
+    /**
+     * Inicia o carregamento em fundo (chamado no setup do mod, depois do Config.java carregado)
+     */
+    public static synchronized void start() {
+        if (ready != null) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "HideSeek-Preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        ready = CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> timed("game config", GameConfig::getInstance), executor),
+                CompletableFuture.runAsync(() -> timed("player stats", StatsManager::getInstance), executor))
+            .whenComplete((result, error) -> {
+                executor.shutdown();
+                if (error != null) {
+                    HideSeek.LOGGER.error("Data preload failed, falling back to loading on first use", error);
+                } else {
+                    HideSeek.LOGGER.info("Data preload finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+                }
+            });
+    }
+
+    /**
+     * Espera o carregamento terminar (chamado ao iniciar o servidor, antes de aceitar jogadores).
+     * Em caso de erro ou tempo esgotado, os dados são carregados no primeiro uso.
+     */
+    public static void awaitReady(long timeoutSeconds) {
+        CompletableFuture<Void> future = ready;
+        if (future == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            HideSeek.LOGGER.warn("Data preload not ready after {} s: {}", timeoutSeconds, e.getMessage());
+        }
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+        if (waitedMs > 0) {
+            HideSeek.LOGGER.info("Server waited {} ms for data preload", waitedMs);
+        }
+    }
+
+    private static void timed(String name, Supplier<?> loader) {
+        long start = System.nanoTime();
+        loader.get();
+        HideSeek.LOGGER.info("Preloaded {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+    }
+}